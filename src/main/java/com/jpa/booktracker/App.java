@@ -1,5 +1,7 @@
 package com.jpa.booktracker;
 
+import com.jpa.booktracker.bootstrap.PersistenceBootstrap;
+import com.jpa.booktracker.catalog.CatalogReadModel;
 import com.jpa.booktracker.dao.AuthorDao;
 import com.jpa.booktracker.dao.BookDao;
 import com.jpa.booktracker.dao.BorrowerDao;
@@ -7,25 +9,73 @@ import com.jpa.booktracker.entity.Author;
 import com.jpa.booktracker.entity.Book;
 import com.jpa.booktracker.entity.Borrower;
 import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.event.EntityChangeBus;
+import com.jpa.booktracker.event.EntityChangeListener;
 import com.jpa.booktracker.exception.DuplicateEntryException;
 import com.jpa.booktracker.exception.EntityNotFoundException;
+import com.jpa.booktracker.http.CatalogHttpServer;
+import com.jpa.booktracker.query.BookPage;
+import com.jpa.booktracker.query.BookQuery;
 import com.jpa.booktracker.service.AuthorService;
 import com.jpa.booktracker.service.BookService;
 import com.jpa.booktracker.service.BorrowerService;
+import com.jpa.booktracker.snapshot.DatabaseSnapshot;
+import com.jpa.booktracker.workload.WorkloadRunner;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
 public class App {
 
+    private static final String PERSISTENCE_UNIT = "booktracker";
+    private static final int DEFAULT_PORT = 8080;
+
     public static void main(String[] args) {
-        EntityManagerFactory emf = Persistence.createEntityManagerFactory("booktracker");
+        if (args.length > 0 && "workload".equals(args[0])) {
+            WorkloadRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        if (args.length > 0 && "startup".equals(args[0])) {
+            reportStartup();
+            return;
+        }
+
+        if (args.length > 0 && "backup".equals(args[0])) {
+            if (args.length < 3) {
+                System.out.println("Usage: backup <snapshot file> <jdbc url of a file or tcp database>");
+                return;
+            }
+
+            DatabaseSnapshot.backup(PERSISTENCE_UNIT, args[2], Path.of(args[1]));
+            System.out.println("Snapshot of " + args[2] + " written to " + args[1]);
+            return;
+        }
+
+        boolean serving = args.length > 0 && "serve".equals(args[0]);
+        Path snapshot = serving && args.length > 2 ? Path.of(args[2]) : null;
+        EntityManagerFactory emf = snapshot != null
+            ? DatabaseSnapshot.open(PERSISTENCE_UNIT, snapshot)
+            : Persistence.createEntityManagerFactory(PERSISTENCE_UNIT);
         EntityManager em = emf.createEntityManager();
 
         AuthorService authorService = new AuthorService(new AuthorDao(em));
         BookService bookService = new BookService(new BookDao(em));
         BorrowerService borrowerService = new BorrowerService(new BorrowerDao(em));
 
+        if (serving) {
+            serve(emf, em, authorService, bookService, borrowerService,
+                args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT, snapshot == null);
+            return;
+        }
+
         preloadData(em, authorService, bookService, borrowerService);
         runShowcase(em, authorService, bookService, borrowerService);
 
@@ -33,6 +83,62 @@ public class App {
         emf.close();
     }
 
+    private static void reportStartup() {
+        try (PersistenceBootstrap bootstrap = PersistenceBootstrap.start(PERSISTENCE_UNIT)) {
+            EntityManager em = bootstrap.get().createEntityManager();
+            try {
+                BookPage page = new BookService(new BookDao(em)).searchBooks(BookQuery.create());
+                System.out.printf("First query returned %d books after %d ms, peak RSS %d KiB%n",
+                    page.books().size(), ManagementFactory.getRuntimeMXBean().getUptime(), peakResidentKib());
+            } finally {
+                em.close();
+            }
+        }
+    }
+
+    private static long peakResidentKib() {
+        try {
+            return Files.readAllLines(Path.of("/proc/self/status")).stream()
+                .filter(line -> line.startsWith("VmHWM:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst()
+                .orElse(-1);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static void serve(EntityManagerFactory emf, EntityManager em, AuthorService authorService,
+                              BookService bookService, BorrowerService borrowerService, int port, boolean preload) {
+
+        EntityChangeBus bus = new EntityChangeBus();
+        EntityChangeListener.register(emf, bus);
+        if (preload) {
+            preloadData(em, authorService, bookService, borrowerService);
+        }
+
+        CatalogReadModel readModel = new CatalogReadModel();
+        bus.subscribe(readModel::onChanges);
+        readModel.rebuild(new BookDao(em));
+        em.close();
+
+        try {
+            CatalogHttpServer server = new CatalogHttpServer(new InetSocketAddress(port), emf, readModel);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                bus.close();
+                emf.close();
+            }));
+
+            server.start();
+            System.out.println("Serving catalog on " + server.getAddress());
+        } catch (IOException e) {
+            System.out.println("Failed to start HTTP server: " + e.getMessage());
+            bus.close();
+            emf.close();
+        }
+    }
+
     private static void preloadData(EntityManager em, AuthorService authorService, BookService bookService,
                                     BorrowerService borrowerService) {
 
@@ -48,7 +154,7 @@ public class App {
 
             bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY);
             bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY);
-            bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA);
+            bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA, 2);
             bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.DYSTOPIA);
             bookService.addBook("Harry Potter and the Philosopher's Stone", "9780747532699", rowling, Genre.FANTASY);
 
@@ -98,21 +204,16 @@ public class App {
             Book b1984 = bookService.getBookByIsbn("9780451524935");
             Book hobbit = bookService.getBookByIsbn("9780547928227");
 
-            b1984.addBorrower(alice);
-            b1984.addBorrower(bob);
-            bookService.updateBook(b1984);
-
-            hobbit.addBorrower(alice);
-            bookService.updateBook(hobbit);
-
-            borrowerService.updateBorrower(alice);
-            borrowerService.updateBorrower(bob);
+            bookService.borrowCopy(b1984, alice);
+            bookService.borrowCopy(b1984, bob);
+            bookService.borrowCopy(hobbit, alice);
+            em.getTransaction().commit();
+            em.clear();
         } catch (EntityNotFoundException | DuplicateEntryException e) {
             em.getTransaction().rollback();
             System.err.println(e.getMessage());
         }
 
-        em.getTransaction().commit();
         System.out.println("-- Borrowing completed. --\n");
     }
 
@@ -135,15 +236,14 @@ public class App {
         try {
             Book b1984 = bookService.getBookByIsbn("9780451524935");
             Borrower alice = borrowerService.getBorrowerByUsername("alice");
-            b1984.addBorrower(alice);
-            bookService.updateBook(b1984);
+            bookService.borrowCopy(b1984, alice);
+            em.getTransaction().commit();
         } catch (EntityNotFoundException | DuplicateEntryException e) {
             em.getTransaction().rollback();
             System.err.println(e.getMessage());
         }
 
-        em.getTransaction().commit();
-        System.out.println("Re-linked Alice to 1984. Should remain unique.\n");
+        System.out.println("Re-borrowing 1984 for Alice left a single loan.\n");
     }
 
     private static void removeBorrowerFromBook(EntityManager em, BorrowerService borrowerService,
@@ -155,15 +255,14 @@ public class App {
         try {
             Book b1984 = bookService.getBookByIsbn("9780451524935");
             Borrower bob = borrowerService.getBorrowerByUsername("bob");
-            b1984.removeBorrower(bob);
-            bookService.updateBook(b1984);
-            borrowerService.updateBorrower(bob);
+            bookService.returnCopy(b1984, bob);
+            em.getTransaction().commit();
+            em.clear();
         } catch (EntityNotFoundException e) {
             em.getTransaction().rollback();
             System.err.println(e.getMessage());
         }
 
-        em.getTransaction().commit();
         System.out.println("Bob returned '1984'.\n");
     }
 
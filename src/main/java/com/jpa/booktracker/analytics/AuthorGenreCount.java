@@ -0,0 +1,6 @@
+package com.jpa.booktracker.analytics;
+
+import com.jpa.booktracker.entity.Genre;
+
+public record AuthorGenreCount(long authorId, Genre genre, long count) {
+}
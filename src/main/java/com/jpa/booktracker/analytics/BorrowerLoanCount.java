@@ -0,0 +1,4 @@
+package com.jpa.booktracker.analytics;
+
+public record BorrowerLoanCount(long borrowerId, long loans) {
+}
@@ -0,0 +1,152 @@
+package com.jpa.booktracker.analytics;
+
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.dao.LoanDao;
+import com.jpa.booktracker.entity.Genre;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+public class CatalogAnalytics implements AutoCloseable {
+
+    private final EntityManagerFactory emf;
+    private final int rangeSize;
+    private final ForkJoinPool pool;
+
+    public CatalogAnalytics(EntityManagerFactory emf, int rangeSize) {
+        this(emf, rangeSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CatalogAnalytics(EntityManagerFactory emf, int rangeSize, int parallelism) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (rangeSize <= 0) {
+            throw new IllegalArgumentException("Range size must be positive");
+        }
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+
+        this.emf = emf;
+        this.rangeSize = rangeSize;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public Map<Long, Map<Genre, Long>> getBooksPerGenrePerAuthor() {
+        IdRange books = read(em -> new BookDao(em).getIdRange());
+        return scan(books, CatalogAnalytics::booksPerGenrePerAuthor, CatalogAnalytics::mergeAuthorGenres);
+    }
+
+    public SortedMap<Long, Long> getLoansPerBorrowerHistogram() {
+        IdRange borrowers = read(em -> new BorrowerDao(em).getIdRange());
+        return scan(borrowers, CatalogAnalytics::loansPerBorrower, CatalogAnalytics::mergeHistograms);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private <T> T scan(IdRange range, BiFunction<EntityManager, IdRange, T> leaf, BinaryOperator<T> merge) {
+        return pool.invoke(new RangeScan<>(range, leaf, merge));
+    }
+
+    private <T> T read(Function<EntityManager, T> work) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            Session session = em.unwrap(Session.class);
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            return work.apply(em);
+        } finally {
+            em.close();
+        }
+    }
+
+    private static Map<Long, Map<Genre, Long>> booksPerGenrePerAuthor(EntityManager em, IdRange range) {
+        Map<Long, Map<Genre, Long>> result = new HashMap<>();
+        for (AuthorGenreCount count : new BookDao(em).getAuthorGenreCounts(range)) {
+            result.computeIfAbsent(count.authorId(), id -> new EnumMap<>(Genre.class))
+                .merge(count.genre(), count.count(), Long::sum);
+        }
+
+        return result;
+    }
+
+    private static SortedMap<Long, Long> loansPerBorrower(EntityManager em, IdRange range) {
+        long borrowers = new BorrowerDao(em).countBorrowers(range);
+        List<BorrowerLoanCount> counts = new LoanDao(em).getBorrowerLoanCounts(range);
+
+        SortedMap<Long, Long> histogram = new TreeMap<>();
+        for (BorrowerLoanCount count : counts) {
+            histogram.merge(count.loans(), 1L, Long::sum);
+        }
+
+        if (borrowers > counts.size()) {
+            histogram.put(0L, borrowers - counts.size());
+        }
+
+        return histogram;
+    }
+
+    private static Map<Long, Map<Genre, Long>> mergeAuthorGenres(Map<Long, Map<Genre, Long>> left,
+                                                                Map<Long, Map<Genre, Long>> right) {
+
+        right.forEach((authorId, genres) -> left.merge(authorId, genres, (existing, added) -> {
+            added.forEach((genre, count) -> existing.merge(genre, count, Long::sum));
+            return existing;
+        }));
+
+        return left;
+    }
+
+    private static SortedMap<Long, Long> mergeHistograms(SortedMap<Long, Long> left, SortedMap<Long, Long> right) {
+        right.forEach((loans, borrowers) -> left.merge(loans, borrowers, Long::sum));
+        return left;
+    }
+
+    private final class RangeScan<T> extends RecursiveTask<T> {
+
+        private final IdRange range;
+        private final BiFunction<EntityManager, IdRange, T> leaf;
+        private final BinaryOperator<T> merge;
+
+        private RangeScan(IdRange range, BiFunction<EntityManager, IdRange, T> leaf, BinaryOperator<T> merge) {
+            this.range = range;
+            this.leaf = leaf;
+            this.merge = merge;
+        }
+
+        @Override
+        protected T compute() {
+            if (range.isEmpty() || range.last() - range.first() < rangeSize) {
+                return read(em -> leaf.apply(em, range));
+            }
+
+            long middle = range.first() + (range.last() - range.first()) / 2;
+            RangeScan<T> left = new RangeScan<>(new IdRange(range.first(), middle), leaf, merge);
+            left.fork();
+            T right = new RangeScan<>(new IdRange(middle + 1, range.last()), leaf, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+
+    }
+
+}
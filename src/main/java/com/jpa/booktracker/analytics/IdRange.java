@@ -0,0 +1,9 @@
+package com.jpa.booktracker.analytics;
+
+public record IdRange(long first, long last) {
+
+    public boolean isEmpty() {
+        return last < first;
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.jpa.booktracker.bootstrap;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public final class PersistenceBootstrap implements AutoCloseable {
+
+    private static final String SCHEMA_ACTION = "hibernate.hbm2ddl.auto";
+    private static final Set<String> SCHEMA_ACTIONS =
+        Set.of("none", "validate", "create", "create-only", "create-drop", "drop");
+
+    private final CompletableFuture<EntityManagerFactory> factory;
+    private final String schemaAction;
+    private boolean schemaApplied;
+
+    private PersistenceBootstrap(CompletableFuture<EntityManagerFactory> factory, String schemaAction) {
+        this.factory = factory;
+        this.schemaAction = schemaAction;
+    }
+
+    public static PersistenceBootstrap start(String persistenceUnit) {
+        return start(persistenceUnit, Map.of());
+    }
+
+    public static PersistenceBootstrap start(String persistenceUnit, Map<String, ?> overrides) {
+        if (persistenceUnit == null || persistenceUnit.isBlank()) {
+            throw new IllegalArgumentException("Persistence unit cannot be null or blank");
+        }
+
+        if (overrides == null) {
+            throw new IllegalArgumentException("Overrides cannot be null");
+        }
+
+        Map<String, Object> properties = new HashMap<>(PersistenceUnits.properties(persistenceUnit));
+        properties.putAll(overrides);
+
+        String schemaAction = String.valueOf(properties.getOrDefault(SCHEMA_ACTION, "none")).trim();
+        if (!SCHEMA_ACTIONS.contains(schemaAction)) {
+            throw new IllegalArgumentException("Schema action " + schemaAction + " cannot be deferred");
+        }
+
+        Map<String, Object> settings = new HashMap<>(overrides);
+        settings.put(SCHEMA_ACTION, "none");
+
+        CompletableFuture<EntityManagerFactory> factory = CompletableFuture.supplyAsync(
+            () -> Persistence.createEntityManagerFactory(persistenceUnit, settings),
+            task -> {
+                Thread thread = new Thread(task, "persistence-bootstrap-" + persistenceUnit);
+                thread.setDaemon(true);
+                thread.start();
+            });
+
+        return new PersistenceBootstrap(factory, schemaAction);
+    }
+
+    public synchronized EntityManagerFactory get() {
+        EntityManagerFactory emf = await();
+        if (!schemaApplied) {
+            SchemaManager schema = emf.unwrap(SessionFactory.class).getSchemaManager();
+            switch (schemaAction) {
+                case "validate" -> schema.validateMappedObjects();
+                case "create", "create-drop" -> {
+                    schema.dropMappedObjects(true);
+                    schema.exportMappedObjects(true);
+                }
+                case "create-only" -> schema.exportMappedObjects(true);
+                case "drop" -> schema.dropMappedObjects(true);
+                default -> {
+                }
+            }
+
+            schemaApplied = true;
+        }
+
+        return emf;
+    }
+
+    public boolean isReady() {
+        return factory.isDone() && !factory.isCompletedExceptionally();
+    }
+
+    @Override
+    public synchronized void close() {
+        EntityManagerFactory emf;
+        try {
+            emf = await();
+        } catch (RuntimeException e) {
+            return;
+        }
+
+        if (emf.isOpen()) {
+            if (schemaApplied && "create-drop".equals(schemaAction)) {
+                emf.unwrap(SessionFactory.class).getSchemaManager().dropMappedObjects(false);
+            }
+
+            emf.close();
+        }
+    }
+
+    private EntityManagerFactory await() {
+        try {
+            return factory.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw e;
+        }
+    }
+
+}
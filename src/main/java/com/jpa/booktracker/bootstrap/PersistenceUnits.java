@@ -0,0 +1,72 @@
+package com.jpa.booktracker.bootstrap;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class PersistenceUnits {
+
+    private static final String PERSISTENCE_XML = "META-INF/persistence.xml";
+
+    private PersistenceUnits() {
+    }
+
+    public static Map<String, Object> properties(String persistenceUnit) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = PersistenceUnits.class.getClassLoader();
+        }
+
+        try {
+            Enumeration<URL> resources = loader.getResources(PERSISTENCE_XML);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                NodeList units = parse(resource).getElementsByTagNameNS("*", "persistence-unit");
+                for (int i = 0; i < units.getLength(); i++) {
+                    Element unit = (Element) units.item(i);
+                    if (unit.getAttribute("name").equals(persistenceUnit)) {
+                        return properties(unit);
+                    }
+                }
+            }
+        } catch (IOException | ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Failed to read " + PERSISTENCE_XML + ": " + e.getMessage(), e);
+        }
+
+        throw new IllegalArgumentException("Persistence unit " + persistenceUnit + " not found");
+    }
+
+    private static Map<String, Object> properties(Element unit) {
+        Map<String, Object> result = new HashMap<>();
+        NodeList properties = unit.getElementsByTagNameNS("*", "property");
+        for (int i = 0; i < properties.getLength(); i++) {
+            Element property = (Element) properties.item(i);
+            result.put(property.getAttribute("name"), property.getAttribute("value"));
+        }
+
+        return result;
+    }
+
+    private static Document parse(URL resource) throws IOException, ParserConfigurationException, SAXException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+
+        try (InputStream in = resource.openStream()) {
+            return factory.newDocumentBuilder().parse(in);
+        }
+    }
+
+}
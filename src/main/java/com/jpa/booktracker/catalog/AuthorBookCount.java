@@ -0,0 +1,4 @@
+package com.jpa.booktracker.catalog;
+
+public record AuthorBookCount(long id, String name, int books) {
+}
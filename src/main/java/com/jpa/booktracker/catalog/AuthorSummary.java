@@ -0,0 +1,4 @@
+package com.jpa.booktracker.catalog;
+
+public record AuthorSummary(long id, String name) {
+}
@@ -0,0 +1,4 @@
+package com.jpa.booktracker.catalog;
+
+public record BookBorrowerCount(long id, String isbn, String title, int borrowers) {
+}
@@ -0,0 +1,6 @@
+package com.jpa.booktracker.catalog;
+
+import com.jpa.booktracker.entity.Genre;
+
+public record BookSummary(long id, String isbn, String title, long authorId, String authorName, Genre genre) {
+}
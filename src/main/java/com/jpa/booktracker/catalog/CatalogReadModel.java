@@ -0,0 +1,130 @@
+package com.jpa.booktracker.catalog;
+
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.event.AuthorChanged;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChange;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+public class CatalogReadModel {
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>(CatalogSnapshot.empty());
+    private final Object lock = new Object();
+    private final Object rebuilding = new Object();
+
+    private List<UnaryOperator<CatalogSnapshot>> replay;
+
+    public CatalogSnapshot snapshot() {
+        return current.get();
+    }
+
+    public CatalogSnapshot rebuild(BookDao bookDao) {
+        if (bookDao == null) {
+            throw new IllegalArgumentException("BookDao cannot be null");
+        }
+
+        synchronized (rebuilding) {
+            replay(new ArrayList<>());
+            try {
+                List<BookSummary> books = bookDao.getAllBookSummaries();
+                synchronized (lock) {
+                    CatalogSnapshot rebuilt = CatalogSnapshot.of(current.get().getVersion() + 1, books);
+                    for (UnaryOperator<CatalogSnapshot> change : replay) {
+                        rebuilt = change.apply(rebuilt);
+                    }
+
+                    current.set(rebuilt);
+                    return rebuilt;
+                }
+            } finally {
+                replay(null);
+            }
+        }
+    }
+
+    public CatalogSnapshot apply(Collection<BookSummary> upserts, Collection<Long> removedIds) {
+        if (upserts == null || removedIds == null) {
+            throw new IllegalArgumentException("Changes cannot be null");
+        }
+
+        return update(previous -> previous.apply(upserts, removedIds));
+    }
+
+    public void onChanges(List<EntityChange> changes) {
+        update(previous -> {
+            Map<Long, BookSummary> upserts = new LinkedHashMap<>();
+            Set<Long> removedIds = new HashSet<>();
+
+            for (EntityChange change : changes) {
+                if (change instanceof BookChanged book) {
+                    if (book.type() == ChangeType.DELETED) {
+                        upserts.remove(book.id());
+                        removedIds.add(book.id());
+                    } else {
+                        upserts.put(book.id(), book.summary());
+                        removedIds.remove(book.id());
+                    }
+                } else if (change instanceof AuthorChanged author && author.type() != ChangeType.INSERTED) {
+                    applyAuthorChange(previous, author, upserts, removedIds);
+                }
+            }
+
+            return previous.apply(upserts.values(), removedIds);
+        });
+    }
+
+    private CatalogSnapshot update(UnaryOperator<CatalogSnapshot> change) {
+        synchronized (lock) {
+            if (replay != null) {
+                replay.add(change);
+            }
+
+            CatalogSnapshot next = change.apply(current.get());
+            current.set(next);
+            return next;
+        }
+    }
+
+    private void replay(List<UnaryOperator<CatalogSnapshot>> changes) {
+        synchronized (lock) {
+            replay = changes;
+        }
+    }
+
+    private static void applyAuthorChange(CatalogSnapshot previous, AuthorChanged author,
+                                          Map<Long, BookSummary> upserts, Set<Long> removedIds) {
+        Map<Long, BookSummary> affected = new LinkedHashMap<>();
+        for (BookSummary book : previous.getAllBooksByAuthorId(author.id())) {
+            if (!removedIds.contains(book.id())) {
+                affected.put(book.id(), upserts.getOrDefault(book.id(), book));
+            }
+        }
+
+        for (BookSummary book : upserts.values()) {
+            if (book.authorId() == author.id()) {
+                affected.put(book.id(), book);
+            }
+        }
+
+        for (BookSummary book : affected.values()) {
+            if (author.type() == ChangeType.DELETED) {
+                upserts.remove(book.id());
+                removedIds.add(book.id());
+            } else {
+                upserts.put(book.id(), new BookSummary(book.id(), book.isbn(), book.title(), book.authorId(),
+                    author.name(), book.genre()));
+            }
+        }
+    }
+
+}
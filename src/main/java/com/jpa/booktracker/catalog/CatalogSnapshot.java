@@ -0,0 +1,162 @@
+package com.jpa.booktracker.catalog;
+
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+
+public final class CatalogSnapshot {
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, PersistentMap.empty(), PersistentMap.empty(),
+        PersistentMap.empty(), PersistentMap.empty(), new EnumMap<>(Genre.class));
+
+    private final long version;
+    private final PersistentMap<Long, BookSummary> byId;
+    private final PersistentMap<String, BookSummary> byIsbn;
+    private final PersistentMap<String, PersistentMap<Long, BookSummary>> byAuthor;
+    private final PersistentMap<Long, PersistentMap<Long, BookSummary>> byAuthorId;
+    private final EnumMap<Genre, PersistentMap<Long, BookSummary>> byGenre;
+
+    private CatalogSnapshot(long version, PersistentMap<Long, BookSummary> byId,
+                            PersistentMap<String, BookSummary> byIsbn,
+                            PersistentMap<String, PersistentMap<Long, BookSummary>> byAuthor,
+                            PersistentMap<Long, PersistentMap<Long, BookSummary>> byAuthorId,
+                            EnumMap<Genre, PersistentMap<Long, BookSummary>> byGenre) {
+        this.version = version;
+        this.byId = byId;
+        this.byIsbn = byIsbn;
+        this.byAuthor = byAuthor;
+        this.byAuthorId = byAuthorId;
+        this.byGenre = byGenre;
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static CatalogSnapshot of(long version, Collection<BookSummary> books) {
+        Builder builder = EMPTY.new Builder();
+        books.forEach(builder::put);
+        return builder.build(version);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public BookSummary getBookByIsbn(String isbn) {
+        BookSummary result = byIsbn.get(isbn);
+        if (result == null) {
+            throw new EntityNotFoundException("Book with isbn " + isbn + " not found");
+        }
+
+        return result;
+    }
+
+    public List<BookSummary> getAllBooksByAuthor(String authorName) {
+        PersistentMap<Long, BookSummary> result = byAuthor.get(authorName);
+        if (result == null) {
+            throw new EntityNotFoundException("No books found for author with name " + authorName);
+        }
+
+        return Collections.unmodifiableList(result.values());
+    }
+
+    public List<BookSummary> getAllBooksByAuthorId(long authorId) {
+        PersistentMap<Long, BookSummary> result = byAuthorId.get(authorId);
+        return result == null ? List.of() : Collections.unmodifiableList(result.values());
+    }
+
+    public List<BookSummary> getAllBooksByGenre(Genre genre) {
+        PersistentMap<Long, BookSummary> result = byGenre.get(genre);
+        if (result == null) {
+            throw new EntityNotFoundException("No books found for genre " + genre);
+        }
+
+        return Collections.unmodifiableList(result.values());
+    }
+
+    public Collection<BookSummary> getAllBooks() {
+        return Collections.unmodifiableList(byId.values());
+    }
+
+    public CatalogSnapshot apply(Collection<BookSummary> upserts, Collection<Long> removedIds) {
+        if (upserts.isEmpty() && removedIds.isEmpty()) {
+            return this;
+        }
+
+        Builder builder = new Builder();
+        removedIds.forEach(builder::remove);
+        upserts.forEach(builder::put);
+        return builder.build(version + 1);
+    }
+
+    private static <K> PersistentMap<K, PersistentMap<Long, BookSummary>> plus(
+        PersistentMap<K, PersistentMap<Long, BookSummary>> buckets, K key, BookSummary book) {
+
+        PersistentMap<Long, BookSummary> bucket = buckets.get(key);
+        return buckets.plus(key, (bucket == null ? PersistentMap.<Long, BookSummary>empty() : bucket)
+            .plus(book.id(), book));
+    }
+
+    private static <K> PersistentMap<K, PersistentMap<Long, BookSummary>> minus(
+        PersistentMap<K, PersistentMap<Long, BookSummary>> buckets, K key, BookSummary book) {
+
+        PersistentMap<Long, BookSummary> bucket = buckets.get(key).minus(book.id());
+        return bucket.isEmpty() ? buckets.minus(key) : buckets.plus(key, bucket);
+    }
+
+    private final class Builder {
+
+        private PersistentMap<Long, BookSummary> byId = CatalogSnapshot.this.byId;
+        private PersistentMap<String, BookSummary> byIsbn = CatalogSnapshot.this.byIsbn;
+        private PersistentMap<String, PersistentMap<Long, BookSummary>> byAuthor = CatalogSnapshot.this.byAuthor;
+        private PersistentMap<Long, PersistentMap<Long, BookSummary>> byAuthorId = CatalogSnapshot.this.byAuthorId;
+        private final EnumMap<Genre, PersistentMap<Long, BookSummary>> byGenre =
+            new EnumMap<>(CatalogSnapshot.this.byGenre);
+
+        private void put(BookSummary book) {
+            remove(book.id());
+            byId = byId.plus(book.id(), book);
+            byIsbn = byIsbn.plus(book.isbn(), book);
+            byAuthor = CatalogSnapshot.plus(byAuthor, book.authorName(), book);
+            byAuthorId = CatalogSnapshot.plus(byAuthorId, book.authorId(), book);
+            byGenre.merge(book.genre(), PersistentMap.<Long, BookSummary>empty().plus(book.id(), book),
+                (bucket, added) -> bucket.plus(book.id(), book));
+        }
+
+        private void remove(Long id) {
+            BookSummary book = byId.get(id);
+            if (book == null) {
+                return;
+            }
+
+            byId = byId.minus(id);
+            if (byIsbn.get(book.isbn()) == book) {
+                byIsbn = byIsbn.minus(book.isbn());
+            }
+
+            byAuthor = CatalogSnapshot.minus(byAuthor, book.authorName(), book);
+            byAuthorId = CatalogSnapshot.minus(byAuthorId, book.authorId(), book);
+            PersistentMap<Long, BookSummary> genre = byGenre.get(book.genre()).minus(id);
+            if (genre.isEmpty()) {
+                byGenre.remove(book.genre());
+            } else {
+                byGenre.put(book.genre(), genre);
+            }
+        }
+
+        private CatalogSnapshot build(long version) {
+            return new CatalogSnapshot(version, byId, byIsbn, byAuthor, byAuthorId, byGenre);
+        }
+
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.jpa.booktracker.catalog;
+
+import com.jpa.booktracker.entity.Genre;
+
+public record LoanCount(long bookId, long authorId, Genre genre, long count) {
+}
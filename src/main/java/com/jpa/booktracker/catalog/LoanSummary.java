@@ -0,0 +1,4 @@
+package com.jpa.booktracker.catalog;
+
+public record LoanSummary(long bookId, long borrowerId) {
+}
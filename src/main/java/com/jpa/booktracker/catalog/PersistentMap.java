@@ -0,0 +1,206 @@
+package com.jpa.booktracker.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+final class PersistentMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+    private final Object root;
+    private final int size;
+
+    private PersistentMap(Object root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        int hash = hash(key);
+        Object slot = root;
+        for (int shift = 0; slot instanceof Node node; shift += BITS) {
+            slot = node.slots[(hash >>> shift) & MASK];
+        }
+
+        for (Entry entry = (Entry) slot; entry != null; entry = entry.next) {
+            if (entry.hash == hash && entry.key.equals(key)) {
+                return (V) entry.value;
+            }
+        }
+
+        return null;
+    }
+
+    PersistentMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key);
+        int[] added = new int[1];
+        Object next = put(root, 0, hash(key), key, value, added);
+        return next == root ? this : new PersistentMap<>(next, size + added[0]);
+    }
+
+    PersistentMap<K, V> minus(K key) {
+        int[] removed = new int[1];
+        Object next = remove(root, 0, hash(key), key, removed);
+        if (removed[0] == 0) {
+            return this;
+        }
+
+        return next == null ? empty() : new PersistentMap<>(next, size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<V> values() {
+        List<Object> values = new ArrayList<>(size);
+        collect(root, values);
+        return (List<V>) values;
+    }
+
+    private static Object put(Object slot, int shift, int hash, Object key, Object value, int[] added) {
+        if (slot == null) {
+            added[0] = 1;
+            return new Entry(hash, key, value, null);
+        }
+
+        if (slot instanceof Node node) {
+            int index = (hash >>> shift) & MASK;
+            Object child = put(node.slots[index], shift + BITS, hash, key, value, added);
+            return child == node.slots[index] ? node : node.with(index, child);
+        }
+
+        Entry chain = (Entry) slot;
+        if (chain.hash == hash) {
+            return chain.with(key, value, added);
+        }
+
+        Object[] slots = new Object[WIDTH];
+        slots[(chain.hash >>> shift) & MASK] = chain;
+        return put(new Node(slots), shift, hash, key, value, added);
+    }
+
+    private static Object remove(Object slot, int shift, int hash, Object key, int[] removed) {
+        if (slot == null) {
+            return null;
+        }
+
+        if (slot instanceof Node node) {
+            int index = (hash >>> shift) & MASK;
+            Object child = remove(node.slots[index], shift + BITS, hash, key, removed);
+            return child == node.slots[index] ? node : node.with(index, child).compact();
+        }
+
+        Entry chain = (Entry) slot;
+        return chain.hash == hash ? chain.without(key, removed) : chain;
+    }
+
+    private static void collect(Object slot, List<Object> values) {
+        if (slot instanceof Node node) {
+            for (Object child : node.slots) {
+                collect(child, values);
+            }
+        } else {
+            for (Entry entry = (Entry) slot; entry != null; entry = entry.next) {
+                values.add(entry.value);
+            }
+        }
+    }
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Node {
+
+        private final Object[] slots;
+
+        private Node(Object[] slots) {
+            this.slots = slots;
+        }
+
+        private Node with(int index, Object child) {
+            Object[] copy = slots.clone();
+            copy[index] = child;
+            return new Node(copy);
+        }
+
+        private Object compact() {
+            Object only = null;
+            for (Object child : slots) {
+                if (child != null) {
+                    if (only != null || child instanceof Node) {
+                        return this;
+                    }
+
+                    only = child;
+                }
+            }
+
+            return only;
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final int hash;
+        private final Object key;
+        private final Object value;
+        private final Entry next;
+
+        private Entry(int hash, Object key, Object value, Entry next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        private Entry with(Object key, Object value, int[] added) {
+            if (this.key.equals(key)) {
+                return this.value == value ? this : new Entry(hash, key, value, next);
+            }
+
+            if (next == null) {
+                added[0] = 1;
+                return new Entry(hash, key, value, this);
+            }
+
+            Entry rest = next.with(key, value, added);
+            return rest == next ? this : new Entry(hash, this.key, this.value, rest);
+        }
+
+        private Entry without(Object key, int[] removed) {
+            if (this.key.equals(key)) {
+                removed[0] = 1;
+                return next;
+            }
+
+            if (next == null) {
+                return this;
+            }
+
+            Entry rest = next.without(key, removed);
+            return rest == next ? this : new Entry(hash, this.key, this.value, rest);
+        }
+
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.jpa.booktracker.dao;
+
+import com.jpa.booktracker.entity.ArchivedBook;
+import com.jpa.booktracker.entity.ArchivedBorrower;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.BorrowerChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChangeListener;
+import com.jpa.booktracker.exception.DuplicateEntryException;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public class ArchiveDao {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final ReadWriteRouter router;
+
+    public ArchiveDao(EntityManager em) {
+        if (em == null) {
+            throw new IllegalArgumentException("EntityManager cannot be null");
+        }
+
+        this.em = em;
+        this.router = new ReadWriteRouter(em);
+    }
+
+    public ArchiveDao(ReadWriteRouter router) {
+        if (router == null) {
+            throw new IllegalArgumentException("ReadWriteRouter cannot be null");
+        }
+
+        this.em = router.primary();
+        this.router = router;
+    }
+
+    public List<Long> getArchivableBookIds(int limit) {
+        return Queries.list(router.forWrite().createNamedQuery("Book.findArchivableIds", Long.class)
+            .setMaxResults(limit));
+    }
+
+    public int archiveBooks(Collection<Long> ids, LocalDate archivedOn) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        router.recordWrite();
+        Queries.update(em.createNamedQuery("ArchivedBook.copyFromBooks")
+            .setParameter(1, ids)
+            .setParameter(2, archivedOn));
+
+        return Queries.update(em.createNamedQuery("Book.deleteRetiredByIds")
+            .setParameter(1, ids));
+    }
+
+    public List<Long> getArchivableBorrowerIds(LocalDate cutoff, int limit) {
+        return Queries.list(router.forWrite().createNamedQuery("Borrower.findArchivableIds", Long.class)
+            .setParameter("cutoff", cutoff)
+            .setMaxResults(limit));
+    }
+
+    public int archiveBorrowers(Collection<Long> ids, LocalDate archivedOn) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        router.recordWrite();
+        Queries.update(em.createNamedQuery("ArchivedBorrower.copyFromBorrowers")
+            .setParameter(1, ids)
+            .setParameter(2, archivedOn));
+
+        List<BorrowerChanged> changes = Queries.list(em.createNamedQuery("Borrower.findDeletedChanges",
+                BorrowerChanged.class)
+            .setParameter("ids", ids));
+        PersistenceContexts.managed(em, Borrower.class, b -> ids.contains(b.getId())).forEach(em::detach);
+
+        int archived = Queries.update(em.createNamedQuery("Borrower.deleteByIds")
+            .setParameter("ids", ids));
+
+        List<Long> kept = archived == changes.size() ? List.of()
+            : Queries.list(em.createNamedQuery("Borrower.findIdsByIds", Long.class)
+                .setParameter("ids", ids));
+        if (!kept.isEmpty()) {
+            Queries.update(em.createNamedQuery("ArchivedBorrower.deleteByIds")
+                .setParameter("ids", kept));
+        }
+
+        for (BorrowerChanged change : changes) {
+            if (!kept.contains(change.id())) {
+                EntityChangeListener.recordAfterCommit(em, change);
+            }
+        }
+
+        for (Long id : ids) {
+            PersistenceContexts.evict(em, Borrower.class, id);
+        }
+
+        return archived;
+    }
+
+    public Book restoreBook(String isbn) {
+        router.recordWrite();
+        ArchivedBook archived = Queries.list(em.createNamedQuery("ArchivedBook.findByIsbn", ArchivedBook.class)
+            .setParameter("isbn", isbn)
+            .setMaxResults(1))
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new EntityNotFoundException("Archived book with isbn " + isbn + " not found"));
+
+        Long count = Queries.single(em.createNamedQuery("Book.countByIsbn", Long.class)
+            .setParameter(1, isbn)
+            .setFlushMode(FlushModeType.COMMIT));
+
+        if (count != null && count > 0) {
+            throw new DuplicateEntryException("Book with isbn " + isbn + " already exists");
+        }
+
+        if (em.find(Author.class, archived.getAuthorId()) == null) {
+            throw new EntityNotFoundException("Author with id " + archived.getAuthorId() + " not found");
+        }
+
+        Queries.update(em.createNamedQuery("Book.restoreFromArchive")
+            .setParameter(1, archived.getId()));
+        Queries.update(em.createNamedQuery("ArchivedBook.deleteById")
+            .setParameter("id", archived.getId()));
+        Queries.update(em.createNamedQuery("Author.addBooks")
+            .setParameter("count", 1)
+            .setParameter("id", archived.getAuthorId()));
+
+        Book book = em.find(Book.class, archived.getId());
+        EntityChangeListener.recordAfterCommit(em, new BookChanged(ChangeType.INSERTED, book.getId(),
+            EntityChangeListener.summarize(book)));
+        return book;
+    }
+
+    public Borrower restoreBorrower(String username, LocalDate restoredOn) {
+        router.recordWrite();
+        ArchivedBorrower archived = Queries.list(em.createNamedQuery("ArchivedBorrower.findByUsername", ArchivedBorrower.class)
+            .setParameter("username", username)
+            .setMaxResults(1))
+            .stream()
+            .findFirst()
+            .orElseThrow(() -> new EntityNotFoundException("Archived borrower with username " + username +
+                " not found"));
+
+        Long count = Queries.single(em.createNamedQuery("Borrower.countByUsername", Long.class)
+            .setParameter("username", username)
+            .setFlushMode(FlushModeType.COMMIT));
+
+        if (count != null && count > 0) {
+            throw new DuplicateEntryException("Borrower with username " + username + " already exists");
+        }
+
+        Queries.update(em.createNamedQuery("Borrower.restoreFromArchive")
+            .setParameter(1, archived.getId())
+            .setParameter(2, restoredOn));
+        Queries.update(em.createNamedQuery("ArchivedBorrower.deleteById")
+            .setParameter("id", archived.getId()));
+
+        EntityChangeListener.recordAfterCommit(em, new BorrowerChanged(ChangeType.INSERTED, archived.getId(),
+            username));
+        return em.find(Borrower.class, archived.getId());
+    }
+
+}
@@ -1,6 +1,12 @@
 package com.jpa.booktracker.dao;
 
+import com.jpa.booktracker.analytics.IdRange;
+import com.jpa.booktracker.catalog.AuthorBookCount;
+import com.jpa.booktracker.catalog.AuthorSummary;
 import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.event.AuthorChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChangeListener;
 import com.jpa.booktracker.exception.DuplicateEntryException;
 import com.jpa.booktracker.exception.EntityNotFoundException;
 import jakarta.persistence.EntityManager;
@@ -8,27 +14,40 @@ import jakarta.persistence.FlushModeType;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class AuthorDao {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final ReadWriteRouter router;
+
     public AuthorDao(EntityManager em) {
         if (em == null) {
             throw new IllegalArgumentException("EntityManager cannot be null");
         }
 
         this.em = em;
+        this.router = new ReadWriteRouter(em);
+    }
+
+    public AuthorDao(ReadWriteRouter router) {
+        if (router == null) {
+            throw new IllegalArgumentException("ReadWriteRouter cannot be null");
+        }
+
+        this.em = router.primary();
+        this.router = router;
     }
 
     public void addAuthor(Author author) {
-        Long count = em.createQuery(
-                "SELECT COUNT(a) FROM Author a WHERE a.name = :name", Long.class)
+        router.recordWrite();
+        Long count = Queries.single(em.createNamedQuery("Author.countByName", Long.class)
             .setParameter("name", author.getName())
-            .setFlushMode(FlushModeType.COMMIT)
-            .getSingleResult();
+            .setFlushMode(FlushModeType.COMMIT));
 
         if (count != null && count > 0) {
             throw new DuplicateEntryException("Author with name " + author.getName() + " already exists");
@@ -38,7 +57,7 @@ public class AuthorDao {
     }
 
     public List<Author> getAllAuthors() {
-        List<Author> result = em.createQuery("SELECT a FROM Author a", Author.class).getResultList();
+        List<Author> result = Queries.list(router.forRead().createNamedQuery("Author.findAll", Author.class));
 
         if (result.isEmpty()) {
             throw new EntityNotFoundException("No authors found");
@@ -47,32 +66,100 @@ public class AuthorDao {
         return result;
     }
 
-    public Author getAuthorById(Long id) {
-        Author result = em.find(Author.class, id);
-        if (result == null) {
-            throw new EntityNotFoundException("Author with id " + id + " not found");
+    public List<AuthorSummary> getAllAuthorSummaries() {
+        return Queries.list(router.forRead().createNamedQuery("Author.findAllSummaries", AuthorSummary.class));
+    }
+
+    public int getBookCount(Long authorId) {
+        try {
+            return Queries.single(router.forRead().createNamedQuery("Author.findBookCount", Integer.class)
+                .setParameter("id", authorId));
+        } catch (NoResultException e) {
+            throw new EntityNotFoundException("Author with id " + authorId + " not found");
         }
+    }
 
-        return result;
+    public List<AuthorBookCount> getBookCounts() {
+        return Queries.list(router.forRead().createNamedQuery("Author.findBookCounts", AuthorBookCount.class));
+    }
+
+    public IdRange getIdRange() {
+        return Queries.single(router.forRead().createNamedQuery("Author.findIdRange", IdRange.class));
+    }
+
+    public int repairBookCounts(IdRange range) {
+        router.recordWrite();
+        return Queries.update(em.createNamedQuery("Author.repairBookCounts")
+            .setParameter("first", range.first())
+            .setParameter("last", range.last()));
+    }
+
+    public Author getAuthorById(Long id) {
+        return findAuthorById(router.forRead(), id);
     }
 
     public Author getAuthorByName(String name) {
         try {
-            return em.createQuery("SELECT a FROM Author a WHERE a.name = :name", Author.class)
-                .setParameter("name", name)
-                .getSingleResult();
+            return Queries.single(router.forRead().createNamedQuery("Author.findByName", Author.class)
+                .setParameter("name", name));
         } catch (NoResultException e) {
             throw new EntityNotFoundException("Author with name " + name + " not found");
         }
     }
 
     public void updateAuthor(Author author) {
+        router.recordWrite();
         em.merge(author);
     }
 
     public void deleteAuthor(Author author) {
-        getAuthorById(author.getId());
-        em.remove(author);
+        router.recordWrite();
+        findAuthorById(em, author.getId());
+        em.remove(em.contains(author) ? author : em.merge(author));
+    }
+
+    public int deleteAuthorCascade(String name) {
+        router.recordWrite();
+        em.flush();
+        Long authorId;
+        try {
+            authorId = Queries.single(em.createNamedQuery("Author.findIdByName", Long.class)
+                .setParameter("name", name));
+        } catch (NoResultException e) {
+            throw new EntityNotFoundException("Author with name " + name + " not found");
+        }
+
+        Set<Long> bookIds = new HashSet<>(Queries.list(em.createNamedQuery("Book.findIdsByAuthorId", Long.class)
+            .setParameter(1, authorId)));
+
+        BookDao.recordLoansRemoved(em, bookIds);
+        Queries.update(em.createNamedQuery("Loan.deleteByAuthorId")
+            .setParameter(1, authorId));
+        int deleted = Queries.update(em.createNamedQuery("Book.deleteByAuthorId")
+            .setParameter(1, authorId));
+        Queries.update(em.createNamedQuery("ArchivedBook.deleteByAuthorId")
+            .setParameter("authorId", authorId));
+        Long bioId = Queries.single(em.createNamedQuery("Author.findBioIdById", Long.class)
+            .setParameter("id", authorId));
+        Queries.update(em.createNamedQuery("Author.deleteById")
+            .setParameter("authorId", authorId));
+        Queries.update(em.createNamedQuery("AuthorBio.deleteById")
+            .setParameter("id", bioId));
+
+        BookDao.evictBooks(em, bookIds);
+        PersistenceContexts.managed(em, Author.class, a -> authorId.equals(a.getId())).forEach(em::detach);
+        PersistenceContexts.evict(em, Author.class, authorId);
+        EntityChangeListener.recordAfterCommit(em, new AuthorChanged(ChangeType.DELETED, authorId, name));
+        return deleted;
+    }
+
+    private static Author findAuthorById(EntityManager target, Long id) {
+        Author result = target.find(Author.class, id);
+        if (result == null) {
+            throw new EntityNotFoundException("Author with id " + id + " not found");
+        }
+
+        return result;
     }
 
 }
@@ -1,34 +1,80 @@
 package com.jpa.booktracker.dao;
 
+import com.jpa.booktracker.analytics.AuthorGenreCount;
+import com.jpa.booktracker.analytics.IdRange;
+import com.jpa.booktracker.catalog.BookBorrowerCount;
+import com.jpa.booktracker.catalog.BookSummary;
+import com.jpa.booktracker.catalog.LoanCount;
+import com.jpa.booktracker.catalog.LoanSummary;
+import com.jpa.booktracker.entity.Author;
 import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Loan;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChangeListener;
+import com.jpa.booktracker.event.LoanAdded;
+import com.jpa.booktracker.event.LoanRemoved;
 import com.jpa.booktracker.exception.DuplicateEntryException;
 import com.jpa.booktracker.exception.EntityNotFoundException;
+import com.jpa.booktracker.exception.NoAvailableCopiesException;
+import com.jpa.booktracker.query.BookQuery;
+import com.jpa.booktracker.query.BookSort;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.FlushModeType;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 public class BookDao {
 
+    private static final char LIKE_ESCAPE = '\\';
+
     @PersistenceContext
     private EntityManager em;
 
+    private final ReadWriteRouter router;
+
     public BookDao(EntityManager em) {
         if (em == null) {
             throw new IllegalArgumentException("EntityManager cannot be null");
         }
 
         this.em = em;
+        this.router = new ReadWriteRouter(em);
+    }
+
+    public BookDao(ReadWriteRouter router) {
+        if (router == null) {
+            throw new IllegalArgumentException("ReadWriteRouter cannot be null");
+        }
+
+        this.em = router.primary();
+        this.router = router;
     }
 
     public void addBook(Book book) {
-        Long count = em.createQuery(
-                "SELECT COUNT(b) FROM Book b WHERE b.isbn = :isbn", Long.class)
-            .setParameter("isbn", book.getIsbn())
-            .setFlushMode(FlushModeType.COMMIT)
-            .getSingleResult();
+        router.recordWrite();
+        Long count = Queries.single(em.createNamedQuery("Book.countByIsbn", Long.class)
+            .setParameter(1, book.getIsbn())
+            .setFlushMode(FlushModeType.COMMIT));
 
         if (count != null && count > 0) {
             throw new DuplicateEntryException("Book with isbn " + book.getIsbn() + " already exists");
@@ -38,7 +84,7 @@ public class BookDao {
     }
 
     public List<Book> getAllBooks() {
-        List<Book> result = em.createQuery("SELECT b FROM Book b", Book.class).getResultList();
+        List<Book> result = Queries.list(router.forRead().createNamedQuery("Book.findAll", Book.class));
 
         if (result.isEmpty()) {
             throw new EntityNotFoundException("No books found");
@@ -48,38 +94,187 @@ public class BookDao {
     }
 
     public Book getBookById(Long id) {
-        Book result = em.find(Book.class, id);
-        if (result == null) {
-            throw new EntityNotFoundException("Book with id " + id + " not found");
+        return findBookById(router.forRead(), id);
+    }
+
+    public Book getBookByIsbn(String isbn) {
+        return findBookByIsbn(router.forRead(), isbn);
+    }
+
+    public List<Book> getAllBooksByAuthor(String authorName) {
+        List<Book> result = Queries.list(router.forRead().createNamedQuery("Book.findByAuthorName", Book.class)
+            .setParameter("authorName", authorName));
+
+        if (result.isEmpty()) {
+            throw new EntityNotFoundException("No books found for author with name " + authorName);
         }
 
         return result;
     }
 
-    public Book getBookByIsbn(String isbn) {
+    public List<BookSummary> getAllBookSummaries() {
+        return Queries.list(router.forRead().createNamedQuery("Book.findAllSummaries", BookSummary.class));
+    }
+
+    public List<LoanSummary> getAllLoanSummaries() {
+        return Queries.list(router.forRead().createNamedQuery("Borrower.findLoanSummaries", LoanSummary.class));
+    }
+
+    public List<LoanCount> getActiveLoanCounts() {
+        return Queries.list(router.forRead().createNamedQuery("Book.findActiveLoanCounts", LoanCount.class));
+    }
+
+    public List<LoanAdded> getActiveLoans() {
+        return Queries.list(router.forRead().createNamedQuery("Book.findActiveLoans", LoanAdded.class));
+    }
+
+    public IdRange getIdRange() {
+        return Queries.single(router.forRead().createNamedQuery("Book.findIdRange", IdRange.class));
+    }
+
+    public List<AuthorGenreCount> getAuthorGenreCounts(IdRange range) {
+        return Queries.list(router.forRead().createNamedQuery("Book.countByAuthorAndGenreInRange",
+                AuthorGenreCount.class)
+            .setParameter("first", range.first())
+            .setParameter("last", range.last()));
+    }
+
+    public List<Book> findBooks(BookQuery query, int maxResults) {
+        EntityManager target = router.forRead();
+        CriteriaBuilder cb = target.getCriteriaBuilder();
+        CriteriaQuery<Book> criteria = cb.createQuery(Book.class);
+        Root<Book> book = criteria.from(Book.class);
+
+        List<Predicate> predicates = filters(cb, criteria, book, query);
+        Path<String> title = book.get("title");
+        Path<Long> id = book.get("id");
+        if (!query.isFirstPage()) {
+            predicates.add(query.getSort() == BookSort.TITLE
+                ? cb.or(cb.greaterThan(title, query.getAfterTitle()),
+                    cb.and(cb.equal(title, query.getAfterTitle()), cb.greaterThan(id, query.getAfterId())))
+                : cb.greaterThan(id, query.getAfterId()));
+        }
+
+        criteria.select(book)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(ordering(cb, book, query));
+
+        return Queries.list(target.createQuery(criteria)
+            .setMaxResults(maxResults), "BookDao.findBooks");
+    }
+
+    public long countBooks(BookQuery query) {
+        EntityManager target = router.forRead();
+        CriteriaBuilder cb = target.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = cb.createQuery(Long.class);
+        Root<Book> book = criteria.from(Book.class);
+
+        criteria.select(cb.count(book))
+            .where(filters(cb, criteria, book, query).toArray(new Predicate[0]));
+
+        return Queries.single(target.createQuery(criteria), "BookDao.countBooks");
+    }
+
+    public void borrowCopy(Book book, Borrower borrower, LocalDate dueDate) {
+        router.recordWrite();
+        long loans = Queries.single(em.createNamedQuery("Loan.countById", Long.class)
+            .setParameter("bookId", book.getId())
+            .setParameter("borrowerId", borrower.getId()));
+
+        if (loans > 0) {
+            throw duplicateLoan(book, borrower);
+        }
+
+        int updated = Queries.update(em.createNamedQuery("Book.takeCopy")
+            .setParameter("id", book.getId())
+            .setParameter("borrowerId", borrower.getId()));
+
+        if (updated == 0) {
+            findBookById(em, book.getId());
+            throw new NoAvailableCopiesException("No available copies of book with isbn " + book.getIsbn());
+        }
+
+        try {
+            Queries.update(em.createNamedQuery("Loan.insert")
+                .setParameter(1, book.getId())
+                .setParameter(2, borrower.getId())
+                .setParameter(3, dueDate));
+        } catch (ConstraintViolationException e) {
+            throw duplicateLoan(book, borrower);
+        }
+
+        Queries.update(em.createNamedQuery("Borrower.touch")
+            .setParameter("today", LocalDate.now())
+            .setParameter("id", borrower.getId()));
+
+        EntityChangeListener.recordAfterCommit(em, new LoanAdded(book.getId(), borrower.getId(),
+            book.getAuthor().getId(), book.getGenre()));
+    }
+
+    public void returnCopy(Book book, Borrower borrower) {
+        router.recordWrite();
+        int deleted = Queries.update(em.createNamedQuery("Loan.delete")
+            .setParameter(1, book.getId())
+            .setParameter(2, borrower.getId()));
+
+        if (deleted == 0) {
+            throw new EntityNotFoundException("Borrower with username " + borrower.getUsername() +
+                " has not borrowed book with isbn " + book.getIsbn());
+        }
+
+        Queries.update(em.createNamedQuery("Book.returnCopies")
+            .setParameter("count", deleted)
+            .setParameter("id", book.getId()));
+        ReservationDao.holdNext(em, List.of(book.getId()));
+
+        EntityChangeListener.recordAfterCommit(em, new LoanRemoved(book.getId(), borrower.getId(),
+            book.getAuthor().getId(), book.getGenre()));
+    }
+
+    public int getBorrowerCount(Long bookId) {
         try {
-            return em.createQuery("SELECT b FROM Book b WHERE b.isbn = :isbn", Book.class)
-                .setParameter("isbn", isbn)
-                .getSingleResult();
+            return Queries.single(router.forRead().createNamedQuery("Book.findBorrowerCount", Integer.class)
+                .setParameter("id", bookId));
         } catch (NoResultException e) {
-            throw new EntityNotFoundException("Book with isbn " + isbn + " not found");
+            throw new EntityNotFoundException("Book with id " + bookId + " not found");
         }
     }
 
-    public List<Book> getAllBooksByAuthor(String authorName) {
-        List<Book> result = em.createQuery(
-            "SELECT b FROM Book b JOIN b.author a WHERE a.name = :authorName", Book.class)
-            .setParameter("authorName", authorName)
-            .getResultList();
+    public List<BookBorrowerCount> getBorrowerCounts() {
+        return Queries.list(router.forRead().createNamedQuery("Book.findBorrowerCounts", BookBorrowerCount.class));
+    }
 
-        if (result.isEmpty()) {
-            throw new EntityNotFoundException("No books found for author with name " + authorName);
+    public int repairBorrowerCounts(IdRange range) {
+        router.recordWrite();
+        return Queries.update(em.createNamedQuery("Book.repairBorrowerCounts")
+            .setParameter("first", range.first())
+            .setParameter("last", range.last()));
+    }
+
+    public int getAvailableCopies(Long bookId) {
+        try {
+            return Queries.single(router.forRead().createNamedQuery("Book.findAvailableCopies", Integer.class)
+                .setParameter("id", bookId));
+        } catch (NoResultException e) {
+            throw new EntityNotFoundException("Book with id " + bookId + " not found");
         }
+    }
 
-        return result;
+    public void addCopies(Book book, int count) {
+        router.recordWrite();
+        int updated = Queries.update(em.createNamedQuery("Book.addCopies")
+            .setParameter("count", count)
+            .setParameter("id", book.getId()));
+
+        if (updated == 0) {
+            findBookById(em, book.getId());
+            throw new NoAvailableCopiesException("Cannot withdraw " + (-count) + " copies of book with isbn " +
+                book.getIsbn());
+        }
     }
 
     public void updateBook(Book book) {
+        router.recordWrite();
         em.merge(book);
     }
 
@@ -88,12 +283,170 @@ public class BookDao {
             return;
         }
 
+        router.recordWrite();
         if (book.getAuthor() != null) {
             book.getAuthor().getBooks().remove(book);
         }
 
-        getBookByIsbn(book.getIsbn());
-        em.remove(book);
+        List<Long> ids = List.of(findBookByIsbn(em, book.getIsbn()).getId());
+        recordLoansRemoved(em, ids);
+        Queries.update(em.createNamedQuery("Loan.deleteByBookIds")
+            .setParameter(1, ids));
+
+        em.remove(em.contains(book) ? book : em.merge(book));
+    }
+
+    public void retireBook(Book book) {
+        router.recordWrite();
+        Book managed = findBookById(em, book.getId());
+        long loans = Queries.single(em.createNamedQuery("Loan.countByBookId", Long.class)
+            .setParameter("bookId", book.getId()));
+
+        if (loans > 0) {
+            throw new IllegalStateException("Book with isbn " + book.getIsbn() + " has " + loans + " active loans");
+        }
+
+        Queries.update(em.createNamedQuery("Book.retire")
+            .setParameter("id", book.getId()));
+        Queries.update(em.createNamedQuery("Author.addBooks")
+            .setParameter("count", -1)
+            .setParameter("id", managed.getAuthor().getId()));
+
+        evictBooks(em, List.of(book.getId()));
+    }
+
+    public int deleteBooksByIsbn(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return 0;
+        }
+
+        router.recordWrite();
+        em.flush();
+        Set<Long> ids = new HashSet<>(Queries.list(em.createNamedQuery("Book.findIdsByIsbns", Long.class)
+            .setParameter("isbns", isbns)));
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        recordLoansRemoved(em, ids);
+        Queries.update(em.createNamedQuery("Author.removeBooksByIds")
+            .setParameter("ids", ids));
+        Queries.update(em.createNamedQuery("Loan.deleteByBookIds")
+            .setParameter(1, ids));
+        int deleted = Queries.update(em.createNamedQuery("Book.deleteByIds")
+            .setParameter("ids", ids));
+
+        evictBooks(em, ids);
+        return deleted;
+    }
+
+    private static Book findBookById(EntityManager target, Long id) {
+        Book result = target.find(Book.class, id);
+        if (result == null) {
+            throw new EntityNotFoundException("Book with id " + id + " not found");
+        }
+
+        return result;
+    }
+
+    private static Book findBookByIsbn(EntityManager target, String isbn) {
+        try {
+            return Queries.single(target.createNamedQuery("Book.findByIsbn", Book.class)
+                .setParameter("isbn", isbn));
+        } catch (NoResultException e) {
+            throw new EntityNotFoundException("Book with isbn " + isbn + " not found");
+        }
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, AbstractQuery<?> criteria, Root<Book> book,
+                                           BookQuery query) {
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.getGenre() != null) {
+            predicates.add(cb.equal(book.get("genre"), query.getGenre()));
+        }
+
+        if (query.getAuthorName() != null) {
+            Subquery<Long> author = criteria.subquery(Long.class);
+            Root<Author> named = author.from(Author.class);
+            author.select(named.get("id"))
+                .where(cb.equal(named.get("name"), query.getAuthorName()));
+
+            predicates.add(cb.equal(book.get("author").get("id"), author));
+        }
+
+        if (query.getTitleFragment() != null) {
+            predicates.add(cb.like(cb.lower(book.get("title")),
+                "%" + escapeLike(query.getTitleFragment().toLowerCase(Locale.ROOT)) + "%", LIKE_ESCAPE));
+        }
+
+        if (query.getBorrowed() != null) {
+            Subquery<Integer> loans = criteria.subquery(Integer.class);
+            Root<Loan> loan = loans.from(Loan.class);
+            loans.select(cb.literal(1))
+                .where(cb.equal(loan.get("id").get("bookId"), book.get("id")));
+
+            predicates.add(query.getBorrowed() ? cb.exists(loans) : cb.not(cb.exists(loans)));
+        }
+
+        return predicates;
+    }
+
+    private static List<Order> ordering(CriteriaBuilder cb, Root<Book> book, BookQuery query) {
+        List<Order> ordering = new ArrayList<>();
+        if (query.getAuthorName() != null) {
+            ordering.add(cb.asc(book.get("author").get("id")));
+        }
+
+        ordering.add(cb.asc(book.get("retired")));
+        if (query.getGenre() != null) {
+            ordering.add(cb.asc(book.get("genre")));
+        }
+
+        if (query.getSort() == BookSort.TITLE) {
+            ordering.add(cb.asc(book.get("title")));
+        }
+
+        ordering.add(cb.asc(book.get("id")));
+        return ordering;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace(String.valueOf(LIKE_ESCAPE), String.valueOf(LIKE_ESCAPE) + LIKE_ESCAPE)
+            .replace("%", LIKE_ESCAPE + "%")
+            .replace("_", LIKE_ESCAPE + "_");
+    }
+
+    private static DuplicateEntryException duplicateLoan(Book book, Borrower borrower) {
+        return new DuplicateEntryException("Borrower with username " + borrower.getUsername() +
+            " has already borrowed book with isbn " + book.getIsbn());
+    }
+
+    static void recordLoansRemoved(EntityManager em, Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+
+        List<LoanRemoved> loans = Queries.list(em.createNamedQuery("Book.findLoansRemovedByBookIds", LoanRemoved.class)
+            .setParameter("bookIds", bookIds));
+
+        loans.forEach(loan -> EntityChangeListener.recordAfterCommit(em, loan));
+    }
+
+    static void evictBooks(EntityManager em, Collection<Long> ids) {
+        for (Book book : PersistenceContexts.managed(em, Book.class, b -> ids.contains(b.getId()))) {
+            if (book.getAuthor() != null && Hibernate.isInitialized(book.getAuthor().getBooks())) {
+                book.getAuthor().getBooks().remove(book);
+            }
+
+            em.detach(book);
+        }
+
+        for (Long id : ids) {
+            PersistenceContexts.evict(em, Book.class, id);
+            EntityChangeListener.recordAfterCommit(em, new BookChanged(ChangeType.DELETED, id, null));
+        }
     }
 
 }
@@ -1,34 +1,52 @@
 package com.jpa.booktracker.dao;
 
+import com.jpa.booktracker.analytics.IdRange;
+import com.jpa.booktracker.entity.Book;
 import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.event.EntityChangeListener;
+import com.jpa.booktracker.event.LoanRemoved;
 import com.jpa.booktracker.exception.DuplicateEntryException;
 import com.jpa.booktracker.exception.EntityNotFoundException;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.FlushModeType;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.PersistenceContext;
 
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class BorrowerDao {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final ReadWriteRouter router;
+
     public BorrowerDao(EntityManager em) {
         if (em == null) {
             throw new IllegalArgumentException("EntityManager cannot be null");
         }
 
         this.em = em;
+        this.router = new ReadWriteRouter(em);
+    }
+
+    public BorrowerDao(ReadWriteRouter router) {
+        if (router == null) {
+            throw new IllegalArgumentException("ReadWriteRouter cannot be null");
+        }
+
+        this.em = router.primary();
+        this.router = router;
     }
 
     public void addBorrower(Borrower borrower) {
-        Long count = em.createQuery(
-                "SELECT COUNT(b) FROM Borrower b WHERE b.username = :username", Long.class)
+        router.recordWrite();
+        Long count = Queries.single(em.createNamedQuery("Borrower.countByUsername", Long.class)
             .setParameter("username", borrower.getUsername())
-            .setFlushMode(FlushModeType.COMMIT)
-            .getSingleResult();
+            .setFlushMode(FlushModeType.COMMIT));
 
         if (count != null && count > 0) {
             throw new DuplicateEntryException("Borrower with username " + borrower.getUsername() + " already exists");
@@ -38,7 +56,7 @@ public class BorrowerDao {
     }
 
     public List<Borrower> getAllBorrowers() {
-        List<Borrower> result = em.createQuery("SELECT b FROM Borrower b", Borrower.class).getResultList();
+        List<Borrower> result = Queries.list(router.forRead().createNamedQuery("Borrower.findAll", Borrower.class));
 
         if (result.isEmpty()) {
             throw new EntityNotFoundException("No borrowers found");
@@ -48,29 +66,21 @@ public class BorrowerDao {
     }
 
     public Borrower getBorrowerById(Long id) {
-        Borrower result = em.find(Borrower.class, id);
-        if (result == null) {
-            throw new EntityNotFoundException("Borrower with id " + id + " not found");
-        }
-
-        return result;
+        return findBorrowerById(router.forRead(), id);
     }
 
     public Borrower getBorrowerByUsername(String username) {
         try {
-            return em.createQuery("SELECT b FROM Borrower b WHERE b.username = :username", Borrower.class)
-                .setParameter("username", username)
-                .getSingleResult();
+            return Queries.single(router.forRead().createNamedQuery("Borrower.findByUsername", Borrower.class)
+                .setParameter("username", username));
         } catch (NoResultException e) {
             throw new EntityNotFoundException("Borrower with username " + username + " not found");
         }
     }
 
     public List<Borrower> getBorrowersWhoHaveTakenBook(String isbn) {
-        List<Borrower> result = em.createQuery("SELECT borrower FROM Borrower borrower " +
-                "JOIN Book book WHERE book.isbn = :isbn", Borrower.class)
-            .setParameter("isbn", isbn)
-            .getResultList();
+        List<Borrower> result = Queries.list(router.forRead().createNamedQuery("Borrower.findByBookIsbn", Borrower.class)
+            .setParameter("isbn", isbn));
 
         if (result.isEmpty()) {
             throw new EntityNotFoundException("No borrowers found for book with isbn " + isbn);
@@ -79,14 +89,72 @@ public class BorrowerDao {
         return result;
     }
 
+    public IdRange getIdRange() {
+        return Queries.single(router.forRead().createNamedQuery("Borrower.findIdRange", IdRange.class));
+    }
+
+    public long countBorrowers(IdRange range) {
+        return Queries.single(router.forRead().createNamedQuery("Borrower.countInRange", Long.class)
+            .setParameter("first", range.first())
+            .setParameter("last", range.last()));
+    }
+
     public void updateBorrower(Borrower borrower) {
-        getBorrowerById(borrower.getId());
+        router.recordWrite();
+        findBorrowerById(em, borrower.getId());
         em.merge(borrower);
     }
 
     public void deleteBorrower(Borrower borrower) {
-        getBorrowerById(borrower.getId());
-        em.remove(borrower);
+        router.recordWrite();
+        findBorrowerById(em, borrower.getId());
+        em.remove(em.contains(borrower) ? borrower : em.merge(borrower));
+    }
+
+    public int returnAllBooks(String username) {
+        router.recordWrite();
+        em.flush();
+        Long borrowerId;
+        try {
+            borrowerId = Queries.single(em.createNamedQuery("Borrower.findIdByUsername", Long.class)
+                .setParameter("username", username));
+        } catch (NoResultException e) {
+            throw new EntityNotFoundException("Borrower with username " + username + " not found");
+        }
+
+        List<LoanRemoved> loans = Queries.list(em.createNamedQuery("Borrower.findLoansRemoved", LoanRemoved.class)
+            .setParameter("borrowerId", borrowerId)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE));
+
+        if (loans.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> bookIds = loans.stream().map(LoanRemoved::bookId).collect(Collectors.toSet());
+        int returned = Queries.update(em.createNamedQuery("Loan.deleteByBorrowerId")
+            .setParameter(1, borrowerId)
+            .setParameter(2, bookIds));
+        Queries.update(em.createNamedQuery("Book.returnOneCopyEach")
+            .setParameter("bookIds", bookIds));
+        ReservationDao.holdNext(em, bookIds);
+        loans.forEach(loan -> EntityChangeListener.recordAfterCommit(em, loan));
+
+        PersistenceContexts.managed(em, Borrower.class, b -> borrowerId.equals(b.getId())).forEach(em::detach);
+        PersistenceContexts.evict(em, Borrower.class, borrowerId);
+        for (Book book : PersistenceContexts.managed(em, Book.class, b -> bookIds.contains(b.getId()))) {
+            em.refresh(book);
+        }
+
+        return returned;
+    }
+
+    private static Borrower findBorrowerById(EntityManager target, Long id) {
+        Borrower result = target.find(Borrower.class, id);
+        if (result == null) {
+            throw new EntityNotFoundException("Borrower with id " + id + " not found");
+        }
+
+        return result;
     }
 
 }
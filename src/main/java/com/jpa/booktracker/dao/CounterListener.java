@@ -0,0 +1,133 @@
+package com.jpa.booktracker.dao;
+
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CounterListener implements Integrator, PostInsertEventListener, PostUpdateEventListener,
+    PostDeleteEventListener {
+
+    private static final String AUTHOR = "author";
+
+    private final Map<SharedSessionContractImplementor, Deltas> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry registry) {
+        pending.clear();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Book book && !book.isRetired()) {
+            addBooks(event.getSession(), book.getAuthor(), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Book book) || event.getOldState() == null) {
+            return;
+        }
+
+        int author = event.getPersister().findAttributeMapping(AUTHOR).getStateArrayPosition();
+        Author before = (Author) event.getOldState()[author];
+        Author after = book.getAuthor();
+        if (before != null && after != null && !Objects.equals(before.getId(), after.getId())) {
+            addBooks(event.getSession(), before, -1);
+            addBooks(event.getSession(), after, 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Book book) {
+            addBooks(event.getSession(), book.getAuthor(), -1);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void addBooks(EventSource session, Author author, int delta) {
+        if (author == null || author.getId() == null) {
+            return;
+        }
+
+        author.setBookCount(author.getBookCount() + delta);
+        Deltas deltas = deltas(session);
+        deltas.books.merge(author.getId(), delta, Integer::sum);
+        deltas.authors.merge(author, delta, Integer::sum);
+    }
+
+    private Deltas deltas(EventSource session) {
+        return pending.computeIfAbsent(session, s -> {
+            session.getActionQueue().registerProcess(this::apply);
+            session.getActionQueue().registerProcess(this::complete);
+            return new Deltas();
+        });
+    }
+
+    private void apply(SessionImplementor session) {
+        Deltas deltas = pending.get(session);
+        if (deltas == null) {
+            return;
+        }
+
+        deltas.books.forEach((authorId, count) -> {
+            if (count != 0) {
+                Queries.update(session.createNamedMutationQuery("Author.addBooks")
+                    .setParameter("count", count)
+                    .setParameter("id", authorId), "Author.addBooks");
+            }
+        });
+    }
+
+    private void complete(boolean success, SharedSessionContractImplementor session) {
+        Deltas deltas = pending.remove(session);
+        if (deltas != null && !success) {
+            deltas.authors.forEach((author, count) -> author.setBookCount(author.getBookCount() - count));
+        }
+    }
+
+    private static final class Deltas {
+
+        private final Map<Long, Integer> books = new HashMap<>();
+        private final Map<Author, Integer> authors = new IdentityHashMap<>();
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.jpa.booktracker.dao;
+
+import com.jpa.booktracker.analytics.BorrowerLoanCount;
+import com.jpa.booktracker.analytics.IdRange;
+import com.jpa.booktracker.entity.Loan;
+import com.jpa.booktracker.entity.LoanId;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class LoanDao {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final ReadWriteRouter router;
+
+    public LoanDao(EntityManager em) {
+        if (em == null) {
+            throw new IllegalArgumentException("EntityManager cannot be null");
+        }
+
+        this.em = em;
+        this.router = new ReadWriteRouter(em);
+    }
+
+    public LoanDao(ReadWriteRouter router) {
+        if (router == null) {
+            throw new IllegalArgumentException("ReadWriteRouter cannot be null");
+        }
+
+        this.em = router.primary();
+        this.router = router;
+    }
+
+    public Loan getLoan(Long bookId, Long borrowerId) {
+        return findLoan(router.forRead(), bookId, borrowerId);
+    }
+
+    public List<Loan> getOverdueLoans(LocalDate today, Loan after, int limit) {
+        if (after == null) {
+            return Queries.list(router.forRead().createNamedQuery("Loan.findOverdue", Loan.class)
+                .setParameter("today", today)
+                .setMaxResults(limit));
+        }
+
+        return Queries.list(router.forRead().createNamedQuery("Loan.findOverdueAfter", Loan.class)
+            .setParameter("today", today)
+            .setParameter("dueDate", after.getDueDate())
+            .setParameter("bookId", after.getId().getBookId())
+            .setParameter("borrowerId", after.getId().getBorrowerId())
+            .setMaxResults(limit));
+    }
+
+    public List<BorrowerLoanCount> getBorrowerLoanCounts(IdRange range) {
+        return Queries.list(router.forRead().createNamedQuery("Loan.countByBorrowerInRange", BorrowerLoanCount.class)
+            .setParameter("first", range.first())
+            .setParameter("last", range.last()));
+    }
+
+    public void updateDueDate(Long bookId, Long borrowerId, LocalDate dueDate) {
+        router.recordWrite();
+        findLoan(em, bookId, borrowerId).setDueDate(dueDate);
+    }
+
+    private static Loan findLoan(EntityManager target, Long bookId, Long borrowerId) {
+        Loan result = target.find(Loan.class, new LoanId(bookId, borrowerId));
+        if (result == null) {
+            throw new EntityNotFoundException("Loan of book with id " + bookId + " to borrower with id " +
+                borrowerId + " not found");
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.jpa.booktracker.dao;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+final class PersistenceContexts {
+
+    private PersistenceContexts() {
+    }
+
+    static <T> List<T> managed(EntityManager em, Class<T> type, Predicate<T> filter) {
+        List<T> result = new ArrayList<>();
+        Map.Entry<Object, EntityEntry>[] entries = em.unwrap(SessionImplementor.class)
+            .getPersistenceContextInternal()
+            .reentrantSafeEntityEntries();
+
+        for (Map.Entry<Object, EntityEntry> entry : entries) {
+            Object entity = entry.getKey();
+            if (type.isInstance(entity) && filter.test(type.cast(entity))) {
+                result.add(type.cast(entity));
+            }
+        }
+
+        return result;
+    }
+
+    static void evict(EntityManager em, Class<?> type, Object id) {
+        em.getEntityManagerFactory().getCache().evict(type, id);
+    }
+
+}
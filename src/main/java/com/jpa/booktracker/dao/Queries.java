@@ -0,0 +1,90 @@
+package com.jpa.booktracker.dao;
+
+import com.jpa.booktracker.jfr.QueryEvent;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.MutationQuery;
+
+import java.util.List;
+
+final class Queries {
+
+    private Queries() {
+    }
+
+    static <T> List<T> list(TypedQuery<T> query) {
+        return list(query, null);
+    }
+
+    static <T> List<T> list(TypedQuery<T> query, String id) {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        int rows = 0;
+        try {
+            List<T> result = query.getResultList();
+            rows = result.size();
+            return result;
+        } finally {
+            record(event, query, id, "list", rows);
+        }
+    }
+
+    static <T> T single(TypedQuery<T> query) {
+        return single(query, null);
+    }
+
+    static <T> T single(TypedQuery<T> query, String id) {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        int rows = 0;
+        try {
+            T result = query.getSingleResult();
+            rows = 1;
+            return result;
+        } finally {
+            record(event, query, id, "single", rows);
+        }
+    }
+
+    static int update(Query query) {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        int rows = 0;
+        try {
+            rows = query.executeUpdate();
+            return rows;
+        } finally {
+            record(event, query, null, "update", rows);
+        }
+    }
+
+    static int update(MutationQuery query, String id) {
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        int rows = 0;
+        try {
+            rows = query.executeUpdate();
+            return rows;
+        } finally {
+            if (event.shouldCommit()) {
+                record(event, id, "update", query instanceof Query jpa ? jpa.getParameters().size() : 0, rows);
+            }
+        }
+    }
+
+    private static void record(QueryEvent event, Query query, String id, String operation, int rows) {
+        if (event.shouldCommit()) {
+            record(event, id != null ? id : query.unwrap(org.hibernate.query.Query.class).getQueryString(),
+                operation, query.getParameters().size(), rows);
+        }
+    }
+
+    private static void record(QueryEvent event, String query, String operation, int parameterCount, int rows) {
+        event.query = query;
+        event.operation = operation;
+        event.parameterCount = parameterCount;
+        event.rows = rows;
+        event.commit();
+    }
+
+}
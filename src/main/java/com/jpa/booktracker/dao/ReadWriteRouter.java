@@ -0,0 +1,96 @@
+package com.jpa.booktracker.dao;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+public class ReadWriteRouter {
+
+    private final EntityManager primary;
+    private final EntityManager replica;
+    private final StalenessPolicy policy;
+    private final Duration replicaLag;
+    private final Clock clock;
+
+    private Instant lastWrite;
+    private boolean pinnedToPrimary;
+
+    public ReadWriteRouter(EntityManager primary) {
+        this(primary, primary, StalenessPolicy.PRIMARY_ONLY, Duration.ZERO, Clock.systemUTC());
+    }
+
+    public ReadWriteRouter(EntityManager primary, EntityManager replica, StalenessPolicy policy, Duration replicaLag) {
+        this(primary, replica, policy, replicaLag, Clock.systemUTC());
+    }
+
+    public ReadWriteRouter(EntityManager primary, EntityManager replica, StalenessPolicy policy, Duration replicaLag,
+                           Clock clock) {
+        if (primary == null || replica == null) {
+            throw new IllegalArgumentException("EntityManager cannot be null");
+        }
+
+        if (policy == null) {
+            throw new IllegalArgumentException("Staleness policy cannot be null");
+        }
+
+        if (replicaLag == null || replicaLag.isNegative()) {
+            throw new IllegalArgumentException("Replica lag cannot be null or negative");
+        }
+
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+
+        this.primary = primary;
+        this.replica = replica;
+        this.policy = policy;
+        this.replicaLag = replicaLag;
+        this.clock = clock;
+
+        if (replica != primary) {
+            Session session = replica.unwrap(Session.class);
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+        }
+    }
+
+    public EntityManager forWrite() {
+        return primary;
+    }
+
+    public EntityManager forRead() {
+        return switch (policy) {
+            case PRIMARY_ONLY -> primary;
+            case REPLICA_ONLY -> replica;
+            case READ_YOUR_WRITES -> pinnedToPrimary || wroteRecently() ? primary : replica;
+        };
+    }
+
+    EntityManager primary() {
+        return primary;
+    }
+
+    void recordWrite() {
+        if (replica == primary || pinnedToPrimary) {
+            return;
+        }
+
+        pinnedToPrimary = true;
+        primary.unwrap(SessionImplementor.class).getActionQueue().registerProcess((success, session) -> {
+            pinnedToPrimary = false;
+            if (success) {
+                lastWrite = clock.instant();
+            }
+        });
+    }
+
+    private boolean wroteRecently() {
+        return lastWrite != null && !clock.instant().isAfter(lastWrite.plus(replicaLag));
+    }
+
+}
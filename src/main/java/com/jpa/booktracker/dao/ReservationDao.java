@@ -0,0 +1,119 @@
+package com.jpa.booktracker.dao;
+
+import com.jpa.booktracker.entity.Reservation;
+import com.jpa.booktracker.entity.ReservationId;
+import com.jpa.booktracker.event.EntityChangeListener;
+import com.jpa.booktracker.event.ReservationHeld;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public class ReservationDao {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final ReadWriteRouter router;
+
+    public ReservationDao(EntityManager em) {
+        if (em == null) {
+            throw new IllegalArgumentException("EntityManager cannot be null");
+        }
+
+        this.em = em;
+        this.router = new ReadWriteRouter(em);
+    }
+
+    public ReservationDao(ReadWriteRouter router) {
+        if (router == null) {
+            throw new IllegalArgumentException("ReadWriteRouter cannot be null");
+        }
+
+        this.em = router.primary();
+        this.router = router;
+    }
+
+    public void addReservation(Reservation reservation) {
+        router.recordWrite();
+        em.persist(reservation);
+    }
+
+    public List<Reservation> getAllReservations() {
+        return Queries.list(router.forWrite().createNamedQuery("Reservation.findAll", Reservation.class));
+    }
+
+    public Reservation getReservation(Long bookId, Long borrowerId) {
+        return router.forWrite().find(Reservation.class, new ReservationId(bookId, borrowerId));
+    }
+
+    public List<Reservation> getReservationsByBookId(Long bookId) {
+        return Queries.list(router.forWrite().createNamedQuery("Reservation.findByBookId", Reservation.class)
+            .setParameter("bookId", bookId));
+    }
+
+    public List<Reservation> getReservationsByBorrowerId(Long borrowerId) {
+        return Queries.list(router.forWrite().createNamedQuery("Reservation.findByBorrowerId", Reservation.class)
+            .setParameter("borrowerId", borrowerId));
+    }
+
+    public List<Reservation> getExpiredHolds(LocalDate heldOnOrBefore) {
+        return Queries.list(router.forWrite().createNamedQuery("Reservation.findExpiredHolds", Reservation.class)
+            .setParameter("heldOn", heldOnOrBefore));
+    }
+
+    public List<Reservation> getHeldReservations(Long borrowerId) {
+        return Queries.list(router.forRead().createNamedQuery("Reservation.findHeldByBorrowerId", Reservation.class)
+            .setParameter("borrowerId", borrowerId));
+    }
+
+    public int holdReservation(Long bookId, Long borrowerId, LocalDate heldOn) {
+        router.recordWrite();
+        return Queries.update(em.createNamedQuery("Reservation.hold")
+            .setParameter("bookId", bookId)
+            .setParameter("borrowerId", borrowerId)
+            .setParameter("heldOn", heldOn));
+    }
+
+    static void holdNext(EntityManager em, Collection<Long> bookIds) {
+        List<Reservation> next = Queries.list(em.createNamedQuery("Reservation.findNextWaiting", Reservation.class)
+            .setParameter("bookIds", bookIds)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE));
+
+        if (next.isEmpty()) {
+            return;
+        }
+
+        Queries.update(em.createNamedQuery("Reservation.holdNext")
+            .setParameter("bookIds", bookIds)
+            .setParameter("heldOn", LocalDate.now()));
+        for (Reservation reservation : next) {
+            em.detach(reservation);
+            EntityChangeListener.recordAfterCommit(em, new ReservationHeld(reservation.getId().getBookId(),
+                reservation.getId().getBorrowerId()));
+        }
+    }
+
+    public int deleteReservation(Long bookId, Long borrowerId) {
+        router.recordWrite();
+        return Queries.update(em.createNamedQuery("Reservation.delete")
+            .setParameter("bookId", bookId)
+            .setParameter("borrowerId", borrowerId));
+    }
+
+    public int deleteReservationsByBookId(Long bookId) {
+        router.recordWrite();
+        return Queries.update(em.createNamedQuery("Reservation.deleteByBookId")
+            .setParameter("bookId", bookId));
+    }
+
+    public int deleteReservationsByBorrowerId(Long borrowerId) {
+        router.recordWrite();
+        return Queries.update(em.createNamedQuery("Reservation.deleteByBorrowerId")
+            .setParameter("borrowerId", borrowerId));
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.jpa.booktracker.dao;
+
+public enum StalenessPolicy {
+    PRIMARY_ONLY,
+    REPLICA_ONLY,
+    READ_YOUR_WRITES
+}
@@ -0,0 +1,69 @@
+package com.jpa.booktracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@NamedQuery(name = "ArchivedBook.findByIsbn", query = "SELECT b FROM ArchivedBook b WHERE b.isbn = :isbn " +
+    "ORDER BY b.archivedOn DESC, b.id DESC")
+@NamedQuery(name = "ArchivedBook.deleteById", query = "DELETE FROM ArchivedBook b WHERE b.id = :id")
+@NamedQuery(name = "ArchivedBook.deleteByAuthorId", query = "DELETE FROM ArchivedBook b WHERE b.authorId = :authorId")
+@NamedNativeQuery(name = "ArchivedBook.copyFromBooks", query = "INSERT INTO books_archive " +
+    "(id, author_id, title, isbn, genre, totalCopies, availableCopies, archived_on) " +
+    "SELECT id, author_id, title, isbn, genre, totalCopies, availableCopies, ?2 FROM books " +
+    "WHERE id IN (?1) AND retired = TRUE")
+@Entity
+@Table(name = "books_archive", indexes = {
+    @Index(name = "idx_books_archive_isbn", columnList = "isbn"),
+    @Index(name = "idx_books_archive_author", columnList = "author_id")
+})
+public class ArchivedBook {
+
+    @Id
+    private Long id;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, length = 13)
+    private String isbn;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Genre genre;
+
+    @Column(nullable = false)
+    private int totalCopies;
+
+    @Column(nullable = false)
+    private int availableCopies;
+
+    @Column(name = "archived_on", nullable = false)
+    private LocalDate archivedOn;
+
+    @Override
+    public String toString() {
+        return "Archived book: " + System.lineSeparator() +
+            "Title - " + title + System.lineSeparator() +
+            "ISBN: " + isbn + System.lineSeparator() +
+            "Archived on - " + archivedOn + System.lineSeparator();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.jpa.booktracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@NamedQuery(name = "ArchivedBorrower.findByUsername", query = "SELECT b FROM ArchivedBorrower b " +
+    "WHERE b.username = :username ORDER BY b.archivedOn DESC, b.id DESC")
+@NamedQuery(name = "ArchivedBorrower.deleteById", query = "DELETE FROM ArchivedBorrower b WHERE b.id = :id")
+@NamedQuery(name = "ArchivedBorrower.deleteByIds", query = "DELETE FROM ArchivedBorrower b WHERE b.id IN :ids")
+@NamedNativeQuery(name = "ArchivedBorrower.copyFromBorrowers", query = "INSERT INTO borrowers_archive " +
+    "(id, username, firstName, lastName, last_active_on, archived_on) " +
+    "SELECT id, username, firstName, lastName, last_active_on, ?2 FROM borrowers WHERE id IN (?1) " +
+    "AND NOT EXISTS (SELECT 1 FROM book_borrower l WHERE l.borrower_id = borrowers.id)")
+@Entity
+@Table(name = "borrowers_archive",
+    indexes = @Index(name = "idx_borrowers_archive_username", columnList = "username"))
+public class ArchivedBorrower {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private String firstName;
+
+    @Column(nullable = false)
+    private String lastName;
+
+    @Column(name = "last_active_on", nullable = false)
+    private LocalDate lastActiveOn;
+
+    @Column(name = "archived_on", nullable = false)
+    private LocalDate archivedOn;
+
+    @Override
+    public String toString() {
+        return "Archived borrower: " + System.lineSeparator() +
+            "Username - " + username + System.lineSeparator() +
+            "Last active on - " + lastActiveOn + System.lineSeparator() +
+            "Archived on - " + archivedOn + System.lineSeparator();
+    }
+
+}
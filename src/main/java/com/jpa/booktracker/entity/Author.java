@@ -3,24 +3,49 @@ package com.jpa.booktracker.entity;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedQuery;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
+@NamedQuery(name = "Author.countByName", query = "SELECT COUNT(a) FROM Author a WHERE a.name = :name")
+@NamedQuery(name = "Author.findAll", query = "SELECT a FROM Author a")
+@NamedQuery(name = "Author.findAllSummaries",
+    query = "SELECT new com.jpa.booktracker.catalog.AuthorSummary(a.id, a.name) FROM Author a")
+@NamedQuery(name = "Author.findByName", query = "SELECT a FROM Author a WHERE a.name = :name")
+@NamedQuery(name = "Author.findBioIdById", query = "SELECT a.bio.id FROM Author a WHERE a.id = :id")
+@NamedQuery(name = "Author.findIdByName", query = "SELECT a.id FROM Author a WHERE a.name = :name")
+@NamedQuery(name = "Author.findIdRange", query = "SELECT new com.jpa.booktracker.analytics.IdRange(" +
+    "COALESCE(MIN(a.id), 1L), COALESCE(MAX(a.id), 0L)) FROM Author a")
+@NamedQuery(name = "Author.findBookCount", query = "SELECT a.bookCount FROM Author a WHERE a.id = :id")
+@NamedQuery(name = "Author.findBookCounts", query = "SELECT new com.jpa.booktracker.catalog.AuthorBookCount(" +
+    "a.id, a.name, a.bookCount) FROM Author a ORDER BY a.name")
+@NamedQuery(name = "Author.addBooks", query = "UPDATE Author a SET a.bookCount = a.bookCount + :count " +
+    "WHERE a.id = :id")
+@NamedQuery(name = "Author.removeBooksByIds", query = "UPDATE Author a SET a.bookCount = a.bookCount - " +
+    "(SELECT COUNT(b) FROM Book b WHERE b.author = a AND b.id IN :ids) " +
+    "WHERE a.id IN (SELECT b.author.id FROM Book b WHERE b.id IN :ids)")
+@NamedQuery(name = "Author.repairBookCounts", query = "UPDATE Author a SET a.bookCount = " +
+    "(SELECT COUNT(b) FROM Book b WHERE b.author = a) WHERE a.id BETWEEN :first AND :last " +
+    "AND a.bookCount <> (SELECT COUNT(b) FROM Book b WHERE b.author = a)")
+@NamedQuery(name = "Author.deleteById", query = "DELETE FROM Author a WHERE a.id = :authorId")
 @Entity
 @Table(name = "authors")
 public class Author {
@@ -32,12 +57,29 @@ public class Author {
     @Column(unique = true, nullable = false)
     private String name;
 
-    @Column(nullable = false)
-    private String bio;
+    @OneToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "bio_id", nullable = false)
+    private AuthorBio bio;
+
+    @ColumnDefault("0")
+    @Column(name = "book_count", nullable = false, updatable = false)
+    private int bookCount;
 
     @OneToMany(mappedBy = "author", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private List<Book> books = new ArrayList<>();
 
+    public String getBio() {
+        return bio == null ? null : bio.getText();
+    }
+
+    public void setBio(String text) {
+        if (bio == null) {
+            bio = new AuthorBio(text);
+        } else {
+            bio.setText(text);
+        }
+    }
+
     public void addBook(Book book) {
         if (book == null) {
             throw new IllegalArgumentException("Book cannot be null");
@@ -54,14 +96,8 @@ public class Author {
 
     @Override
     public String toString() {
-        String booksNames = (books.isEmpty()) ? "No books" :
-            books.stream()
-                .map(Book::getTitle)
-                .collect(Collectors.joining(", "));
-
         return "Author: " + System.lineSeparator() +
             "Name - " + name + System.lineSeparator() +
-            "Bio - " + bio + System.lineSeparator() +
-            "Books: " + booksNames + System.lineSeparator();
+            "Books - " + bookCount + System.lineSeparator();
     }
 }
@@ -0,0 +1,39 @@
+package com.jpa.booktracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@NamedQuery(name = "AuthorBio.deleteById", query = "DELETE FROM AuthorBio b WHERE b.id = :id")
+@Entity
+@Table(name = "author_bios")
+public class AuthorBio {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Lob
+    @Convert(converter = DeflateConverter.class)
+    @Column(nullable = false)
+    private String text;
+
+    public AuthorBio(String text) {
+        this.text = text;
+    }
+
+}
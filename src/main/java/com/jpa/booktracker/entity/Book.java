@@ -8,26 +8,90 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.NamedQuery;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
+@NamedQuery(name = "Book.findAll", query = "SELECT b FROM Book b")
+@NamedQuery(name = "Book.findByIsbn", query = "SELECT b FROM Book b WHERE b.isbn = :isbn")
+@NamedQuery(name = "Book.findByAuthorName",
+    query = "SELECT b FROM Book b JOIN b.author a WHERE a.name = :authorName")
+@NamedQuery(name = "Book.findAllSummaries", query = "SELECT new com.jpa.booktracker.catalog.BookSummary(" +
+    "b.id, b.isbn, b.title, a.id, a.name, b.genre) FROM Book b JOIN b.author a")
+@NamedQuery(name = "Book.findActiveLoanCounts", query = "SELECT new com.jpa.booktracker.catalog.LoanCount(" +
+    "book.id, book.author.id, book.genre, COUNT(borrower)) FROM Book book JOIN book.borrowers borrower " +
+    "GROUP BY book.id, book.author.id, book.genre")
+@NamedQuery(name = "Book.findActiveLoans", query = "SELECT new com.jpa.booktracker.event.LoanAdded(" +
+    "book.id, borrower.id, book.author.id, book.genre) FROM Book book JOIN book.borrowers borrower")
+@NamedQuery(name = "Book.findIdRange", query = "SELECT new com.jpa.booktracker.analytics.IdRange(" +
+    "COALESCE(MIN(b.id), 1L), COALESCE(MAX(b.id), 0L)) FROM Book b")
+@NamedQuery(name = "Book.countByAuthorAndGenreInRange", query = "SELECT new " +
+    "com.jpa.booktracker.analytics.AuthorGenreCount(b.author.id, b.genre, COUNT(b)) FROM Book b " +
+    "WHERE b.id BETWEEN :first AND :last GROUP BY b.author.id, b.genre")
+@NamedQuery(name = "Book.findLoansRemovedByBookIds", query = "SELECT new com.jpa.booktracker.event.LoanRemoved(" +
+    "book.id, borrower.id, book.author.id, book.genre) FROM Book book JOIN book.borrowers borrower " +
+    "WHERE book.id IN :bookIds")
+@NamedQuery(name = "Book.findAvailableCopies", query = "SELECT b.availableCopies FROM Book b WHERE b.id = :id")
+@NamedQuery(name = "Book.findBorrowerCount", query = "SELECT b.borrowerCount FROM Book b WHERE b.id = :id")
+@NamedQuery(name = "Book.findBorrowerCounts", query = "SELECT new com.jpa.booktracker.catalog.BookBorrowerCount(" +
+    "b.id, b.isbn, b.title, b.borrowerCount) FROM Book b ORDER BY b.title, b.id")
+@NamedQuery(name = "Book.findIdsByIsbns", query = "SELECT b.id FROM Book b WHERE b.isbn IN :isbns")
+@NamedQuery(name = "Book.takeCopy", query = "UPDATE Book b SET b.availableCopies = b.availableCopies - 1, " +
+    "b.borrowerCount = b.borrowerCount + 1 WHERE b.id = :id AND b.availableCopies > (SELECT COUNT(r) " +
+    "FROM Reservation r WHERE r.id.bookId = :id AND r.id.borrowerId <> :borrowerId " +
+    "AND r.status = com.jpa.booktracker.entity.ReservationStatus.HELD)")
+@NamedQuery(name = "Book.returnCopies", query = "UPDATE Book b SET b.availableCopies = b.availableCopies + :count, " +
+    "b.borrowerCount = b.borrowerCount - :count WHERE b.id = :id")
+@NamedQuery(name = "Book.returnOneCopyEach", query = "UPDATE Book b " +
+    "SET b.availableCopies = b.availableCopies + 1, b.borrowerCount = b.borrowerCount - 1 WHERE b.id IN :bookIds")
+@NamedQuery(name = "Book.repairBorrowerCounts", query = "UPDATE Book b SET b.borrowerCount = " +
+    "(SELECT COUNT(l) FROM Loan l WHERE l.id.bookId = b.id) WHERE b.id BETWEEN :first AND :last " +
+    "AND b.borrowerCount <> (SELECT COUNT(l) FROM Loan l WHERE l.id.bookId = b.id)")
+@NamedQuery(name = "Book.addCopies", query = "UPDATE Book b SET b.totalCopies = b.totalCopies + :count, " +
+    "b.availableCopies = b.availableCopies + :count WHERE b.id = :id AND b.availableCopies + :count >= 0")
+@NamedQuery(name = "Book.deleteByIds", query = "DELETE FROM Book b WHERE b.id IN :ids")
+@NamedQuery(name = "Book.retire", query = "UPDATE Book b SET b.retired = true WHERE b.id = :id")
+@NamedNativeQuery(name = "Book.countByIsbn", query = "SELECT COUNT(*) FROM books WHERE isbn = ?1",
+    resultClass = Long.class)
+@NamedNativeQuery(name = "Book.findIdsByAuthorId", query = "SELECT id FROM books WHERE author_id = ?1",
+    resultClass = Long.class)
+@NamedNativeQuery(name = "Book.findArchivableIds", query = "SELECT b.id FROM books b WHERE b.retired = TRUE " +
+    "AND NOT EXISTS (SELECT 1 FROM book_borrower l WHERE l.book_id = b.id) ORDER BY b.retired, b.id",
+    resultClass = Long.class)
+@NamedNativeQuery(name = "Book.restoreFromArchive", query = "INSERT INTO books " +
+    "(id, author_id, title, isbn, genre, totalCopies, availableCopies, retired) " +
+    "SELECT id, author_id, title, isbn, genre, totalCopies, availableCopies, FALSE FROM books_archive WHERE id = ?1")
+@NamedNativeQuery(name = "Book.deleteRetiredByIds", query = "DELETE FROM books WHERE id IN (?1) AND retired = TRUE")
+@NamedNativeQuery(name = "Book.deleteByAuthorId", query = "DELETE FROM books WHERE author_id = ?1")
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+    @Index(name = "idx_books_title", columnList = "retired, title, id"),
+    @Index(name = "idx_books_genre_title", columnList = "retired, genre, title, id"),
+    @Index(name = "idx_books_author_title", columnList = "author_id, retired, title, id"),
+    @Index(name = "idx_books_retired", columnList = "retired, id")
+})
+@SQLRestriction("retired = false")
 public class Book {
 
     private static final int ISBN_LENGTH = 13;
@@ -36,7 +100,7 @@ public class Book {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE, CascadeType.REFRESH})
     @JoinColumn(name = "author_id", nullable = false)
     private Author author;
 
@@ -50,11 +114,26 @@ public class Book {
     @Enumerated(EnumType.STRING)
     private Genre genre;
 
+    @Column(nullable = false, updatable = false)
+    private int totalCopies = 1;
+
+    @Column(nullable = false, updatable = false)
+    private int availableCopies = 1;
+
+    @Column(nullable = false, updatable = false)
+    private boolean retired;
+
+    @ColumnDefault("0")
+    @Column(name = "borrower_count", nullable = false, updatable = false)
+    private int borrowerCount;
+
+    @Immutable
     @ManyToMany
+    @Setter(AccessLevel.NONE)
     @JoinTable(
         name = "book_borrower",
-        joinColumns = @JoinColumn(name = "book_id"),
-        inverseJoinColumns = @JoinColumn(name = "borrower_id"))
+        joinColumns = @JoinColumn(name = "book_id", insertable = false, updatable = false),
+        inverseJoinColumns = @JoinColumn(name = "borrower_id", insertable = false, updatable = false))
     private List<Borrower> borrowers = new ArrayList<>();
 
     public void setAuthor(Author author) {
@@ -65,43 +144,18 @@ public class Book {
         }
     }
 
-    public void addBorrower(Borrower borrower) {
-        if (borrower == null) {
-            throw new IllegalArgumentException("Borrower cannot be null");
-        }
-
-        if (!borrowers.contains(borrower)) {
-            borrowers.add(borrower);
-        }
-
-        if (!borrower.getBorrowedBooks().contains(this)) {
-            borrower.getBorrowedBooks().add(this);
-        }
-    }
-
-    public void removeBorrower(Borrower borrower) {
-        if (borrower == null) {
-            throw new IllegalArgumentException("Borrower cannot be null");
-        }
-
-        if (borrowers.remove(borrower)) {
-            borrower.getBorrowedBooks().remove(this);
-        }
+    public List<Borrower> getBorrowers() {
+        return Collections.unmodifiableList(borrowers);
     }
 
     @Override
     public String toString() {
-        String borrowersNames = (borrowers.isEmpty()) ? "No borrowers" :
-            borrowers.stream()
-                .map(Borrower::getUsername)
-                .collect(Collectors.joining(", "));
-
         return "Book: " + System.lineSeparator() +
             "Author - " + author.getName() + System.lineSeparator() +
             "Title - " + title + System.lineSeparator() +
             "Genre - " + genre.name() + System.lineSeparator() +
             "ISBN: " + isbn + System.lineSeparator() +
-            "Borrowers: " + borrowersNames + System.lineSeparator();
+            "Borrowers - " + borrowerCount + System.lineSeparator();
     }
 
 }
\ No newline at end of file
@@ -5,14 +5,21 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.NamedQuery;
 import jakarta.persistence.Table;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Immutable;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,8 +27,38 @@ import java.util.stream.Collectors;
 @Setter
 @NoArgsConstructor
 @EqualsAndHashCode(of = "id")
+@NamedQuery(name = "Borrower.countByUsername",
+    query = "SELECT COUNT(b) FROM Borrower b WHERE b.username = :username")
+@NamedQuery(name = "Borrower.findAll", query = "SELECT b FROM Borrower b")
+@NamedQuery(name = "Borrower.findByUsername", query = "SELECT b FROM Borrower b WHERE b.username = :username")
+@NamedQuery(name = "Borrower.findIdByUsername", query = "SELECT b.id FROM Borrower b WHERE b.username = :username")
+@NamedQuery(name = "Borrower.findIdRange", query = "SELECT new com.jpa.booktracker.analytics.IdRange(" +
+    "COALESCE(MIN(b.id), 1L), COALESCE(MAX(b.id), 0L)) FROM Borrower b")
+@NamedQuery(name = "Borrower.countInRange",
+    query = "SELECT COUNT(b) FROM Borrower b WHERE b.id BETWEEN :first AND :last")
+@NamedQuery(name = "Borrower.findByBookIsbn", query = "SELECT borrower FROM Borrower borrower " +
+    "JOIN borrower.borrowedBooks book WHERE book.isbn = :isbn")
+@NamedQuery(name = "Borrower.findLoanSummaries", query = "SELECT new com.jpa.booktracker.catalog.LoanSummary(" +
+    "book.id, borrower.id) FROM Borrower borrower JOIN borrower.borrowedBooks book")
+@NamedQuery(name = "Borrower.findLoansRemoved", query = "SELECT new com.jpa.booktracker.event.LoanRemoved(" +
+    "book.id, borrower.id, book.author.id, book.genre) FROM Borrower borrower " +
+    "JOIN borrower.borrowedBooks book WHERE borrower.id = :borrowerId")
+@NamedQuery(name = "Borrower.findArchivableIds", query = "SELECT b.id FROM Borrower b " +
+    "WHERE b.lastActiveOn < :cutoff AND NOT EXISTS (SELECT l FROM Loan l WHERE l.id.borrowerId = b.id) " +
+    "ORDER BY b.lastActiveOn, b.id")
+@NamedQuery(name = "Borrower.findDeletedChanges", query = "SELECT new com.jpa.booktracker.event.BorrowerChanged(" +
+    "com.jpa.booktracker.event.ChangeType.DELETED, b.id, b.username) FROM Borrower b WHERE b.id IN :ids")
+@NamedQuery(name = "Borrower.touch", query = "UPDATE Borrower b SET b.lastActiveOn = :today " +
+    "WHERE b.id = :id AND b.lastActiveOn < :today")
+@NamedQuery(name = "Borrower.findIdsByIds", query = "SELECT b.id FROM Borrower b WHERE b.id IN :ids")
+@NamedQuery(name = "Borrower.deleteByIds", query = "DELETE FROM Borrower b WHERE b.id IN :ids " +
+    "AND NOT EXISTS (SELECT l FROM Loan l WHERE l.id.borrowerId = b.id)")
+@NamedNativeQuery(name = "Borrower.restoreFromArchive", query = "INSERT INTO borrowers " +
+    "(id, username, firstName, lastName, last_active_on) " +
+    "SELECT id, username, firstName, lastName, ?2 FROM borrowers_archive WHERE id = ?1")
 @Entity
-@Table(name = "borrowers")
+@Table(name = "borrowers",
+    indexes = @Index(name = "idx_borrowers_last_active_on", columnList = "last_active_on, id"))
 public class Borrower {
 
     @Id
@@ -37,21 +74,16 @@ public class Borrower {
     @Column(nullable = false)
     private String lastName;
 
+    @Column(name = "last_active_on", nullable = false, updatable = false)
+    private LocalDate lastActiveOn = LocalDate.now();
+
+    @Immutable
+    @Setter(AccessLevel.NONE)
     @ManyToMany(mappedBy = "borrowers")
     private List<Book> borrowedBooks = new ArrayList<>();
 
-    public void borrowBook(Book book) {
-        if (book == null) {
-            throw new IllegalArgumentException("Book cannot be null");
-        }
-
-        if (!borrowedBooks.contains(book)) {
-            borrowedBooks.add(book);
-        }
-
-        if (!book.getBorrowers().contains(this)) {
-            book.getBorrowers().add(this);
-        }
+    public List<Book> getBorrowedBooks() {
+        return Collections.unmodifiableList(borrowedBooks);
     }
 
     @Override
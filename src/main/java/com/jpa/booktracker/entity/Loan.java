@@ -0,0 +1,60 @@
+package com.jpa.booktracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedNativeQuery;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+@NamedQuery(name = "Loan.findOverdue", query = "SELECT l FROM Loan l WHERE l.dueDate < :today " +
+    "ORDER BY l.dueDate, l.id.bookId, l.id.borrowerId")
+@NamedQuery(name = "Loan.findOverdueAfter", query = "SELECT l FROM Loan l WHERE l.dueDate < :today " +
+    "AND l.dueDate >= :dueDate AND (l.dueDate > :dueDate OR (l.dueDate = :dueDate AND (l.id.bookId > :bookId " +
+    "OR (l.id.bookId = :bookId AND l.id.borrowerId > :borrowerId)))) " +
+    "ORDER BY l.dueDate, l.id.bookId, l.id.borrowerId")
+@NamedQuery(name = "Loan.countById",
+    query = "SELECT COUNT(l) FROM Loan l WHERE l.id.bookId = :bookId AND l.id.borrowerId = :borrowerId")
+@NamedQuery(name = "Loan.countByBookId", query = "SELECT COUNT(l) FROM Loan l WHERE l.id.bookId = :bookId")
+@NamedQuery(name = "Loan.countByBorrowerInRange", query = "SELECT new " +
+    "com.jpa.booktracker.analytics.BorrowerLoanCount(l.id.borrowerId, COUNT(l)) FROM Loan l " +
+    "WHERE l.id.borrowerId BETWEEN :first AND :last GROUP BY l.id.borrowerId")
+@NamedNativeQuery(name = "Loan.insert",
+    query = "INSERT INTO book_borrower (book_id, borrower_id, due_date) VALUES (?1, ?2, ?3)")
+@NamedNativeQuery(name = "Loan.delete", query = "DELETE FROM book_borrower WHERE book_id = ?1 AND borrower_id = ?2")
+@NamedNativeQuery(name = "Loan.deleteByBorrowerId",
+    query = "DELETE FROM book_borrower WHERE borrower_id = ?1 AND book_id IN (?2)")
+@NamedNativeQuery(name = "Loan.deleteByBookIds", query = "DELETE FROM book_borrower WHERE book_id IN (?1)")
+@NamedNativeQuery(name = "Loan.deleteByAuthorId",
+    query = "DELETE FROM book_borrower WHERE book_id IN (SELECT id FROM books WHERE author_id = ?1)")
+@Entity
+@Table(name = "book_borrower",
+    indexes = @Index(name = "idx_book_borrower_due_date", columnList = "due_date, book_id, borrower_id"))
+public class Loan {
+
+    @EmbeddedId
+    private LoanId id;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Override
+    public String toString() {
+        return "Loan: " + System.lineSeparator() +
+            "Book id - " + id.getBookId() + System.lineSeparator() +
+            "Borrower id - " + id.getBorrowerId() + System.lineSeparator() +
+            "Due date - " + dueDate + System.lineSeparator();
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.jpa.booktracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class LoanId implements Serializable {
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "borrower_id", nullable = false)
+    private Long borrowerId;
+
+}
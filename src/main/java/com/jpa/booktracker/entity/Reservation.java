@@ -0,0 +1,84 @@
+package com.jpa.booktracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@NamedQuery(name = "Reservation.findAll", query = "SELECT r FROM Reservation r ORDER BY r.id.bookId, r.position")
+@NamedQuery(name = "Reservation.findHeldByBorrowerId", query = "SELECT r FROM Reservation r " +
+    "WHERE r.id.borrowerId = :borrowerId AND r.status = com.jpa.booktracker.entity.ReservationStatus.HELD " +
+    "ORDER BY r.heldOn, r.id.bookId")
+@NamedQuery(name = "Reservation.findByBookId",
+    query = "SELECT r FROM Reservation r WHERE r.id.bookId = :bookId ORDER BY r.position")
+@NamedQuery(name = "Reservation.findByBorrowerId",
+    query = "SELECT r FROM Reservation r WHERE r.id.borrowerId = :borrowerId ORDER BY r.id.bookId")
+@NamedQuery(name = "Reservation.findExpiredHolds", query = "SELECT r FROM Reservation r " +
+    "WHERE r.status = com.jpa.booktracker.entity.ReservationStatus.HELD AND r.heldOn <= :heldOn " +
+    "ORDER BY r.heldOn, r.id.bookId")
+@NamedQuery(name = "Reservation.findNextWaiting", query = "SELECT r FROM Reservation r " +
+    "WHERE r.id.bookId IN :bookIds AND r.status = com.jpa.booktracker.entity.ReservationStatus.WAITING " +
+    "AND r.position = (SELECT MIN(w.position) FROM Reservation w WHERE w.id.bookId = r.id.bookId " +
+    "AND w.status = com.jpa.booktracker.entity.ReservationStatus.WAITING)")
+@NamedQuery(name = "Reservation.holdNext", query = "UPDATE Reservation r " +
+    "SET r.status = com.jpa.booktracker.entity.ReservationStatus.HELD, r.heldOn = :heldOn " +
+    "WHERE r.id.bookId IN :bookIds AND r.status = com.jpa.booktracker.entity.ReservationStatus.WAITING " +
+    "AND r.position = (SELECT MIN(w.position) FROM Reservation w WHERE w.id.bookId = r.id.bookId " +
+    "AND w.status = com.jpa.booktracker.entity.ReservationStatus.WAITING)")
+@NamedQuery(name = "Reservation.hold", query = "UPDATE Reservation r " +
+    "SET r.status = com.jpa.booktracker.entity.ReservationStatus.HELD, r.heldOn = :heldOn " +
+    "WHERE r.id.bookId = :bookId AND r.id.borrowerId = :borrowerId")
+@NamedQuery(name = "Reservation.delete",
+    query = "DELETE FROM Reservation r WHERE r.id.bookId = :bookId AND r.id.borrowerId = :borrowerId")
+@NamedQuery(name = "Reservation.deleteByBookId", query = "DELETE FROM Reservation r WHERE r.id.bookId = :bookId")
+@NamedQuery(name = "Reservation.deleteByBorrowerId",
+    query = "DELETE FROM Reservation r WHERE r.id.borrowerId = :borrowerId")
+@Entity
+@Table(name = "reservations", indexes = {
+    @Index(name = "idx_reservations_book_position", columnList = "book_id, queue_position", unique = true),
+    @Index(name = "idx_reservations_borrower_status", columnList = "borrower_id, status")
+})
+public class Reservation {
+
+    @EmbeddedId
+    private ReservationId id;
+
+    @Column(name = "queue_position", nullable = false)
+    private long position;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "reserved_on", nullable = false)
+    private LocalDate reservedOn;
+
+    @Column(name = "held_on")
+    private LocalDate heldOn;
+
+    @Override
+    public String toString() {
+        return "Reservation: " + System.lineSeparator() +
+            "Book id - " + id.getBookId() + System.lineSeparator() +
+            "Borrower id - " + id.getBorrowerId() + System.lineSeparator() +
+            "Position - " + position + System.lineSeparator() +
+            "Status - " + status + System.lineSeparator();
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.jpa.booktracker.entity;
+
+public enum ReservationStatus {
+    WAITING,
+    HELD
+}
@@ -0,0 +1,4 @@
+package com.jpa.booktracker.event;
+
+public record AuthorChanged(ChangeType type, long id, String name) implements EntityChange {
+}
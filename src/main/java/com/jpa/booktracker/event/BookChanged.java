@@ -0,0 +1,6 @@
+package com.jpa.booktracker.event;
+
+import com.jpa.booktracker.catalog.BookSummary;
+
+public record BookChanged(ChangeType type, long id, BookSummary summary) implements EntityChange {
+}
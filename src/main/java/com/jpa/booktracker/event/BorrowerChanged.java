@@ -0,0 +1,4 @@
+package com.jpa.booktracker.event;
+
+public record BorrowerChanged(ChangeType type, long id, String username) implements EntityChange {
+}
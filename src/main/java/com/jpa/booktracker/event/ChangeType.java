@@ -0,0 +1,7 @@
+package com.jpa.booktracker.event;
+
+public enum ChangeType {
+    INSERTED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,5 @@
+package com.jpa.booktracker.event;
+
+public sealed interface EntityChange permits AuthorChanged, BookChanged, BorrowerChanged, LoanAdded, LoanRemoved,
+    ReservationHeld {
+}
@@ -0,0 +1,113 @@
+package com.jpa.booktracker.event;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+public class EntityChangeBus implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(EntityChangeBus.class.getName());
+    private static final int DEFAULT_MAX_BATCH = 1024;
+
+    private final Queue<EntityChange> queue = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<List<EntityChange>>> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final int maxBatch;
+    private final Thread dispatcher;
+
+    private volatile boolean running = true;
+
+    public EntityChangeBus() {
+        this(DEFAULT_MAX_BATCH);
+    }
+
+    public EntityChangeBus(int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Max batch must be positive");
+        }
+
+        this.maxBatch = maxBatch;
+        this.dispatcher = new Thread(this::dispatchLoop, "entity-change-bus");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public Runnable subscribe(Consumer<List<EntityChange>> subscriber) {
+        if (subscriber == null) {
+            throw new IllegalArgumentException("Subscriber cannot be null");
+        }
+
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    public void publish(List<? extends EntityChange> changes) {
+        if (changes == null) {
+            throw new IllegalArgumentException("Changes cannot be null");
+        }
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        queue.addAll(changes);
+        published.addAndGet(changes.size());
+        LockSupport.unpark(dispatcher);
+    }
+
+    public boolean awaitDelivery(Duration timeout) {
+        long target = published.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (delivered.get() < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        return true;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+    }
+
+    private void dispatchLoop() {
+        List<EntityChange> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            EntityChange change;
+            while (batch.size() < maxBatch && (change = queue.poll()) != null) {
+                batch.add(change);
+            }
+
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(50));
+                continue;
+            }
+
+            List<EntityChange> delivery = List.copyOf(batch);
+            for (Consumer<List<EntityChange>> subscriber : subscribers) {
+                try {
+                    subscriber.accept(delivery);
+                } catch (RuntimeException e) {
+                    LOGGER.log(System.Logger.Level.WARNING, "Entity change subscriber failed", e);
+                }
+            }
+
+            delivered.addAndGet(delivery.size());
+            batch.clear();
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.jpa.booktracker.event;
+
+import com.jpa.booktracker.catalog.BookSummary;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EntityChangeListener implements PostInsertEventListener, PostUpdateEventListener,
+    PostDeleteEventListener, SessionFactoryObserver {
+
+    private static final Map<SessionFactoryImplementor, EntityChangeListener> REGISTERED = new ConcurrentHashMap<>();
+
+    private final EntityChangeBus bus;
+    private final Map<SharedSessionContractImplementor, List<EntityChange>> pending = new ConcurrentHashMap<>();
+
+    private EntityChangeListener(EntityChangeBus bus) {
+        this.bus = bus;
+    }
+
+    public static EntityChangeListener register(EntityManagerFactory emf, EntityChangeBus bus) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (bus == null) {
+            throw new IllegalArgumentException("EntityChangeBus cannot be null");
+        }
+
+        SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        EntityChangeListener listener = new EntityChangeListener(bus);
+        if (REGISTERED.putIfAbsent(sessionFactory, listener) != null) {
+            throw new IllegalStateException("An entity change listener is already registered for this factory");
+        }
+
+        sessionFactory.addObserver(listener);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        return listener;
+    }
+
+    public static void recordAfterCommit(EntityManager em, EntityChange change) {
+        EntityChangeListener listener = REGISTERED.get(em.getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class));
+        if (listener != null) {
+            listener.record(em.unwrap(EventSource.class), change);
+        }
+    }
+
+    static boolean isRegistered(SessionFactoryImplementor sessionFactory) {
+        return REGISTERED.containsKey(sessionFactory);
+    }
+
+    public static BookSummary summarize(Book book) {
+        Author author = book.getAuthor();
+        return new BookSummary(book.getId(), book.getIsbn(), book.getTitle(), author.getId(), author.getName(),
+            book.getGenre());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onEntityChange(event.getSession(), event.getEntity(), ChangeType.INSERTED);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onEntityChange(event.getSession(), event.getEntity(), ChangeType.UPDATED);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onEntityChange(event.getSession(), event.getEntity(), ChangeType.DELETED);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void sessionFactoryClosed(SessionFactory factory) {
+        REGISTERED.remove((SessionFactoryImplementor) factory, this);
+        pending.clear();
+    }
+
+    private void onEntityChange(EventSource session, Object entity, ChangeType type) {
+        if (entity instanceof Book book) {
+            record(session, new BookChanged(type, book.getId(), summarize(book)));
+        } else if (entity instanceof Author author) {
+            record(session, new AuthorChanged(type, author.getId(), author.getName()));
+        } else if (entity instanceof Borrower borrower) {
+            record(session, new BorrowerChanged(type, borrower.getId(), borrower.getUsername()));
+        }
+    }
+
+    private void record(EventSource session, EntityChange change) {
+        pending.computeIfAbsent(session, s -> {
+            session.getActionQueue().registerProcess((success, completed) -> {
+                List<EntityChange> changes = pending.remove(completed);
+                if (success && changes != null) {
+                    bus.publish(changes);
+                }
+            });
+
+            return new ArrayList<>();
+        }).add(change);
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.jpa.booktracker.event;
+
+import com.jpa.booktracker.entity.Genre;
+
+public record LoanAdded(long bookId, long borrowerId, long authorId, Genre genre) implements EntityChange {
+}
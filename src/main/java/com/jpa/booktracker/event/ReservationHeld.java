@@ -0,0 +1,4 @@
+package com.jpa.booktracker.event;
+
+public record ReservationHeld(long bookId, long borrowerId) implements EntityChange {
+}
@@ -0,0 +1,11 @@
+package com.jpa.booktracker.exception;
+
+public class NoAvailableCopiesException extends RuntimeException {
+    public NoAvailableCopiesException(String message) {
+        super(message);
+    }
+
+    public NoAvailableCopiesException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
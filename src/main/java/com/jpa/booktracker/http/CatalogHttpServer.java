@@ -0,0 +1,271 @@
+package com.jpa.booktracker.http;
+
+import com.jpa.booktracker.catalog.BookSummary;
+import com.jpa.booktracker.catalog.CatalogReadModel;
+import com.jpa.booktracker.catalog.CatalogSnapshot;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.exception.DuplicateEntryException;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import com.jpa.booktracker.exception.NoAvailableCopiesException;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.BorrowerService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+public class CatalogHttpServer implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(CatalogHttpServer.class.getName());
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final int THREADS_PER_PROCESSOR = 8;
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final EntityManagerFactory emf;
+    private final CatalogReadModel readModel;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public CatalogHttpServer(InetSocketAddress address, EntityManagerFactory emf, CatalogReadModel readModel)
+        throws IOException {
+
+        if (address == null) {
+            throw new IllegalArgumentException("Address cannot be null");
+        }
+
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (readModel == null) {
+            throw new IllegalArgumentException("CatalogReadModel cannot be null");
+        }
+
+        this.emf = emf;
+        this.readModel = readModel;
+        this.executor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors() * THREADS_PER_PROCESSOR);
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/books", handled(this::handleBooks));
+        this.server.createContext("/authors", handled(this::handleAuthors));
+        this.server.createContext("/genres", handled(this::handleGenres));
+        this.server.createContext("/borrowers", handled(this::handleBorrowers));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+    }
+
+    private void handleBooks(HttpExchange exchange) throws IOException {
+        List<String> path = segments(exchange, "/books");
+        String method = exchange.getRequestMethod();
+
+        if (path.isEmpty() && "GET".equals(method)) {
+            sendSnapshot(exchange, snapshot -> books(snapshot.getAllBooks()));
+        } else if (path.size() == 1 && "GET".equals(method)) {
+            sendSnapshot(exchange, snapshot -> {
+                BookSummary book = snapshot.getBookByIsbn(path.get(0));
+                return out -> Json.writeBook(out, book);
+            });
+        } else if (path.size() == 3 && "loans".equals(path.get(1)) && "PUT".equals(method)) {
+            inTransaction(exchange, 201, (books, borrowers) ->
+                books.borrowCopy(books.getBookByIsbn(path.get(0)), borrowers.getBorrowerByUsername(path.get(2))));
+        } else if (path.size() == 3 && "loans".equals(path.get(1)) && "DELETE".equals(method)) {
+            inTransaction(exchange, 204, (books, borrowers) ->
+                books.returnCopy(books.getBookByIsbn(path.get(0)), borrowers.getBorrowerByUsername(path.get(2))));
+        } else {
+            sendError(exchange, 404, "No route for " + method + " " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private void handleAuthors(HttpExchange exchange) throws IOException {
+        List<String> path = segments(exchange, "/authors");
+        if (path.size() == 1 && "GET".equals(exchange.getRequestMethod())) {
+            sendFromDatabase(exchange, em -> {
+                Author author = new AuthorService(new AuthorDao(em)).getAuthorByName(path.get(0));
+                return out -> Json.writeAuthor(out, author);
+            });
+        } else if (path.size() == 2 && "books".equals(path.get(1)) && "GET".equals(exchange.getRequestMethod())) {
+            sendSnapshot(exchange, snapshot -> books(snapshot.getAllBooksByAuthor(path.get(0))));
+        } else {
+            sendError(exchange, 404, "No route for " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private void handleGenres(HttpExchange exchange) throws IOException {
+        List<String> path = segments(exchange, "/genres");
+        if (path.size() == 2 && "books".equals(path.get(1)) && "GET".equals(exchange.getRequestMethod())) {
+            Genre genre;
+            try {
+                genre = Genre.valueOf(path.get(0).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, "Unknown genre " + path.get(0));
+                return;
+            }
+
+            sendSnapshot(exchange, snapshot -> books(snapshot.getAllBooksByGenre(genre)));
+        } else {
+            sendError(exchange, 404, "No route for " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private void handleBorrowers(HttpExchange exchange) throws IOException {
+        List<String> path = segments(exchange, "/borrowers");
+        if (path.size() != 1 || !"GET".equals(exchange.getRequestMethod())) {
+            sendError(exchange, 404, "No route for " + exchange.getRequestURI().getPath());
+            return;
+        }
+
+        sendFromDatabase(exchange, em -> {
+            Borrower borrower = new BorrowerService(new BorrowerDao(em)).getBorrowerByUsername(path.get(0));
+            return out -> Json.writeBorrower(out, borrower);
+        });
+    }
+
+    private void sendFromDatabase(HttpExchange exchange, Function<EntityManager, JsonBody> query) throws IOException {
+        EntityManager em = emf.createEntityManager();
+        try {
+            JsonBody body = query.apply(em);
+            exchange.getResponseHeaders().set("Content-Type", JSON);
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer out = writer(exchange)) {
+                body.writeTo(out);
+            }
+        } catch (EntityNotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+        } finally {
+            em.close();
+        }
+    }
+
+    private void sendSnapshot(HttpExchange exchange, Function<CatalogSnapshot, JsonBody> query) throws IOException {
+        CatalogSnapshot snapshot = readModel.snapshot();
+        String etag = "\"" + snapshot.getVersion() + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        JsonBody body;
+        try {
+            body = query.apply(snapshot);
+        } catch (EntityNotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+        try (Writer out = writer(exchange)) {
+            body.writeTo(out);
+        }
+    }
+
+    private static JsonBody books(Iterable<BookSummary> books) {
+        return out -> Json.writeBooks(out, books);
+    }
+
+    private void inTransaction(HttpExchange exchange, int status, LoanOperation operation) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            operation.apply(new BookService(new BookDao(em)), new BorrowerService(new BorrowerDao(em)));
+            em.getTransaction().commit();
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        } catch (EntityNotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+        } catch (NoAvailableCopiesException | DuplicateEntryException e) {
+            sendError(exchange, 409, e.getMessage());
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+
+            em.close();
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, 0);
+        try (Writer out = writer(exchange)) {
+            Json.writeError(out, message);
+        }
+    }
+
+    private static Writer writer(HttpExchange exchange) {
+        return new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+    }
+
+    private static List<String> segments(HttpExchange exchange, String context) {
+        String rest = exchange.getRequestURI().getRawPath().substring(context.length());
+        return Arrays.stream(rest.split("/"))
+            .filter(segment -> !segment.isEmpty())
+            .map(segment -> URLDecoder.decode(segment, StandardCharsets.UTF_8))
+            .toList();
+    }
+
+    private static HttpHandler handled(HttpHandler handler) {
+        return exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Request " + exchange.getRequestMethod() + " " +
+                    exchange.getRequestURI() + " failed", e);
+                try {
+                    sendError(exchange, 500, "Internal server error");
+                } finally {
+                    exchange.close();
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface LoanOperation {
+        void apply(BookService bookService, BorrowerService borrowerService);
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.jpa.booktracker.http;
+
+import com.jpa.booktracker.catalog.BookSummary;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+
+import java.io.IOException;
+import java.io.Writer;
+
+final class Json {
+
+    private Json() {
+    }
+
+    static void writeBook(Writer out, BookSummary book) throws IOException {
+        out.write("{\"id\":");
+        out.write(Long.toString(book.id()));
+        out.write(",\"isbn\":");
+        writeString(out, book.isbn());
+        out.write(",\"title\":");
+        writeString(out, book.title());
+        out.write(",\"authorId\":");
+        out.write(Long.toString(book.authorId()));
+        out.write(",\"author\":");
+        writeString(out, book.authorName());
+        out.write(",\"genre\":");
+        writeString(out, book.genre().name());
+        out.write('}');
+    }
+
+    static void writeBooks(Writer out, Iterable<BookSummary> books) throws IOException {
+        out.write('[');
+        boolean first = true;
+        for (BookSummary book : books) {
+            if (!first) {
+                out.write(',');
+            }
+
+            writeBook(out, book);
+            first = false;
+        }
+
+        out.write(']');
+    }
+
+    static void writeAuthor(Writer out, Author author) throws IOException {
+        out.write("{\"id\":");
+        out.write(Long.toString(author.getId()));
+        out.write(",\"name\":");
+        writeString(out, author.getName());
+        out.write(",\"bio\":");
+        writeString(out, author.getBio());
+        out.write(",\"bookCount\":");
+        out.write(Integer.toString(author.getBookCount()));
+        out.write('}');
+    }
+
+    static void writeBorrower(Writer out, Borrower borrower) throws IOException {
+        out.write("{\"id\":");
+        out.write(Long.toString(borrower.getId()));
+        out.write(",\"username\":");
+        writeString(out, borrower.getUsername());
+        out.write(",\"firstName\":");
+        writeString(out, borrower.getFirstName());
+        out.write(",\"lastName\":");
+        writeString(out, borrower.getLastName());
+        out.write(",\"borrowedBooks\":[");
+        boolean first = true;
+        for (Book book : borrower.getBorrowedBooks()) {
+            if (!first) {
+                out.write(',');
+            }
+
+            writeString(out, book.getIsbn());
+            first = false;
+        }
+
+        out.write("]}");
+    }
+
+    static void writeError(Writer out, String message) throws IOException {
+        out.write("{\"error\":");
+        writeString(out, message);
+        out.write('}');
+    }
+
+    static void writeString(Writer out, String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+
+        out.write('"');
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.jpa.booktracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.jpa.booktracker.ConnectionAcquisition")
+@Label("JDBC Connection Acquisition")
+@Category({"BookTracker", "Persistence"})
+@Description("Time a session waited for a JDBC connection from the pool")
+public final class ConnectionAcquisitionEvent extends Event {
+}
@@ -0,0 +1,27 @@
+package com.jpa.booktracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.jpa.booktracker.Flush")
+@Label("Session Flush")
+@Category({"BookTracker", "Persistence"})
+@Description("A Hibernate session flush, including dirty checking of managed entities")
+public final class FlushEvent extends Event {
+
+    @Label("Entities Dirty Checked")
+    public int entitiesDirtyChecked;
+
+    @Label("Dirty Entities")
+    public int dirtyEntities;
+
+    @Label("Managed Entities")
+    public int managedEntities;
+
+    @Label("Managed Collections")
+    public int managedCollections;
+
+}
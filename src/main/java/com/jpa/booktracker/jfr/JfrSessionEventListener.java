@@ -0,0 +1,59 @@
+package com.jpa.booktracker.jfr;
+
+import org.hibernate.BaseSessionEventListener;
+
+public class JfrSessionEventListener extends BaseSessionEventListener {
+
+    private ConnectionAcquisitionEvent connectionAcquisition;
+    private FlushEvent flush;
+    private int entitiesDirtyChecked;
+    private int dirtyEntities;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionAcquisition = new ConnectionAcquisitionEvent();
+        connectionAcquisition.begin();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        if (connectionAcquisition != null) {
+            connectionAcquisition.commit();
+            connectionAcquisition = null;
+        }
+    }
+
+    @Override
+    public void flushStart() {
+        flush = new FlushEvent();
+        entitiesDirtyChecked = 0;
+        dirtyEntities = 0;
+        flush.begin();
+    }
+
+    @Override
+    public void dirtyCalculationEnd(boolean dirty) {
+        entitiesDirtyChecked++;
+        if (dirty) {
+            dirtyEntities++;
+        }
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        if (flush == null) {
+            return;
+        }
+
+        if (flush.shouldCommit()) {
+            flush.entitiesDirtyChecked = entitiesDirtyChecked;
+            flush.dirtyEntities = dirtyEntities;
+            flush.managedEntities = numberOfEntities;
+            flush.managedCollections = numberOfCollections;
+            flush.commit();
+        }
+
+        flush = null;
+    }
+
+}
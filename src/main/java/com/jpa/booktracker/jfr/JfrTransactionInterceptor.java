@@ -0,0 +1,40 @@
+package com.jpa.booktracker.jfr;
+
+import org.hibernate.Interceptor;
+import org.hibernate.Transaction;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
+
+import java.util.Iterator;
+
+public class JfrTransactionInterceptor implements Interceptor {
+
+    private TransactionEvent transaction;
+
+    @Override
+    public void afterTransactionBegin(Transaction tx) {
+        transaction = new TransactionEvent();
+        transaction.begin();
+    }
+
+    @Override
+    public void preFlush(Iterator<Object> entities) {
+        if (transaction != null) {
+            transaction.flushes++;
+        }
+    }
+
+    @Override
+    public void afterTransactionCompletion(Transaction tx) {
+        if (transaction == null) {
+            return;
+        }
+
+        if (transaction.shouldCommit()) {
+            transaction.committed = tx.getStatus() == TransactionStatus.COMMITTED;
+            transaction.commit();
+        }
+
+        transaction = null;
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.jpa.booktracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.jpa.booktracker.Query")
+@Label("DAO Query")
+@Category({"BookTracker", "Persistence"})
+@Description("A JPQL, Criteria or native query executed by a DAO")
+public final class QueryEvent extends Event {
+
+    @Label("Query")
+    public String query;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Parameter Count")
+    public int parameterCount;
+
+    @Label("Rows")
+    public int rows;
+
+}
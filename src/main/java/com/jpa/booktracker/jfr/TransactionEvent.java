@@ -0,0 +1,21 @@
+package com.jpa.booktracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.jpa.booktracker.Transaction")
+@Label("Transaction")
+@Category({"BookTracker", "Persistence"})
+@Description("A resource-local transaction from begin to commit or rollback")
+public final class TransactionEvent extends Event {
+
+    @Label("Committed")
+    public boolean committed;
+
+    @Label("Flushes")
+    public int flushes;
+
+}
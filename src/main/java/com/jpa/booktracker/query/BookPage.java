@@ -0,0 +1,14 @@
+package com.jpa.booktracker.query;
+
+import com.jpa.booktracker.entity.Book;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+public record BookPage(List<Book> books, OptionalLong totalCount, BookQuery next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+}
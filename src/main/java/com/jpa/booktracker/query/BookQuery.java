@@ -0,0 +1,108 @@
+package com.jpa.booktracker.query;
+
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Genre;
+import lombok.Getter;
+
+@Getter
+public class BookQuery {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private Genre genre;
+    private String authorName;
+    private String titleFragment;
+    private Boolean borrowed;
+    private BookSort sort = BookSort.TITLE;
+    private String afterTitle;
+    private Long afterId;
+    private int limit = DEFAULT_LIMIT;
+    private boolean totalCountRequested;
+
+    public static BookQuery create() {
+        return new BookQuery();
+    }
+
+    public BookQuery genre(Genre genre) {
+        this.genre = genre;
+        return this;
+    }
+
+    public BookQuery author(String authorName) {
+        if (authorName != null && authorName.isBlank()) {
+            throw new IllegalArgumentException("Author name cannot be blank");
+        }
+
+        this.authorName = authorName;
+        return this;
+    }
+
+    public BookQuery titleContains(String titleFragment) {
+        if (titleFragment != null && titleFragment.isBlank()) {
+            throw new IllegalArgumentException("Title fragment cannot be blank");
+        }
+
+        this.titleFragment = titleFragment;
+        return this;
+    }
+
+    public BookQuery borrowed(Boolean borrowed) {
+        this.borrowed = borrowed;
+        return this;
+    }
+
+    public BookQuery sortBy(BookSort sort) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort cannot be null");
+        }
+
+        this.sort = sort;
+        return this;
+    }
+
+    public BookQuery after(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        this.afterTitle = book.getTitle();
+        this.afterId = book.getId();
+        return this;
+    }
+
+    public BookQuery limit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        this.limit = limit;
+        return this;
+    }
+
+    public BookQuery withTotalCount() {
+        this.totalCountRequested = true;
+        return this;
+    }
+
+    public boolean isFirstPage() {
+        return afterId == null;
+    }
+
+    private BookQuery copy() {
+        BookQuery copy = new BookQuery();
+        copy.genre = genre;
+        copy.authorName = authorName;
+        copy.titleFragment = titleFragment;
+        copy.borrowed = borrowed;
+        copy.sort = sort;
+        copy.afterTitle = afterTitle;
+        copy.afterId = afterId;
+        copy.limit = limit;
+        return copy;
+    }
+
+    public BookQuery nextPage(Book last) {
+        return copy().after(last);
+    }
+
+}
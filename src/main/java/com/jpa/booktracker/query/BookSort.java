@@ -0,0 +1,6 @@
+package com.jpa.booktracker.query;
+
+public enum BookSort {
+    TITLE,
+    ID
+}
@@ -0,0 +1,354 @@
+package com.jpa.booktracker.search;
+
+import com.jpa.booktracker.catalog.AuthorSummary;
+import com.jpa.booktracker.catalog.BookSummary;
+import com.jpa.booktracker.catalog.LoanCount;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.event.AuthorChanged;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChange;
+import com.jpa.booktracker.event.LoanAdded;
+import com.jpa.booktracker.event.LoanRemoved;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class AutocompleteIndex {
+
+    private static final int MAX_DEPTH = 24;
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> BY_POPULARITY = Comparator
+        .comparingLong(Suggestion::popularity).reversed()
+        .thenComparing(Suggestion::text)
+        .thenComparing(Suggestion::type)
+        .thenComparingLong(Suggestion::id);
+
+    private final BookDao bookDao;
+    private final AuthorDao authorDao;
+    private final int topK;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Node root = new Node();
+    private Map<SuggestionType, Map<Long, Suggestion>> entries = emptyEntries();
+
+    public AutocompleteIndex(BookDao bookDao, AuthorDao authorDao, int topK) {
+        if (bookDao == null) {
+            throw new IllegalArgumentException("BookDao cannot be null");
+        }
+
+        if (authorDao == null) {
+            throw new IllegalArgumentException("AuthorDao cannot be null");
+        }
+
+        if (topK <= 0) {
+            throw new IllegalArgumentException("Top K must be positive");
+        }
+
+        this.bookDao = bookDao;
+        this.authorDao = authorDao;
+        this.topK = topK;
+    }
+
+    public void rebuild() {
+        List<BookSummary> books = bookDao.getAllBookSummaries();
+        List<AuthorSummary> authors = authorDao.getAllAuthorSummaries();
+        List<LoanCount> loanCounts = bookDao.getActiveLoanCounts();
+
+        Map<Long, Long> bookPopularity = new HashMap<>();
+        Map<Long, Long> authorPopularity = new HashMap<>();
+        for (LoanCount loanCount : loanCounts) {
+            bookPopularity.merge(loanCount.bookId(), loanCount.count(), Long::sum);
+            authorPopularity.merge(loanCount.authorId(), loanCount.count(), Long::sum);
+        }
+
+        Map<SuggestionType, Map<Long, Suggestion>> nextEntries = emptyEntries();
+        Node nextRoot = new Node();
+        for (BookSummary book : books) {
+            Suggestion suggestion = new Suggestion(SuggestionType.BOOK, book.id(), book.title(),
+                bookPopularity.getOrDefault(book.id(), 0L));
+            nextEntries.get(SuggestionType.BOOK).put(book.id(), suggestion);
+            insert(nextRoot, suggestion);
+        }
+
+        for (AuthorSummary author : authors) {
+            Suggestion suggestion = new Suggestion(SuggestionType.AUTHOR, author.id(), author.name(),
+                authorPopularity.getOrDefault(author.id(), 0L));
+            nextEntries.get(SuggestionType.AUTHOR).put(author.id(), suggestion);
+            insert(nextRoot, suggestion);
+        }
+
+        lock.writeLock().lock();
+        try {
+            root = nextRoot;
+            entries = nextEntries;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onChanges(List<EntityChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (EntityChange change : changes) {
+                if (change instanceof BookChanged book) {
+                    if (book.type() == ChangeType.DELETED) {
+                        remove(SuggestionType.BOOK, book.id());
+                    } else {
+                        upsert(SuggestionType.BOOK, book.id(), book.summary().title());
+                    }
+                } else if (change instanceof AuthorChanged author) {
+                    if (author.type() == ChangeType.DELETED) {
+                        remove(SuggestionType.AUTHOR, author.id());
+                    } else {
+                        upsert(SuggestionType.AUTHOR, author.id(), author.name());
+                    }
+                } else if (change instanceof LoanAdded loan) {
+                    adjustPopularity(SuggestionType.BOOK, loan.bookId(), 1);
+                    adjustPopularity(SuggestionType.AUTHOR, loan.authorId(), 1);
+                } else if (change instanceof LoanRemoved loan) {
+                    adjustPopularity(SuggestionType.BOOK, loan.bookId(), -1);
+                    adjustPopularity(SuggestionType.AUTHOR, loan.authorId(), -1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix cannot be null");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        String normalized = TextNormalizer.normalize(prefix);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < Math.min(normalized.length(), MAX_DEPTH) && node != null; i++) {
+                node = node.child(normalized.charAt(i));
+            }
+
+            if (node == null) {
+                return List.of();
+            }
+
+            if (normalized.length() <= MAX_DEPTH) {
+                return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+            }
+
+            return node.terminals.stream()
+                .filter(suggestion -> matchesWordStart(TextNormalizer.normalize(suggestion.text()), normalized))
+                .sorted(BY_POPULARITY)
+                .limit(Math.min(limit, topK))
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.get(SuggestionType.BOOK).size() + entries.get(SuggestionType.AUTHOR).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(SuggestionType type, long id, String text) {
+        Suggestion previous = entries.get(type).get(id);
+        if (previous != null && previous.text().equals(text)) {
+            return;
+        }
+
+        replace(previous, new Suggestion(type, id, text, previous == null ? 0 : previous.popularity()));
+    }
+
+    private void remove(SuggestionType type, long id) {
+        Suggestion previous = entries.get(type).remove(id);
+        if (previous != null) {
+            delete(root, previous);
+        }
+    }
+
+    private void adjustPopularity(SuggestionType type, long id, long delta) {
+        Suggestion previous = entries.get(type).get(id);
+        if (previous != null) {
+            replace(previous, new Suggestion(type, id, previous.text(),
+                Math.max(0, previous.popularity() + delta)));
+        }
+    }
+
+    private void replace(Suggestion previous, Suggestion next) {
+        if (previous != null) {
+            delete(root, previous);
+        }
+
+        entries.get(next.type()).put(next.id(), next);
+        insert(root, next);
+    }
+
+    private void insert(Node root, Suggestion suggestion) {
+        String text = TextNormalizer.normalize(suggestion.text());
+        for (int start : wordStarts(text)) {
+            Node[] path = new Node[Math.min(text.length() - start, MAX_DEPTH) + 1];
+            path[0] = root;
+            for (int depth = 1; depth < path.length; depth++) {
+                path[depth] = path[depth - 1].getOrCreateChild(text.charAt(start + depth - 1));
+            }
+
+            Node last = path[path.length - 1];
+            if (!last.terminals.contains(suggestion)) {
+                last.terminals.add(suggestion);
+            }
+
+            for (int depth = path.length - 1; depth >= 0; depth--) {
+                path[depth].recomputeTop(topK);
+            }
+        }
+    }
+
+    private void delete(Node root, Suggestion suggestion) {
+        String text = TextNormalizer.normalize(suggestion.text());
+        for (int start : wordStarts(text)) {
+            Node[] path = new Node[Math.min(text.length() - start, MAX_DEPTH) + 1];
+            path[0] = root;
+            for (int depth = 1; depth < path.length && path[depth - 1] != null; depth++) {
+                path[depth] = path[depth - 1].child(text.charAt(start + depth - 1));
+            }
+
+            Node last = path[path.length - 1];
+            if (last == null) {
+                continue;
+            }
+
+            last.terminals.remove(suggestion);
+            for (int depth = path.length - 1; depth >= 0; depth--) {
+                path[depth].recomputeTop(topK);
+                if (depth > 0 && path[depth].isEmpty()) {
+                    path[depth - 1].removeChild(text.charAt(start + depth - 1));
+                }
+            }
+        }
+    }
+
+    private static int[] wordStarts(String text) {
+        int[] starts = new int[text.length()];
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (i == 0 || text.charAt(i - 1) == ' ') {
+                starts[count++] = i;
+            }
+        }
+
+        return Arrays.copyOf(starts, count);
+    }
+
+    private static boolean matchesWordStart(String text, String prefix) {
+        for (int start : wordStarts(text)) {
+            if (text.startsWith(prefix, start)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Map<SuggestionType, Map<Long, Suggestion>> emptyEntries() {
+        Map<SuggestionType, Map<Long, Suggestion>> result = new EnumMap<>(SuggestionType.class);
+        for (SuggestionType type : SuggestionType.values()) {
+            result.put(type, new HashMap<>());
+        }
+
+        return result;
+    }
+
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private final List<Suggestion> terminals = new ArrayList<>(1);
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node getOrCreateChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            char[] nextLabels = new char[labels.length + 1];
+            Node[] nextChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, nextLabels, 0, insertAt);
+            System.arraycopy(children, 0, nextChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, nextLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, nextChildren, insertAt + 1, children.length - insertAt);
+            nextLabels[insertAt] = label;
+            nextChildren[insertAt] = new Node();
+            labels = nextLabels;
+            children = nextChildren;
+            return nextChildren[insertAt];
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+
+            char[] nextLabels = new char[labels.length - 1];
+            Node[] nextChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, nextLabels, 0, index);
+            System.arraycopy(children, 0, nextChildren, 0, index);
+            System.arraycopy(labels, index + 1, nextLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, nextChildren, index, children.length - index - 1);
+            labels = nextLabels;
+            children = nextChildren;
+        }
+
+        private boolean isEmpty() {
+            return terminals.isEmpty() && children.length == 0;
+        }
+
+        private void recomputeTop(int topK) {
+            List<Suggestion> candidates = new ArrayList<>(terminals);
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+
+            candidates.sort(BY_POPULARITY);
+            List<Suggestion> result = new ArrayList<>(topK);
+            for (Suggestion candidate : candidates) {
+                if (result.size() == topK) {
+                    break;
+                }
+
+                if (result.isEmpty() || !result.get(result.size() - 1).equals(candidate)) {
+                    result.add(candidate);
+                }
+            }
+
+            top = result.toArray(NO_SUGGESTIONS);
+        }
+
+    }
+
+}
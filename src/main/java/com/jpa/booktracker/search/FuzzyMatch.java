@@ -0,0 +1,4 @@
+package com.jpa.booktracker.search;
+
+public record FuzzyMatch(SuggestionType type, long id, String text, double score) {
+}
@@ -0,0 +1,4 @@
+package com.jpa.booktracker.search;
+
+public record Suggestion(SuggestionType type, long id, String text, long popularity) {
+}
@@ -0,0 +1,6 @@
+package com.jpa.booktracker.search;
+
+public enum SuggestionType {
+    BOOK,
+    AUTHOR
+}
@@ -0,0 +1,35 @@
+package com.jpa.booktracker.search;
+
+import java.util.Locale;
+
+public final class TextNormalizer {
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        String folded = text.toLowerCase(Locale.ROOT);
+        StringBuilder result = new StringBuilder(folded.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !result.isEmpty()) {
+                    result.append(' ');
+                }
+
+                result.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,456 @@
+package com.jpa.booktracker.search;
+
+import com.jpa.booktracker.catalog.AuthorSummary;
+import com.jpa.booktracker.catalog.BookSummary;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.event.AuthorChanged;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChange;
+import com.jpa.booktracker.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TrigramIndex {
+
+    private static final double DEFAULT_THRESHOLD = 0.5;
+    private static final int COMPACTION_SLACK = 1024;
+    private static final int BINARY_SEARCH_COST = 16;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final BookDao bookDao;
+    private final AuthorDao authorDao;
+    private final double threshold;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+
+    public TrigramIndex(BookDao bookDao, AuthorDao authorDao) {
+        this(bookDao, authorDao, DEFAULT_THRESHOLD);
+    }
+
+    public TrigramIndex(BookDao bookDao, AuthorDao authorDao, double threshold) {
+        if (bookDao == null) {
+            throw new IllegalArgumentException("BookDao cannot be null");
+        }
+
+        if (authorDao == null) {
+            throw new IllegalArgumentException("AuthorDao cannot be null");
+        }
+
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Threshold must be in (0, 1]");
+        }
+
+        this.bookDao = bookDao;
+        this.authorDao = authorDao;
+        this.threshold = threshold;
+    }
+
+    public void rebuild() {
+        List<BookSummary> books = bookDao.getAllBookSummaries();
+        List<AuthorSummary> authors = authorDao.getAllAuthorSummaries();
+
+        State next = new State();
+        books.forEach(book -> next.put(SuggestionType.BOOK, book.id(), book.title()));
+        authors.forEach(author -> next.put(SuggestionType.AUTHOR, author.id(), author.name()));
+
+        lock.writeLock().lock();
+        try {
+            state = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onChanges(List<EntityChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (EntityChange change : changes) {
+                if (change instanceof BookChanged book) {
+                    if (book.type() == ChangeType.DELETED) {
+                        state.remove(SuggestionType.BOOK, book.id());
+                    } else {
+                        state.put(SuggestionType.BOOK, book.id(), book.summary().title());
+                    }
+                } else if (change instanceof AuthorChanged author) {
+                    if (author.type() == ChangeType.DELETED) {
+                        state.remove(SuggestionType.AUTHOR, author.id());
+                    } else {
+                        state.put(SuggestionType.AUTHOR, author.id(), author.name());
+                    }
+                }
+            }
+
+            if (state.count > 2 * state.live + COMPACTION_SLACK) {
+                state = state.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<FuzzyMatch> search(String query, int limit) {
+        return search(query, null, limit);
+    }
+
+    public List<FuzzyMatch> search(String query, SuggestionType type, int limit) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        long[] queryTrigrams = trigrams(TextNormalizer.normalize(query));
+        if (queryTrigrams.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return state.search(queryTrigrams, type, limit, threshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static long[] trigrams(String normalized) {
+        if (normalized.isEmpty()) {
+            return new long[0];
+        }
+
+        List<Long> result = new ArrayList<>();
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+
+        return result.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    private static final class State {
+
+        private final Map<SuggestionType, Map<Long, Integer>> documents = new EnumMap<>(SuggestionType.class);
+        private final LongIntHashMap postingIds = new LongIntHashMap();
+        private final List<Postings> postings = new ArrayList<>();
+
+        private SuggestionType[] types = new SuggestionType[16];
+        private long[] ids = new long[16];
+        private String[] texts = new String[16];
+        private int[] trigramCounts = new int[16];
+        private int count;
+        private int live;
+
+        private State() {
+            for (SuggestionType type : SuggestionType.values()) {
+                documents.put(type, new HashMap<>());
+            }
+        }
+
+        private void put(SuggestionType type, long id, String text) {
+            Integer existing = documents.get(type).get(id);
+            if (existing != null && texts[existing].equals(text)) {
+                return;
+            }
+
+            remove(type, id);
+            long[] documentTrigrams = trigrams(TextNormalizer.normalize(text));
+            if (documentTrigrams.length == 0) {
+                return;
+            }
+
+            if (count == texts.length) {
+                int capacity = count * 2;
+                types = Arrays.copyOf(types, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                texts = Arrays.copyOf(texts, capacity);
+                trigramCounts = Arrays.copyOf(trigramCounts, capacity);
+            }
+
+            int document = count++;
+            types[document] = type;
+            ids[document] = id;
+            texts[document] = text;
+            trigramCounts[document] = documentTrigrams.length;
+            documents.get(type).put(id, document);
+            live++;
+
+            for (long trigram : documentTrigrams) {
+                int postingId = postingIds.get(trigram);
+                if (postingId == 0) {
+                    postings.add(new Postings());
+                    postingId = postings.size();
+                    postingIds.addTo(trigram, postingId);
+                }
+
+                postings.get(postingId - 1).add(document);
+            }
+        }
+
+        private void remove(SuggestionType type, long id) {
+            Integer document = documents.get(type).remove(id);
+            if (document != null) {
+                texts[document] = null;
+                live--;
+            }
+        }
+
+        private State compact() {
+            State next = new State();
+            for (int document = 0; document < count; document++) {
+                if (texts[document] != null) {
+                    next.put(types[document], ids[document], texts[document]);
+                }
+            }
+
+            return next;
+        }
+
+        private List<FuzzyMatch> search(long[] queryTrigrams, SuggestionType type, int limit, double threshold) {
+            Postings[] lists = new Postings[queryTrigrams.length];
+            int present = 0;
+            for (long trigram : queryTrigrams) {
+                int postingId = postingIds.get(trigram);
+                if (postingId != 0) {
+                    lists[present++] = postings.get(postingId - 1);
+                }
+            }
+
+            int minShared = (int) Math.ceil(threshold * queryTrigrams.length);
+            if (present < minShared) {
+                return List.of();
+            }
+
+            int listCount = present;
+            Postings[] ordered = Arrays.copyOf(lists, listCount);
+            Arrays.sort(ordered, Comparator.comparingInt(list -> list.size));
+
+            Scratch scratch = SCRATCH.get();
+            scratch.ensureCapacity(count);
+            int[] shared = scratch.shared;
+            int candidateLists = listCount - minShared + 1;
+            for (int i = 0; i < candidateLists; i++) {
+                Postings list = ordered[i];
+                for (int j = 0; j < list.size; j++) {
+                    int document = list.documents[j];
+                    if (shared[document]++ == 0) {
+                        scratch.touch(document);
+                    }
+                }
+            }
+
+            int[] live = scratch.live(scratch.touchedCount);
+            int liveCount = scratch.touchedCount;
+            System.arraycopy(scratch.touched, 0, live, 0, liveCount);
+
+            for (int i = candidateLists; i < listCount && liveCount > 0; i++) {
+                Postings list = ordered[i];
+                if ((long) liveCount * BINARY_SEARCH_COST < list.size) {
+                    for (int j = 0; j < liveCount; j++) {
+                        if (list.contains(live[j])) {
+                            shared[live[j]]++;
+                        }
+                    }
+                } else {
+                    for (int j = 0; j < list.size; j++) {
+                        int document = list.documents[j];
+                        if (shared[document] > 0) {
+                            shared[document]++;
+                        }
+                    }
+                }
+
+                int remaining = listCount - i - 1;
+                int kept = 0;
+                for (int j = 0; j < liveCount; j++) {
+                    if (shared[live[j]] + remaining >= minShared) {
+                        live[kept++] = live[j];
+                    }
+                }
+
+                liveCount = kept;
+            }
+
+            TopDocuments top = new TopDocuments(limit);
+            for (int i = 0; i < liveCount; i++) {
+                int document = live[i];
+                int total = shared[document];
+                if (texts[document] == null || (type != null && types[document] != type)) {
+                    continue;
+                }
+
+                double coverage = (double) total / queryTrigrams.length;
+                if (coverage >= threshold) {
+                    double jaccard = (double) total / (queryTrigrams.length + trigramCounts[document] - total);
+                    top.offer(document, (coverage + jaccard) / 2);
+                }
+            }
+
+            for (int i = 0; i < scratch.touchedCount; i++) {
+                shared[scratch.touched[i]] = 0;
+            }
+
+            scratch.touchedCount = 0;
+            List<FuzzyMatch> result = new ArrayList<>(top.size);
+            while (top.size > 0) {
+                int document = top.documents[0];
+                result.add(new FuzzyMatch(types[document], ids[document], texts[document], top.scores[0]));
+                top.poll();
+            }
+
+            Collections.reverse(result);
+            return result;
+        }
+
+    }
+
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private int size;
+
+        private void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+
+            documents[size++] = document;
+        }
+
+        private boolean contains(int document) {
+            return Arrays.binarySearch(documents, 0, size, document) >= 0;
+        }
+
+    }
+
+    private static final class TopDocuments {
+
+        private final int[] documents;
+        private final double[] scores;
+        private int size;
+
+        private TopDocuments(int limit) {
+            this.documents = new int[limit];
+            this.scores = new double[limit];
+        }
+
+        private void offer(int document, double score) {
+            if (size < documents.length) {
+                documents[size] = document;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(documents[0], scores[0], document, score)) {
+                documents[0] = document;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        private void poll() {
+            size--;
+            documents[0] = documents[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!worse(documents[index], scores[index], documents[parent], scores[parent])) {
+                    return;
+                }
+
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (worse(documents[child], scores[child], documents[worst], scores[worst])) {
+                        worst = child;
+                    }
+                }
+
+                if (worst == index) {
+                    return;
+                }
+
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int first, int second) {
+            int document = documents[first];
+            double score = scores[first];
+            documents[first] = documents[second];
+            scores[first] = scores[second];
+            documents[second] = document;
+            scores[second] = score;
+        }
+
+        private static boolean worse(int document, double score, int otherDocument, double otherScore) {
+            return score < otherScore || (score == otherScore && document > otherDocument);
+        }
+
+    }
+
+    private static final class Scratch {
+
+        private int[] shared = new int[0];
+        private int[] touched = new int[16];
+        private int[] live = new int[16];
+        private int touchedCount;
+
+        private int[] live(int capacity) {
+            if (live.length < capacity) {
+                live = new int[Math.max(capacity, live.length * 2)];
+            }
+
+            return live;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (shared.length < capacity) {
+                shared = new int[Math.max(capacity, shared.length * 2)];
+            }
+        }
+
+        private void touch(int document) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+
+            touched[touchedCount++] = document;
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.dao.ArchiveDao;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class ArchiveService {
+
+    private static final System.Logger LOGGER = System.getLogger(ArchiveService.class.getName());
+
+    private final EntityManagerFactory emf;
+    private final int batchSize;
+    private final Clock clock;
+
+    public ArchiveService(EntityManagerFactory emf, int batchSize) {
+        this(emf, batchSize, Clock.systemDefaultZone());
+    }
+
+    public ArchiveService(EntityManagerFactory emf, int batchSize, Clock clock) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+
+        this.emf = emf;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    public long archiveRetiredBooks() {
+        LocalDate today = LocalDate.now(clock);
+        return moveInBatches(dao -> dao.getArchivableBookIds(batchSize), (dao, ids) -> dao.archiveBooks(ids, today));
+    }
+
+    public long archiveInactiveBorrowers(Period inactivity) {
+        if (inactivity == null || inactivity.isNegative() || inactivity.isZero()) {
+            throw new IllegalArgumentException("Inactivity must be positive");
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        LocalDate cutoff = today.minus(inactivity);
+        return moveInBatches(dao -> dao.getArchivableBorrowerIds(cutoff, batchSize),
+            (dao, ids) -> dao.archiveBorrowers(ids, today));
+    }
+
+    public Book restoreBook(String isbn) {
+        if (isbn == null || isbn.isBlank()) {
+            throw new IllegalArgumentException("ISBN cannot be null or blank");
+        }
+
+        return inTransaction(dao -> dao.restoreBook(isbn));
+    }
+
+    public Borrower restoreBorrower(String username) {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("Username cannot be null or blank");
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        return inTransaction(dao -> dao.restoreBorrower(username, today));
+    }
+
+    public ScheduledFuture<?> schedule(ScheduledExecutorService scheduler, Duration period, Period inactivity) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Scheduler cannot be null");
+        }
+
+        if (period == null || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+
+        if (inactivity == null || inactivity.isNegative() || inactivity.isZero()) {
+            throw new IllegalArgumentException("Inactivity must be positive");
+        }
+
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archiveRetiredBooks();
+                archiveInactiveBorrowers(inactivity);
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Scheduled archiving failed", e);
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private long moveInBatches(Function<ArchiveDao, List<Long>> candidates,
+                               BiFunction<ArchiveDao, List<Long>, Integer> move) {
+
+        long moved = 0;
+        while (true) {
+            int[] batch = inTransaction(dao -> {
+                List<Long> ids = candidates.apply(dao);
+                return new int[] {ids.size(), move.apply(dao, ids)};
+            });
+
+            moved += batch[1];
+            if (batch[0] < batchSize || batch[1] == 0) {
+                return moved;
+            }
+        }
+    }
+
+    private <T> T inTransaction(Function<ArchiveDao, T> work) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            T result = work.apply(new ArchiveDao(em));
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+
+            em.close();
+        }
+    }
+
+}
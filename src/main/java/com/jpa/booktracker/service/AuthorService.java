@@ -1,5 +1,6 @@
 package com.jpa.booktracker.service;
 
+import com.jpa.booktracker.catalog.AuthorBookCount;
 import com.jpa.booktracker.dao.AuthorDao;
 import com.jpa.booktracker.entity.Author;
 
@@ -38,6 +39,18 @@ public class AuthorService {
         return authorDao.getAllAuthors();
     }
 
+    public int getBookCount(Author author) {
+        if (author == null) {
+            throw new IllegalArgumentException("Author cannot be null");
+        }
+
+        return authorDao.getBookCount(author.getId());
+    }
+
+    public List<AuthorBookCount> getBookCounts() {
+        return authorDao.getBookCounts();
+    }
+
     public Author getAuthorById(Long id) {
         return authorDao.getAuthorById(id);
     }
@@ -66,4 +79,12 @@ public class AuthorService {
         authorDao.deleteAuthor(author);
     }
 
+    public int deleteAuthorCascade(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Name cannot be null or blank");
+        }
+
+        return authorDao.deleteAuthorCascade(name);
+    }
+
 }
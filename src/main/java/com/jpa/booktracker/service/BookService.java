@@ -1,14 +1,24 @@
 package com.jpa.booktracker.service;
 
+import com.jpa.booktracker.catalog.BookBorrowerCount;
 import com.jpa.booktracker.dao.BookDao;
 import com.jpa.booktracker.entity.Author;
 import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
 import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.query.BookPage;
+import com.jpa.booktracker.query.BookQuery;
 
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Collection;
 import java.util.List;
+import java.util.OptionalLong;
 
 public class BookService {
 
+    private static final Period DEFAULT_LOAN_PERIOD = Period.ofWeeks(2);
+
     private final BookDao bookDao;
 
     public BookService(BookDao bookDao) {
@@ -20,6 +30,10 @@ public class BookService {
     }
 
     public Book addBook(String title, String isbn, Author author, Genre genre) {
+        return addBook(title, isbn, author, genre, 1);
+    }
+
+    public Book addBook(String title, String isbn, Author author, Genre genre, int copies) {
         if (title == null || title.isBlank()) {
             throw new IllegalArgumentException("Title cannot be null or blank");
         }
@@ -36,10 +50,16 @@ public class BookService {
             throw new IllegalArgumentException("Genre cannot be null");
         }
 
+        if (copies < 0) {
+            throw new IllegalArgumentException("Copies cannot be negative");
+        }
+
         Book book = new Book();
         book.setTitle(title);
         book.setIsbn(isbn);
         book.setGenre(genre);
+        book.setTotalCopies(copies);
+        book.setAvailableCopies(copies);
         author.addBook(book);
 
         bookDao.addBook(book);
@@ -70,6 +90,89 @@ public class BookService {
         return bookDao.getAllBooksByAuthor(authorName);
     }
 
+    public BookPage searchBooks(BookQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+
+        List<Book> books = bookDao.findBooks(query, query.getLimit() + 1);
+        BookQuery next = null;
+        if (books.size() > query.getLimit()) {
+            books = books.subList(0, query.getLimit());
+            next = query.nextPage(books.get(books.size() - 1));
+        }
+
+        OptionalLong totalCount = query.isTotalCountRequested()
+            ? OptionalLong.of(bookDao.countBooks(query))
+            : OptionalLong.empty();
+
+        return new BookPage(List.copyOf(books), totalCount, next);
+    }
+
+    public void borrowCopy(Book book, Borrower borrower) {
+        borrowCopy(book, borrower, LocalDate.now().plus(DEFAULT_LOAN_PERIOD));
+    }
+
+    public void borrowCopy(Book book, Borrower borrower, LocalDate dueDate) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        if (borrower == null) {
+            throw new IllegalArgumentException("Borrower cannot be null");
+        }
+
+        if (dueDate == null) {
+            throw new IllegalArgumentException("Due date cannot be null");
+        }
+
+        bookDao.borrowCopy(book, borrower, dueDate);
+    }
+
+    public void returnCopy(Book book, Borrower borrower) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        if (borrower == null) {
+            throw new IllegalArgumentException("Borrower cannot be null");
+        }
+
+        bookDao.returnCopy(book, borrower);
+    }
+
+    public int getAvailableCopies(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        return bookDao.getAvailableCopies(book.getId());
+    }
+
+    public int getBorrowerCount(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        return bookDao.getBorrowerCount(book.getId());
+    }
+
+    public List<BookBorrowerCount> getBorrowerCounts() {
+        return bookDao.getBorrowerCounts();
+    }
+
+    public void addCopies(Book book, int count) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        if (count == 0) {
+            throw new IllegalArgumentException("Count cannot be zero");
+        }
+
+        bookDao.addCopies(book, count);
+    }
+
     public void updateBook(Book book) {
         if (book == null) {
             throw new IllegalArgumentException("Book cannot be null");
@@ -86,4 +189,26 @@ public class BookService {
         bookDao.deleteBook(book);
     }
 
+    public void retireBook(Book book) {
+        if (book == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        bookDao.retireBook(book);
+    }
+
+    public int deleteBooksByIsbn(Collection<String> isbns) {
+        if (isbns == null) {
+            throw new IllegalArgumentException("ISBNs cannot be null");
+        }
+
+        for (String isbn : isbns) {
+            if (isbn == null || isbn.isBlank()) {
+                throw new IllegalArgumentException("ISBN cannot be null or blank");
+            }
+        }
+
+        return bookDao.deleteBooksByIsbn(isbns);
+    }
+
 }
@@ -18,7 +18,7 @@ public class BorrowerService {
         this.borrowerDao = borrowerDao;
     }
 
-    public Borrower addBorrower(String username, String firstName, String lastName, Book... borrowedBooks) {
+    public Borrower addBorrower(String username, String firstName, String lastName) {
         if (username == null || username.isBlank()) {
             throw new IllegalArgumentException("Username cannot be null or blank");
         }
@@ -35,14 +35,6 @@ public class BorrowerService {
         borrower.setUsername(username);
         borrower.setFirstName(firstName);
         borrower.setLastName(lastName);
-        for (Book book : borrowedBooks) {
-            if (book == null) {
-                throw new IllegalArgumentException("Book cannot be null");
-            }
-
-            borrower.borrowBook(book);
-        }
-
         borrowerDao.addBorrower(borrower);
         return borrower;
     }
@@ -87,4 +79,12 @@ public class BorrowerService {
         borrowerDao.deleteBorrower(borrower);
     }
 
+    public int returnAllBooks(String username) {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("Username cannot be null or blank");
+        }
+
+        return borrowerDao.returnAllBooks(username);
+    }
+
 }
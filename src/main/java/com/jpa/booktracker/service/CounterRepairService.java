@@ -0,0 +1,73 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.analytics.IdRange;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class CounterRepairService {
+
+    private final EntityManagerFactory emf;
+    private final int batchSize;
+
+    public CounterRepairService(EntityManagerFactory emf, int batchSize) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.emf = emf;
+        this.batchSize = batchSize;
+    }
+
+    public long repair() {
+        return repairBookCounts() + repairBorrowerCounts();
+    }
+
+    public long repairBookCounts() {
+        return repairInBatches(em -> new AuthorDao(em).getIdRange(),
+            (em, range) -> new AuthorDao(em).repairBookCounts(range));
+    }
+
+    public long repairBorrowerCounts() {
+        return repairInBatches(em -> new BookDao(em).getIdRange(),
+            (em, range) -> new BookDao(em).repairBorrowerCounts(range));
+    }
+
+    private long repairInBatches(Function<EntityManager, IdRange> ids,
+                                 BiFunction<EntityManager, IdRange, Integer> repair) {
+
+        IdRange range = inTransaction(ids);
+        long repaired = 0;
+        for (long first = range.first(); first <= range.last(); first += batchSize) {
+            IdRange batch = new IdRange(first, Math.min(first + batchSize - 1, range.last()));
+            repaired += inTransaction(em -> repair.apply(em, batch));
+        }
+
+        return repaired;
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            T result = work.apply(em);
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+
+            em.close();
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.jpa.booktracker.service;
+
+public record LeaderboardEntry<K>(K key, long count) {
+}
@@ -0,0 +1,274 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.catalog.LoanSummary;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.event.EntityChange;
+import com.jpa.booktracker.event.LoanAdded;
+import com.jpa.booktracker.event.LoanRemoved;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+public class LeaderboardService {
+
+    private static final System.Logger LOGGER = System.getLogger(LeaderboardService.class.getName());
+
+    private final EntityManagerFactory emf;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<LeaderboardWindow, Boards> boards = new EnumMap<>(LeaderboardWindow.class);
+
+    private final Object reconciling = new Object();
+
+    private YearMonth currentMonth;
+    private List<Delta> replay;
+
+    public LeaderboardService(EntityManagerFactory emf) {
+        this(emf, Clock.systemUTC());
+    }
+
+    public LeaderboardService(EntityManagerFactory emf, Clock clock) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+
+        this.emf = emf;
+        this.clock = clock;
+        this.currentMonth = YearMonth.now(clock);
+        for (LeaderboardWindow window : LeaderboardWindow.values()) {
+            boards.put(window, new Boards());
+        }
+    }
+
+    public void recordBorrow(long bookId, long borrowerId, long authorId, Genre genre) {
+        if (genre == null) {
+            throw new IllegalArgumentException("Genre cannot be null");
+        }
+
+        lock.writeLock().lock();
+        try {
+            rollMonthIfNeeded();
+            addActiveLoans(bookId, borrowerId, authorId, genre, 1);
+            boards.get(LeaderboardWindow.CURRENT_MONTH).add(bookId, authorId, genre, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordReturn(long bookId, long borrowerId, long authorId, Genre genre) {
+        if (genre == null) {
+            throw new IllegalArgumentException("Genre cannot be null");
+        }
+
+        lock.writeLock().lock();
+        try {
+            rollMonthIfNeeded();
+            addActiveLoans(bookId, borrowerId, authorId, genre, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onChanges(List<EntityChange> changes) {
+        for (EntityChange change : changes) {
+            if (change instanceof LoanAdded loan) {
+                recordBorrow(loan.bookId(), loan.borrowerId(), loan.authorId(), loan.genre());
+            } else if (change instanceof LoanRemoved loan) {
+                recordReturn(loan.bookId(), loan.borrowerId(), loan.authorId(), loan.genre());
+            }
+        }
+    }
+
+    public List<LeaderboardEntry<Long>> getTopBooks(LeaderboardWindow window, int limit) {
+        return top(window, limit, b -> b.books);
+    }
+
+    public List<LeaderboardEntry<Long>> getTopAuthors(LeaderboardWindow window, int limit) {
+        return top(window, limit, b -> b.authors);
+    }
+
+    public List<LeaderboardEntry<Genre>> getTopGenres(LeaderboardWindow window, int limit) {
+        return top(window, limit, b -> b.genres);
+    }
+
+    public void reconcile() {
+        synchronized (reconciling) {
+            replay(new ArrayList<>());
+            try {
+                List<LoanAdded> loans;
+                EntityManager em = emf.createEntityManager();
+                try {
+                    loans = new BookDao(em).getActiveLoans();
+                } finally {
+                    em.close();
+                }
+
+                Boards reconciled = new Boards();
+                Set<LoanSummary> loaded = new HashSet<>(loans.size() * 2);
+                for (LoanAdded loan : loans) {
+                    loaded.add(new LoanSummary(loan.bookId(), loan.borrowerId()));
+                    reconciled.add(loan.bookId(), loan.authorId(), loan.genre(), 1);
+                }
+
+                lock.writeLock().lock();
+                try {
+                    for (Delta delta : replay) {
+                        LoanSummary loan = new LoanSummary(delta.bookId(), delta.borrowerId());
+                        if (delta.count() > 0 ? loaded.add(loan) : loaded.remove(loan)) {
+                            reconciled.add(delta.bookId(), delta.authorId(), delta.genre(), delta.count());
+                        }
+                    }
+                    boards.put(LeaderboardWindow.ACTIVE_LOANS, reconciled);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                replay(null);
+            }
+        }
+    }
+
+    public ScheduledFuture<?> scheduleReconciliation(ScheduledExecutorService scheduler, Duration period) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Scheduler cannot be null");
+        }
+
+        if (period == null || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+
+        return scheduler.scheduleAtFixedRate(this::reconcileQuietly, period.toMillis(), period.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Leaderboard reconciliation failed", e);
+        }
+    }
+
+    private void replay(List<Delta> deltas) {
+        lock.writeLock().lock();
+        try {
+            replay = deltas;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addActiveLoans(long bookId, long borrowerId, long authorId, Genre genre, long delta) {
+        boards.get(LeaderboardWindow.ACTIVE_LOANS).add(bookId, authorId, genre, delta);
+        if (replay != null) {
+            replay.add(new Delta(bookId, borrowerId, authorId, genre, delta));
+        }
+    }
+
+    private <K extends Comparable<? super K>> List<LeaderboardEntry<K>> top(LeaderboardWindow window, int limit,
+                                              Function<Boards, Ranking<K>> ranking) {
+        if (window == null) {
+            throw new IllegalArgumentException("Window cannot be null");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        lock.readLock().lock();
+        try {
+            if (window == LeaderboardWindow.CURRENT_MONTH && !currentMonth.equals(YearMonth.now(clock))) {
+                return List.of();
+            }
+
+            return ranking.apply(boards.get(window)).top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rollMonthIfNeeded() {
+        YearMonth now = YearMonth.now(clock);
+        if (!now.equals(currentMonth)) {
+            currentMonth = now;
+            boards.put(LeaderboardWindow.CURRENT_MONTH, new Boards());
+        }
+    }
+
+    private record Delta(long bookId, long borrowerId, long authorId, Genre genre, long count) {
+    }
+
+    private static final class Boards {
+
+        private final Ranking<Long> books = new Ranking<>();
+        private final Ranking<Long> authors = new Ranking<>();
+        private final Ranking<Genre> genres = new Ranking<>();
+
+        private void add(long bookId, long authorId, Genre genre, long delta) {
+            books.add(bookId, delta);
+            authors.add(authorId, delta);
+            genres.add(genre, delta);
+        }
+    }
+
+    private static final class Ranking<K extends Comparable<? super K>> {
+
+        private final Map<K, LeaderboardEntry<K>> entries = new HashMap<>();
+        private final TreeSet<LeaderboardEntry<K>> ordered;
+
+        private Ranking() {
+            Comparator<LeaderboardEntry<K>> byCount = Comparator.comparingLong(LeaderboardEntry::count);
+            this.ordered = new TreeSet<>(byCount.reversed().thenComparing(LeaderboardEntry::key));
+        }
+
+        private void add(K key, long delta) {
+            LeaderboardEntry<K> previous = entries.remove(key);
+            long count = delta;
+            if (previous != null) {
+                ordered.remove(previous);
+                count += previous.count();
+            }
+
+            if (count > 0) {
+                LeaderboardEntry<K> next = new LeaderboardEntry<>(key, count);
+                entries.put(key, next);
+                ordered.add(next);
+            }
+        }
+
+        private List<LeaderboardEntry<K>> top(int limit) {
+            List<LeaderboardEntry<K>> result = new ArrayList<>(Math.min(limit, ordered.size()));
+            Iterator<LeaderboardEntry<K>> iterator = ordered.iterator();
+            while (iterator.hasNext() && result.size() < limit) {
+                result.add(iterator.next());
+            }
+
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.jpa.booktracker.service;
+
+public enum LeaderboardWindow {
+    ACTIVE_LOANS,
+    CURRENT_MONTH
+}
@@ -0,0 +1,99 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.dao.LoanDao;
+import com.jpa.booktracker.entity.Loan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class OverdueScanner {
+
+    private static final System.Logger LOGGER = System.getLogger(OverdueScanner.class.getName());
+
+    private final EntityManagerFactory emf;
+    private final Consumer<List<Loan>> handler;
+    private final int pageSize;
+    private final Clock clock;
+
+    public OverdueScanner(EntityManagerFactory emf, Consumer<List<Loan>> handler, int pageSize) {
+        this(emf, handler, pageSize, Clock.systemDefaultZone());
+    }
+
+    public OverdueScanner(EntityManagerFactory emf, Consumer<List<Loan>> handler, int pageSize, Clock clock) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler cannot be null");
+        }
+
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+
+        this.emf = emf;
+        this.handler = handler;
+        this.pageSize = pageSize;
+        this.clock = clock;
+    }
+
+    public long scan() {
+        LocalDate today = LocalDate.now(clock);
+        EntityManager em = emf.createEntityManager();
+        try {
+            LoanDao loanDao = new LoanDao(em);
+            long processed = 0;
+            Loan last = null;
+
+            while (true) {
+                List<Loan> page = loanDao.getOverdueLoans(today, last, pageSize);
+                if (page.isEmpty()) {
+                    return processed;
+                }
+
+                em.clear();
+                handler.accept(page);
+                processed += page.size();
+                last = page.get(page.size() - 1);
+
+                if (page.size() < pageSize) {
+                    return processed;
+                }
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    public ScheduledFuture<?> schedule(ScheduledExecutorService scheduler, Duration period) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Scheduler cannot be null");
+        }
+
+        if (period == null || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+
+        return scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                scan();
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Scheduled overdue scan failed", e);
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+}
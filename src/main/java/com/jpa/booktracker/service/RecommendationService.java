@@ -0,0 +1,222 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.catalog.BookSummary;
+import com.jpa.booktracker.catalog.LoanSummary;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChange;
+import com.jpa.booktracker.event.LoanAdded;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import com.jpa.booktracker.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class RecommendationService {
+
+    private final BookDao bookDao;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuilding = new Object();
+    private final Map<Long, LongIntHashMap> coBorrowed = new HashMap<>();
+    private final Map<Long, LongIntHashMap> historyByBorrower = new HashMap<>();
+
+    private Map<String, Long> idsByIsbn = new HashMap<>();
+    private Map<Long, String> isbnsById = new HashMap<>();
+    private List<BookUpdate> replay;
+
+    public RecommendationService(BookDao bookDao) {
+        if (bookDao == null) {
+            throw new IllegalArgumentException("BookDao cannot be null");
+        }
+
+        this.bookDao = bookDao;
+    }
+
+    public void rebuild() {
+        synchronized (rebuilding) {
+            replay(new ArrayList<>());
+            try {
+                List<BookSummary> books = bookDao.getAllBookSummaries();
+                List<LoanSummary> loans = bookDao.getAllLoanSummaries();
+
+                Map<String, Long> nextIdsByIsbn = new HashMap<>(books.size() * 2);
+                Map<Long, String> nextIsbnsById = new HashMap<>(books.size() * 2);
+                for (BookSummary book : books) {
+                    nextIdsByIsbn.put(book.isbn(), book.id());
+                    nextIsbnsById.put(book.id(), book.isbn());
+                }
+
+                lock.writeLock().lock();
+                try {
+                    idsByIsbn = nextIdsByIsbn;
+                    isbnsById = nextIsbnsById;
+                    for (BookUpdate update : replay) {
+                        if (update.isbn() == null) {
+                            unregister(update.bookId());
+                        } else {
+                            register(update.bookId(), update.isbn());
+                        }
+                    }
+
+                    for (LoanSummary loan : loans) {
+                        record(loan.bookId(), loan.borrowerId());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                replay(null);
+            }
+        }
+    }
+
+    public void registerBook(long bookId, String isbn) {
+        lock.writeLock().lock();
+        try {
+            register(bookId, isbn);
+            if (replay != null) {
+                replay.add(new BookUpdate(bookId, isbn));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBook(long bookId) {
+        lock.writeLock().lock();
+        try {
+            unregister(bookId);
+            coBorrowed.remove(bookId);
+            if (replay != null) {
+                replay.add(new BookUpdate(bookId, null));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void recordBorrow(long bookId, long borrowerId) {
+        lock.writeLock().lock();
+        try {
+            record(bookId, borrowerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onChanges(List<EntityChange> changes) {
+        for (EntityChange change : changes) {
+            if (change instanceof BookChanged book) {
+                if (book.type() == ChangeType.DELETED) {
+                    removeBook(book.id());
+                } else {
+                    registerBook(book.id(), book.summary().isbn());
+                }
+            } else if (change instanceof LoanAdded loan) {
+                recordBorrow(loan.bookId(), loan.borrowerId());
+            }
+        }
+    }
+
+    public List<String> getAlsoBorrowed(String isbn, int limit) {
+        if (isbn == null || isbn.isBlank()) {
+            throw new IllegalArgumentException("ISBN cannot be null or blank");
+        }
+
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        lock.readLock().lock();
+        try {
+            Long bookId = idsByIsbn.get(isbn);
+            if (bookId == null) {
+                throw new EntityNotFoundException("Book with isbn " + isbn + " not found");
+            }
+
+            LongIntHashMap row = coBorrowed.get(bookId);
+            if (row == null) {
+                return List.of();
+            }
+
+            PriorityQueue<long[]> top = new PriorityQueue<>(limit + 1, RecommendationService::compareByCount);
+            row.forEach((otherBookId, count) -> {
+                if (isbnsById.containsKey(otherBookId)) {
+                    top.add(new long[]{otherBookId, count});
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            });
+
+            List<String> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                result.add(isbnsById.get(top.poll()[0]));
+            }
+
+            Collections.reverse(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void register(long bookId, String isbn) {
+        String previous = isbnsById.put(bookId, isbn);
+        if (previous != null) {
+            idsByIsbn.remove(previous);
+        }
+
+        idsByIsbn.put(isbn, bookId);
+    }
+
+    private void unregister(long bookId) {
+        String isbn = isbnsById.remove(bookId);
+        if (isbn != null) {
+            idsByIsbn.remove(isbn);
+        }
+    }
+
+    private void record(long bookId, long borrowerId) {
+        LongIntHashMap history = historyByBorrower.computeIfAbsent(borrowerId, k -> new LongIntHashMap());
+        if (history.addTo(bookId, 1) > 1) {
+            return;
+        }
+
+        history.forEach((otherBookId, count) -> {
+            if (otherBookId != bookId) {
+                increment(coBorrowed, bookId, otherBookId);
+            }
+        });
+    }
+
+    private void replay(List<BookUpdate> updates) {
+        lock.writeLock().lock();
+        try {
+            replay = updates;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void increment(Map<Long, LongIntHashMap> matrix, long first, long second) {
+        matrix.computeIfAbsent(first, k -> new LongIntHashMap()).addTo(second, 1);
+        matrix.computeIfAbsent(second, k -> new LongIntHashMap()).addTo(first, 1);
+    }
+
+    private static int compareByCount(long[] first, long[] second) {
+        int byCount = Long.compare(first[1], second[1]);
+        return byCount != 0 ? byCount : Long.compare(second[0], first[0]);
+    }
+
+    private record BookUpdate(long bookId, String isbn) {
+    }
+
+}
@@ -0,0 +1,393 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.dao.ReservationDao;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Reservation;
+import com.jpa.booktracker.entity.ReservationId;
+import com.jpa.booktracker.entity.ReservationStatus;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.BorrowerChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChange;
+import com.jpa.booktracker.event.LoanAdded;
+import com.jpa.booktracker.event.LoanRemoved;
+import com.jpa.booktracker.event.ReservationHeld;
+import com.jpa.booktracker.exception.DuplicateEntryException;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+public class ReservationService implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(ReservationService.class.getName());
+    private static final Period HOLD_PERIOD = Period.ofDays(3);
+
+    private final EntityManagerFactory emf;
+    private final int batchSize;
+    private final Clock clock;
+    private final Map<Long, Waitlist> waitlists = new ConcurrentHashMap<>();
+    private final Queue<Write> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public ReservationService(EntityManagerFactory emf, int batchSize) {
+        this(emf, batchSize, Clock.systemDefaultZone());
+    }
+
+    public ReservationService(EntityManagerFactory emf, int batchSize, Clock clock) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+
+        this.emf = emf;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        this.writer = new Thread(this::writeLoop, "reservation-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public Reservation reserve(Book book, Borrower borrower) {
+        validate(book, borrower);
+
+        Waitlist waitlist = waitlists.computeIfAbsent(book.getId(), id -> new Waitlist());
+        long position = waitlist.sequence.incrementAndGet();
+        if (waitlist.members.putIfAbsent(borrower.getId(), position) != null) {
+            throw new DuplicateEntryException("Borrower " + borrower.getUsername() +
+                " already has a reservation for book " + book.getIsbn());
+        }
+
+        Reservation reservation = new Reservation(new ReservationId(book.getId(), borrower.getId()), position,
+            ReservationStatus.WAITING, LocalDate.now(clock), null);
+        waitlist.waiting.put(position, reservation);
+
+        Reservation row = new Reservation(reservation.getId(), position, ReservationStatus.WAITING,
+            reservation.getReservedOn(), null);
+        submit(book.getId(), borrower.getId(), dao -> dao.addReservation(row));
+        return reservation;
+    }
+
+    public void cancel(Book book, Borrower borrower) {
+        validate(book, borrower);
+
+        if (!release(book.getId(), borrower.getId())) {
+            throw new EntityNotFoundException("Reservation of book " + book.getIsbn() + " by borrower " +
+                borrower.getUsername() + " not found");
+        }
+    }
+
+    public List<Reservation> getWaitlist(Book book) {
+        if (book == null || book.getId() == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        Waitlist waitlist = waitlists.get(book.getId());
+        return waitlist == null ? List.of() : List.copyOf(waitlist.waiting.values());
+    }
+
+    public List<Reservation> getHolds(Borrower borrower) {
+        if (borrower == null || borrower.getId() == null) {
+            throw new IllegalArgumentException("Borrower cannot be null");
+        }
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            return new ReservationDao(em).getHeldReservations(borrower.getId());
+        } finally {
+            em.close();
+        }
+    }
+
+    public void onChanges(List<EntityChange> changes) {
+        Set<Long> held = new HashSet<>();
+        for (EntityChange change : changes) {
+            if (change instanceof ReservationHeld hold) {
+                held.add(hold.bookId());
+                markHeld(hold.bookId(), hold.borrowerId());
+            }
+        }
+
+        for (EntityChange change : changes) {
+            if (change instanceof LoanRemoved loan && !held.contains(loan.bookId())) {
+                assignHold(loan.bookId());
+            } else if (change instanceof LoanAdded loan) {
+                release(loan.bookId(), loan.borrowerId());
+            } else if (change instanceof BookChanged book && book.type() == ChangeType.DELETED) {
+                waitlists.remove(book.id());
+                submit(book.id(), null, dao -> dao.deleteReservationsByBookId(book.id()));
+            } else if (change instanceof BorrowerChanged borrower && borrower.type() == ChangeType.DELETED) {
+                waitlists.values().forEach(waitlist -> waitlist.remove(borrower.id()));
+                submit(null, borrower.id(), dao -> dao.deleteReservationsByBorrowerId(borrower.id()));
+            }
+        }
+    }
+
+    public void recover() {
+        List<Reservation> reservations;
+        EntityManager em = emf.createEntityManager();
+        try {
+            reservations = new ReservationDao(em).getAllReservations();
+        } finally {
+            em.close();
+        }
+
+        reservations.forEach(this::restore);
+    }
+
+    public int expireHolds() {
+        List<Reservation> expired;
+        EntityManager em = emf.createEntityManager();
+        try {
+            expired = new ReservationDao(em).getExpiredHolds(LocalDate.now(clock).minus(HOLD_PERIOD));
+        } finally {
+            em.close();
+        }
+
+        int released = 0;
+        for (Reservation hold : expired) {
+            if (release(hold.getId().getBookId(), hold.getId().getBorrowerId())) {
+                assignHold(hold.getId().getBookId());
+                released++;
+            }
+        }
+
+        return released;
+    }
+
+    public boolean awaitPersisted(Duration timeout) {
+        long target = submitted.get();
+        long failedBefore = failed.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (written.get() + failed.get() < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        return failed.get() == failedBefore;
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void assignHold(long bookId) {
+        Waitlist waitlist = waitlists.get(bookId);
+        if (waitlist == null) {
+            return;
+        }
+
+        Map.Entry<Long, Reservation> next = waitlist.waiting.pollFirstEntry();
+        if (next == null) {
+            return;
+        }
+
+        long borrowerId = next.getValue().getId().getBorrowerId();
+        LocalDate heldOn = LocalDate.now(clock);
+        submit(bookId, borrowerId, dao -> dao.holdReservation(bookId, borrowerId, heldOn));
+    }
+
+    private void markHeld(long bookId, long borrowerId) {
+        Waitlist waitlist = waitlists.get(bookId);
+        Long position = waitlist == null ? null : waitlist.members.get(borrowerId);
+        if (position != null) {
+            waitlist.waiting.remove(position);
+        }
+    }
+
+    private boolean release(long bookId, long borrowerId) {
+        Waitlist waitlist = waitlists.get(bookId);
+        if (waitlist == null || !waitlist.remove(borrowerId)) {
+            return false;
+        }
+
+        submit(bookId, borrowerId, dao -> dao.deleteReservation(bookId, borrowerId));
+        return true;
+    }
+
+    private void submit(Long bookId, Long borrowerId, Consumer<ReservationDao> action) {
+        pending.add(new Write(bookId, borrowerId, action));
+        submitted.incrementAndGet();
+        LockSupport.unpark(writer);
+    }
+
+    private void writeLoop() {
+        List<Write> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            Write write;
+            while (batch.size() < batchSize && (write = pending.poll()) != null) {
+                batch.add(write);
+            }
+
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(50));
+                continue;
+            }
+
+            if (inTransaction(batch) == null) {
+                written.addAndGet(batch.size());
+            } else {
+                batch.forEach(this::writeAlone);
+            }
+
+            batch.clear();
+        }
+    }
+
+    private void writeAlone(Write write) {
+        RuntimeException failure = inTransaction(List.of(write));
+        if (failure == null) {
+            written.incrementAndGet();
+            return;
+        }
+
+        LOGGER.log(System.Logger.Level.WARNING, "Reservation write failed for book " + write.bookId() +
+            " and borrower " + write.borrowerId() + ", resyncing its waitlist", failure);
+        resync(write);
+        failed.incrementAndGet();
+    }
+
+    private void resync(Write write) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            ReservationDao dao = new ReservationDao(em);
+            if (write.bookId() != null && write.borrowerId() != null) {
+                Waitlist waitlist = waitlists.get(write.bookId());
+                if (waitlist != null) {
+                    waitlist.remove(write.borrowerId());
+                }
+
+                Reservation row = dao.getReservation(write.bookId(), write.borrowerId());
+                if (row != null) {
+                    restore(row);
+                }
+            } else if (write.bookId() != null) {
+                Waitlist waitlist = waitlists.get(write.bookId());
+                if (waitlist != null) {
+                    List.copyOf(waitlist.members.keySet()).forEach(waitlist::remove);
+                }
+
+                dao.getReservationsByBookId(write.bookId()).forEach(this::restore);
+            } else {
+                waitlists.values().forEach(waitlist -> waitlist.remove(write.borrowerId()));
+                dao.getReservationsByBorrowerId(write.borrowerId()).forEach(this::restore);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Reservation waitlist resync failed", e);
+        } finally {
+            em.close();
+        }
+    }
+
+    private void restore(Reservation reservation) {
+        Waitlist waitlist = waitlists.computeIfAbsent(reservation.getId().getBookId(), id -> new Waitlist());
+        waitlist.sequence.accumulateAndGet(reservation.getPosition(), Math::max);
+        waitlist.remove(reservation.getId().getBorrowerId());
+        waitlist.members.put(reservation.getId().getBorrowerId(), reservation.getPosition());
+        if (reservation.getStatus() == ReservationStatus.WAITING) {
+            waitlist.waiting.put(reservation.getPosition(), reservation);
+        }
+    }
+
+    private RuntimeException inTransaction(List<Write> writes) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            em.getTransaction().begin();
+            ReservationDao dao = new ReservationDao(em);
+            writes.forEach(write -> write.action().accept(dao));
+            em.getTransaction().commit();
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+
+            em.close();
+        }
+    }
+
+    private static void validate(Book book, Borrower borrower) {
+        if (book == null || book.getId() == null) {
+            throw new IllegalArgumentException("Book cannot be null");
+        }
+
+        if (borrower == null || borrower.getId() == null) {
+            throw new IllegalArgumentException("Borrower cannot be null");
+        }
+    }
+
+    private record Write(Long bookId, Long borrowerId, Consumer<ReservationDao> action) {
+    }
+
+    private static final class Waitlist {
+
+        private final AtomicLong sequence = new AtomicLong();
+        private final Map<Long, Long> members = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<Long, Reservation> waiting = new ConcurrentSkipListMap<>();
+
+        private boolean remove(long borrowerId) {
+            Long position = members.remove(borrowerId);
+            if (position == null) {
+                return false;
+            }
+
+            waiting.remove(position);
+            return true;
+        }
+
+    }
+
+}
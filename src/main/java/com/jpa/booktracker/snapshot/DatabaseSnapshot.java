@@ -0,0 +1,109 @@
+package com.jpa.booktracker.snapshot;
+
+import com.jpa.booktracker.bootstrap.PersistenceBootstrap;
+import com.jpa.booktracker.bootstrap.PersistenceUnits;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.Session;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class DatabaseSnapshot {
+
+    private static final String URL = "jakarta.persistence.jdbc.url";
+    private static final String USER = "jakarta.persistence.jdbc.user";
+    private static final String PASSWORD = "jakarta.persistence.jdbc.password";
+    private static final String SCHEMA_ACTION = "hibernate.hbm2ddl.auto";
+
+    private DatabaseSnapshot() {
+    }
+
+    public static void backup(EntityManagerFactory emf, Path target) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (target == null) {
+            throw new IllegalArgumentException("Target cannot be null");
+        }
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SCRIPT TO " + literal(target) + " COMPRESSION DEFLATE");
+                }
+            });
+        } finally {
+            em.close();
+        }
+    }
+
+    public static void backup(String persistenceUnit, String jdbcUrl, Path target) {
+        if (persistenceUnit == null || persistenceUnit.isBlank()) {
+            throw new IllegalArgumentException("Persistence unit cannot be null or blank");
+        }
+
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            throw new IllegalArgumentException("JDBC URL cannot be null or blank");
+        }
+
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory(persistenceUnit,
+            Map.of(URL, jdbcUrl, SCHEMA_ACTION, "validate"));
+        try {
+            backup(emf, target);
+        } finally {
+            emf.close();
+        }
+    }
+
+    public static EntityManagerFactory open(String persistenceUnit, Path snapshot) {
+        return open(persistenceUnit, snapshot, Map.of());
+    }
+
+    public static EntityManagerFactory open(String persistenceUnit, Path snapshot, Map<String, ?> overrides) {
+        if (persistenceUnit == null || persistenceUnit.isBlank()) {
+            throw new IllegalArgumentException("Persistence unit cannot be null or blank");
+        }
+
+        if (snapshot == null || !Files.isRegularFile(snapshot)) {
+            throw new IllegalArgumentException("Snapshot must be an existing file");
+        }
+
+        if (overrides == null) {
+            throw new IllegalArgumentException("Overrides cannot be null");
+        }
+
+        Map<String, Object> properties = new HashMap<>(PersistenceUnits.properties(persistenceUnit));
+        properties.putAll(overrides);
+        properties.put(SCHEMA_ACTION, "validate");
+
+        PersistenceBootstrap bootstrap = PersistenceBootstrap.start(persistenceUnit, properties);
+        try (Connection connection = DriverManager.getConnection((String) properties.get(URL),
+            (String) properties.get(USER), (String) properties.getOrDefault(PASSWORD, ""))) {
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+                statement.execute("RUNSCRIPT FROM " + literal(snapshot) + " COMPRESSION DEFLATE");
+            }
+
+            return bootstrap.get();
+        } catch (SQLException e) {
+            bootstrap.close();
+            throw new IllegalStateException("Failed to restore snapshot " + snapshot + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String literal(Path path) {
+        return "'" + path.toAbsolutePath().toString().replace("'", "''") + "'";
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.jpa.booktracker.tenant;
+
+import java.util.function.Supplier;
+
+public final class TenantContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String getCurrentTenant() {
+        String tenant = CURRENT.get();
+        if (tenant == null) {
+            throw new IllegalStateException("No tenant bound to the current thread");
+        }
+
+        return tenant;
+    }
+
+    public static void setCurrentTenant(String tenant) {
+        if (tenant == null || tenant.isBlank()) {
+            throw new IllegalArgumentException("Tenant cannot be null or blank");
+        }
+
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callAs(String tenant, Supplier<T> action) {
+        String previous = CURRENT.get();
+        setCurrentTenant(tenant);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runAs(String tenant, Runnable action) {
+        callAs(tenant, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.jpa.booktracker.tenant;
+
+import java.util.Map;
+
+public record TenantResults<T>(Map<String, T> results, Map<String, Throwable> failures) {
+}
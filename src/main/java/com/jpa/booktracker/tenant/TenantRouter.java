@@ -0,0 +1,126 @@
+package com.jpa.booktracker.tenant;
+
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TenantRouter implements AutoCloseable {
+
+    private static final String JDBC_URL = "jakarta.persistence.jdbc.url";
+
+    private final String persistenceUnit;
+    private final Map<String, String> jdbcUrls;
+    private final Map<String, CompletableFuture<EntityManagerFactory>> factories = new ConcurrentHashMap<>();
+    private final ExecutorService scatterPool;
+
+    public TenantRouter(String persistenceUnit, Map<String, String> jdbcUrls) {
+        if (persistenceUnit == null || persistenceUnit.isBlank()) {
+            throw new IllegalArgumentException("Persistence unit cannot be null or blank");
+        }
+
+        if (jdbcUrls == null || jdbcUrls.isEmpty()) {
+            throw new IllegalArgumentException("Tenant JDBC URLs cannot be null or empty");
+        }
+
+        this.persistenceUnit = persistenceUnit;
+        this.jdbcUrls = Map.copyOf(jdbcUrls);
+        this.scatterPool = Executors.newFixedThreadPool(Math.min(jdbcUrls.size(),
+            Runtime.getRuntime().availableProcessors() * 2), runnable -> {
+                Thread thread = new Thread(runnable, "tenant-scatter");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public Set<String> getTenants() {
+        return jdbcUrls.keySet();
+    }
+
+    public EntityManagerFactory getEntityManagerFactory(String tenant) {
+        String url = jdbcUrls.get(tenant);
+        if (url == null) {
+            throw new EntityNotFoundException("Tenant " + tenant + " not found");
+        }
+
+        CompletableFuture<EntityManagerFactory> factory = factories.get(tenant);
+        if (factory == null) {
+            CompletableFuture<EntityManagerFactory> bootstrap = new CompletableFuture<>();
+            factory = factories.putIfAbsent(tenant, bootstrap);
+            if (factory == null) {
+                factory = bootstrap;
+                try {
+                    bootstrap.complete(Persistence.createEntityManagerFactory(persistenceUnit, Map.of(JDBC_URL, url)));
+                } catch (RuntimeException e) {
+                    factories.remove(tenant, bootstrap);
+                    bootstrap.completeExceptionally(e);
+                }
+            }
+        }
+
+        try {
+            return factory.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public TenantSession openSession() {
+        String tenant = TenantContext.getCurrentTenant();
+        return new TenantSession(tenant, getEntityManagerFactory(tenant).createEntityManager());
+    }
+
+    public TenantResults<Book> findBookByIsbnAcrossTenants(String isbn) {
+        if (isbn == null || isbn.isBlank()) {
+            throw new IllegalArgumentException("ISBN cannot be null or blank");
+        }
+
+        Map<String, CompletableFuture<Optional<Book>>> lookups = new LinkedHashMap<>();
+        for (String tenant : jdbcUrls.keySet()) {
+            lookups.put(tenant, CompletableFuture.supplyAsync(() -> findBookByIsbn(tenant, isbn), scatterPool));
+        }
+
+        Map<String, Book> results = new LinkedHashMap<>();
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        lookups.forEach((tenant, lookup) -> {
+            try {
+                lookup.join().ifPresent(book -> results.put(tenant, book));
+            } catch (CompletionException e) {
+                failures.put(tenant, e.getCause());
+            }
+        });
+
+        return new TenantResults<>(results, failures);
+    }
+
+    private Optional<Book> findBookByIsbn(String tenant, String isbn) {
+        EntityManager em = getEntityManagerFactory(tenant).createEntityManager();
+        try {
+            return Optional.of(new BookDao(em).getBookByIsbn(isbn));
+        } catch (EntityNotFoundException e) {
+            return Optional.empty();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        scatterPool.shutdownNow();
+        factories.values().forEach(factory -> factory.thenAccept(EntityManagerFactory::close));
+        factories.clear();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.jpa.booktracker.tenant;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.BorrowerService;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+
+@Getter
+public class TenantSession implements AutoCloseable {
+
+    private final String tenant;
+    private final EntityManager entityManager;
+    private final AuthorService authorService;
+    private final BookService bookService;
+    private final BorrowerService borrowerService;
+
+    TenantSession(String tenant, EntityManager entityManager) {
+        this.tenant = tenant;
+        this.entityManager = entityManager;
+        this.authorService = new AuthorService(new AuthorDao(entityManager));
+        this.bookService = new BookService(new BookDao(entityManager));
+        this.borrowerService = new BorrowerService(new BorrowerDao(entityManager));
+    }
+
+    @Override
+    public void close() {
+        if (entityManager.getTransaction().isActive()) {
+            entityManager.getTransaction().rollback();
+        }
+
+        entityManager.close();
+    }
+
+}
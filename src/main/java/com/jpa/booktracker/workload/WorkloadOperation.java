@@ -0,0 +1,28 @@
+package com.jpa.booktracker.workload;
+
+import java.util.Arrays;
+
+public enum WorkloadOperation {
+
+    ISBN_LOOKUP("isbn"),
+    BORROW_RETURN("borrow"),
+    ADD_BOOK("add");
+
+    private final String key;
+
+    WorkloadOperation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static WorkloadOperation fromKey(String key) {
+        return Arrays.stream(values())
+            .filter(operation -> operation.key.equals(key))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + key));
+    }
+
+}
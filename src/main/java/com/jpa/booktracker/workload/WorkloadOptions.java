@@ -0,0 +1,112 @@
+package com.jpa.booktracker.workload;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Getter
+public class WorkloadOptions {
+
+    private static final String DEFAULT_MIX = "isbn=80,borrow=15,add=5";
+
+    private final int threads;
+    private final int books;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<WorkloadOperation, Integer> mix;
+
+    public WorkloadOptions(int threads, int books, Duration warmup, Duration duration,
+                           Map<WorkloadOperation, Integer> mix) {
+
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads must be positive");
+        }
+
+        if (books <= 0) {
+            throw new IllegalArgumentException("Books must be positive");
+        }
+
+        if (warmup == null || warmup.isNegative()) {
+            throw new IllegalArgumentException("Warmup cannot be null or negative");
+        }
+
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+
+        if (mix == null || mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix must have a positive total weight");
+        }
+
+        if (mix.values().stream().anyMatch(weight -> weight < 0)) {
+            throw new IllegalArgumentException("Mix weights cannot be negative");
+        }
+
+        this.threads = threads;
+        this.books = books;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = Collections.unmodifiableMap(new EnumMap<>(mix));
+    }
+
+    public static WorkloadOptions parse(String... args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int books = 1000;
+        Duration warmup = Duration.ofSeconds(5);
+        Duration duration = Duration.ofSeconds(30);
+        Map<WorkloadOperation, Integer> mix = parseMix(DEFAULT_MIX);
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+            }
+
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "threads" -> threads = Integer.parseInt(value);
+                case "books" -> books = Integer.parseInt(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "duration" -> duration = parseDuration(value);
+                case "mix" -> mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+
+        return new WorkloadOptions(threads, books, warmup, duration, mix);
+    }
+
+    static Map<WorkloadOperation, Integer> parseMix(String value) {
+        Map<WorkloadOperation, Integer> mix = new EnumMap<>(WorkloadOperation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got " + entry);
+            }
+
+            mix.merge(WorkloadOperation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer::sum);
+        }
+
+        return mix;
+    }
+
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+}
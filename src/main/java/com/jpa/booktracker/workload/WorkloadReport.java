@@ -0,0 +1,62 @@
+package com.jpa.booktracker.workload;
+
+import com.jpa.booktracker.util.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class WorkloadReport {
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final Duration elapsed;
+    private final Map<WorkloadOperation, LatencyHistogram> histograms;
+    private final Map<WorkloadOperation, Long> errors;
+
+    public WorkloadReport(Duration elapsed, Map<WorkloadOperation, LatencyHistogram> histograms,
+                          Map<WorkloadOperation, Long> errors) {
+
+        this.elapsed = elapsed;
+        this.histograms = new EnumMap<>(histograms);
+        this.errors = new EnumMap<>(errors);
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public LatencyHistogram getHistogram(WorkloadOperation operation) {
+        return histograms.getOrDefault(operation, new LatencyHistogram());
+    }
+
+    public long getErrors(WorkloadOperation operation) {
+        return errors.getOrDefault(operation, 0L);
+    }
+
+    public double getThroughput(WorkloadOperation operation) {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? 0 : getHistogram(operation).getCount() / seconds;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-10s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+            "operation", "ops", "errors", "ops/s", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            LatencyHistogram histogram = getHistogram(operation);
+            out.printf("%-10s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                operation.getKey(),
+                histogram.getCount(),
+                getErrors(operation),
+                getThroughput(operation),
+                histogram.getValueAtPercentile(50) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MICRO,
+                histogram.getMax() / NANOS_PER_MICRO);
+        }
+    }
+
+}
@@ -0,0 +1,266 @@
+package com.jpa.booktracker.workload;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.BorrowerService;
+import com.jpa.booktracker.util.LatencyHistogram;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class WorkloadRunner {
+
+    private static final int BOOKS_PER_AUTHOR = 10;
+    private static final Genre[] GENRES = Genre.values();
+
+    private final EntityManagerFactory emf;
+    private final WorkloadOptions options;
+    private final WorkloadOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final List<String> isbns = new ArrayList<>();
+    private final List<Long> authorIds = new ArrayList<>();
+    private final List<Long> borrowerIds = new ArrayList<>();
+
+    private long measureStart;
+    private long measureEnd;
+
+    public WorkloadRunner(EntityManagerFactory emf, WorkloadOptions options) {
+        if (emf == null) {
+            throw new IllegalArgumentException("EntityManagerFactory cannot be null");
+        }
+
+        if (options == null) {
+            throw new IllegalArgumentException("Options cannot be null");
+        }
+
+        this.emf = emf;
+        this.options = options;
+
+        List<Map.Entry<WorkloadOperation, Integer>> weighted = options.getMix().entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .toList();
+
+        this.operations = new WorkloadOperation[weighted.size()];
+        this.cumulativeWeights = new int[weighted.size()];
+        int total = 0;
+        for (int i = 0; i < weighted.size(); i++) {
+            total += weighted.get(i).getValue();
+            operations[i] = weighted.get(i).getKey();
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) {
+        WorkloadOptions options = WorkloadOptions.parse(args);
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("hibernate.connection.pool_size", String.valueOf(options.getThreads() + 1)));
+        try {
+            WorkloadRunner runner = new WorkloadRunner(emf, options);
+            System.out.printf("Seeding %d books, running %d threads for %s after %s warmup%n",
+                options.getBooks(), options.getThreads(), options.getDuration(), options.getWarmup());
+
+            runner.run().print(System.out);
+        } finally {
+            emf.close();
+        }
+    }
+
+    public WorkloadReport run() {
+        seed();
+
+        int threads = options.getThreads();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Worker>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(i);
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                worker.run();
+                return worker;
+            }));
+        }
+
+        try {
+            ready.await();
+            measureStart = System.nanoTime() + options.getWarmup().toNanos();
+            measureEnd = measureStart + options.getDuration().toNanos();
+            start.countDown();
+
+            Map<WorkloadOperation, LatencyHistogram> histograms = new EnumMap<>(WorkloadOperation.class);
+            Map<WorkloadOperation, Long> errors = new EnumMap<>(WorkloadOperation.class);
+            for (Future<Worker> future : futures) {
+                Worker worker = future.get();
+                worker.histograms.forEach((operation, histogram) ->
+                    histograms.computeIfAbsent(operation, key -> new LatencyHistogram()).merge(histogram));
+                worker.errors.forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+            }
+
+            return new WorkloadReport(options.getDuration(), histograms, errors);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Workload was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Workload worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void seed() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            AuthorService authorService = new AuthorService(new AuthorDao(em));
+            BookService bookService = new BookService(new BookDao(em));
+            BorrowerService borrowerService = new BorrowerService(new BorrowerDao(em));
+            int copies = options.getThreads();
+
+            for (int first = 0; first < options.getBooks(); first += BOOKS_PER_AUTHOR) {
+                em.getTransaction().begin();
+                Author author = authorService.addAuthor("Workload Author " + first / BOOKS_PER_AUTHOR,
+                    "Synthetic author");
+                for (int i = first; i < Math.min(first + BOOKS_PER_AUTHOR, options.getBooks()); i++) {
+                    String isbn = String.format("W%012d", i);
+                    bookService.addBook("Workload Title " + i, isbn, author, GENRES[i % GENRES.length], copies);
+                    isbns.add(isbn);
+                }
+
+                em.getTransaction().commit();
+                authorIds.add(author.getId());
+                em.clear();
+            }
+
+            em.getTransaction().begin();
+            for (int i = 0; i < options.getThreads(); i++) {
+                Borrower borrower = borrowerService.addBorrower("workload-" + i, "Workload", "Borrower " + i);
+                borrowerIds.add(borrower.getId());
+            }
+
+            em.getTransaction().commit();
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+
+            em.close();
+        }
+    }
+
+    private WorkloadOperation pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+
+    private class Worker {
+
+        private final int index;
+        private final SplittableRandom random;
+        private final Map<WorkloadOperation, LatencyHistogram> histograms = new EnumMap<>(WorkloadOperation.class);
+        private final Map<WorkloadOperation, Long> errors = new EnumMap<>(WorkloadOperation.class);
+        private int added;
+
+        private Worker(int index) {
+            this.index = index;
+            this.random = new SplittableRandom(index);
+        }
+
+        private void run() {
+            EntityManager em = emf.createEntityManager();
+            try {
+                AuthorService authorService = new AuthorService(new AuthorDao(em));
+                BookService bookService = new BookService(new BookDao(em));
+                BorrowerService borrowerService = new BorrowerService(new BorrowerDao(em));
+
+                long now = System.nanoTime();
+                while (now < measureEnd) {
+                    WorkloadOperation operation = pick(random);
+                    boolean failed = false;
+                    try {
+                        execute(operation, em, authorService, bookService, borrowerService);
+                    } catch (RuntimeException e) {
+                        failed = true;
+                        if (em.getTransaction().isActive()) {
+                            em.getTransaction().rollback();
+                        }
+                    } finally {
+                        em.clear();
+                    }
+
+                    long end = System.nanoTime();
+                    if (now >= measureStart) {
+                        if (failed) {
+                            errors.merge(operation, 1L, Long::sum);
+                        } else {
+                            histograms.computeIfAbsent(operation, key -> new LatencyHistogram()).record(end - now);
+                        }
+                    }
+
+                    now = end;
+                }
+            } finally {
+                em.close();
+            }
+        }
+
+        private void execute(WorkloadOperation operation, EntityManager em, AuthorService authorService,
+                             BookService bookService, BorrowerService borrowerService) {
+
+            switch (operation) {
+                case ISBN_LOOKUP -> bookService.getBookByIsbn(isbns.get(random.nextInt(isbns.size())));
+                case BORROW_RETURN -> {
+                    String isbn = isbns.get(random.nextInt(isbns.size()));
+                    Long borrowerId = borrowerIds.get(index);
+
+                    em.getTransaction().begin();
+                    Book book = bookService.getBookByIsbn(isbn);
+                    Borrower borrower = borrowerService.getBorrowerById(borrowerId);
+                    bookService.borrowCopy(book, borrower);
+                    em.getTransaction().commit();
+
+                    em.getTransaction().begin();
+                    bookService.returnCopy(book, borrower);
+                    em.getTransaction().commit();
+                }
+                case ADD_BOOK -> {
+                    int sequence = added++;
+                    em.getTransaction().begin();
+                    Author author = authorService.getAuthorById(authorIds.get(random.nextInt(authorIds.size())));
+                    bookService.addBook("Workload Addition " + sequence, "W-" + index + "-" + sequence, author,
+                        GENRES[sequence % GENRES.length]);
+                    em.getTransaction().commit();
+                }
+            }
+        }
+
+    }
+
+}
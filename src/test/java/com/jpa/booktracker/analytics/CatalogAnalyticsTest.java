@@ -0,0 +1,144 @@
+package com.jpa.booktracker.analytics;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.BorrowerService;
+import com.jpa.booktracker.service.TestBase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogAnalyticsTest extends TestBase {
+
+    private static final Genre[] GENRES = {Genre.FANTASY, Genre.DYSTOPIA, Genre.MYSTERY};
+
+    private AuthorService authorService;
+    private BookService bookService;
+    private BorrowerService borrowerService;
+    private CatalogAnalytics analytics;
+
+    @BeforeAll
+    void setup() {
+        authorService = new AuthorService(new AuthorDao(em));
+        bookService = new BookService(new BookDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+        analytics = new CatalogAnalytics(emf, 2, 4);
+    }
+
+    @AfterAll
+    void teardown() {
+        analytics.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        em.getTransaction().begin();
+
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            authors.add(authorService.addAuthor("Author " + i, "Prolific author"));
+        }
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 17; i++) {
+            books.add(bookService.addBook("Title " + i, String.format("978%010d", i), authors.get(i % 3 == 0 ? 0 :
+                i % 2 + 1), GENRES[i % GENRES.length], 5));
+        }
+
+        List<Borrower> borrowers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            borrowers.add(borrowerService.addBorrower("reader" + i, "Reader", "No" + i));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j <= i; j++) {
+                bookService.borrowCopy(books.get(j), borrowers.get(i));
+            }
+        }
+
+        bookService.borrowCopy(books.get(10), borrowers.get(0));
+        em.getTransaction().commit();
+        em.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testBooksPerGenrePerAuthorMatchesSequentialScan() {
+        Map<Long, Map<Genre, Long>> expected = new HashMap<>();
+        for (Book book : bookService.getAllBooks()) {
+            expected.computeIfAbsent(book.getAuthor().getId(), id -> new EnumMap<>(Genre.class))
+                .merge(book.getGenre(), 1L, Long::sum);
+        }
+
+        assertEquals(expected, analytics.getBooksPerGenrePerAuthor(),
+            "Expected the partitioned scan to match a sequential scan");
+    }
+
+    @Test
+    void testLoansPerBorrowerHistogram() {
+        assertEquals(Map.of(0L, 1L, 2L, 2L, 3L, 1L, 4L, 1L, 5L, 1L), analytics.getLoansPerBorrowerHistogram(),
+            "Expected borrowers to be bucketed by their number of loans");
+    }
+
+    @Test
+    void testRangeSizeDoesNotChangeResults() {
+        try (CatalogAnalytics single = new CatalogAnalytics(emf, 1_000, 1)) {
+            assertEquals(single.getBooksPerGenrePerAuthor(), analytics.getBooksPerGenrePerAuthor(),
+                "Expected one range and many ranges to agree");
+            assertEquals(single.getLoansPerBorrowerHistogram(), analytics.getLoansPerBorrowerHistogram(),
+                "Expected one range and many ranges to agree on the histogram");
+        }
+    }
+
+    @Test
+    void testEmptyCatalogYieldsEmptyReports() {
+        cleanup();
+
+        assertTrue(analytics.getBooksPerGenrePerAuthor().isEmpty(), "Expected no authors without books");
+        assertTrue(analytics.getLoansPerBorrowerHistogram().isEmpty(), "Expected no buckets without borrowers");
+    }
+
+    @Test
+    void testAnalyticsThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CatalogAnalytics(null, 1),
+            "Expected exception to be thrown when creating analytics with null factory");
+
+        assertThrows(IllegalArgumentException.class, () -> new CatalogAnalytics(emf, 0),
+            "Expected exception to be thrown when creating analytics with non-positive range size");
+
+        assertThrows(IllegalArgumentException.class, () -> new CatalogAnalytics(emf, 1, 0),
+            "Expected exception to be thrown when creating analytics with non-positive parallelism");
+    }
+
+}
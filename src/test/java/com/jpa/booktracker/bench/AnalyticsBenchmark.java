@@ -0,0 +1,65 @@
+package com.jpa.booktracker.bench;
+
+import com.jpa.booktracker.analytics.CatalogAnalytics;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.LargeCatalogFixture;
+import com.jpa.booktracker.snapshot.DatabaseSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class AnalyticsBenchmark {
+
+    private static final int RANGE_SIZE = 5_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        EntityManagerFactory emf = DatabaseSnapshot.open("booktracker", LargeCatalogFixture.snapshot());
+        try {
+            report("getAllBooks, single thread", () -> sequential(emf));
+            for (int parallelism : new int[] {1, 2, 4, 8}) {
+                try (CatalogAnalytics analytics = new CatalogAnalytics(emf, RANGE_SIZE, parallelism)) {
+                    report("CatalogAnalytics, " + parallelism + " threads", analytics::getBooksPerGenrePerAuthor);
+                }
+            }
+        } finally {
+            emf.close();
+        }
+    }
+
+    private static Map<Long, Map<Genre, Long>> sequential(EntityManagerFactory emf) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            Map<Long, Map<Genre, Long>> result = new HashMap<>();
+            for (Book book : new BookService(new BookDao(em)).getAllBooks()) {
+                result.computeIfAbsent(book.getAuthor().getId(), id -> new EnumMap<>(Genre.class))
+                    .merge(book.getGenre(), 1L, Long::sum);
+            }
+
+            return result;
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void report(String name, Supplier<Map<Long, Map<Genre, Long>>> report) {
+        report.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            report.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        System.out.printf("%-32s %6d ms (best of %d, %d cores)%n", name, best / 1_000_000, ROUNDS,
+            Runtime.getRuntime().availableProcessors());
+    }
+
+}
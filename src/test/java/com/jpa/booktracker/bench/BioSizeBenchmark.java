@@ -0,0 +1,122 @@
+package com.jpa.booktracker.bench;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.service.AuthorService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class BioSizeBenchmark {
+
+    private static final int AUTHORS = 2_000;
+    private static final int BIO_LENGTH = 4_096;
+    private static final int BATCH_SIZE = 500;
+    private static final String[] WORDS = {
+        "author", "novel", "published", "early", "career", "wrote", "essays", "poetry", "critics", "award",
+        "university", "studied", "literature", "history", "war", "journalist", "editor", "translated", "series",
+        "children", "fantasy", "dystopian", "political", "satire", "memoir", "acclaimed", "influential", "London",
+        "Oxford", "born", "died", "married", "moved", "returned", "lectured", "letters", "manuscript", "unfinished",
+        "posthumously", "bestselling", "debut", "trilogy", "adapted", "film", "stage", "radio", "language", "myth"
+    };
+
+    public static void main(String[] args) {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:bio_size_benchmark"));
+        try {
+            long raw = seed(emf);
+            long stored = storedBioBytes(emf);
+            System.out.printf("%-34s %8d bytes per author%n", "Bio on disk, plain VARCHAR", raw / AUTHORS);
+            System.out.printf("%-34s %8d bytes per author%n", "Bio on disk, Deflate LOB", stored / AUTHORS);
+
+            EntityManager em = emf.createEntityManager();
+            try {
+                long empty = usedHeap();
+                List<Author> authors = new AuthorService(new AuthorDao(em)).getAllAuthors();
+                long lazy = usedHeap();
+                authors.forEach(Author::getBio);
+                long loaded = usedHeap();
+
+                System.out.printf("%-34s %8d bytes per author%n", "Heap, authors with bios loaded",
+                    (loaded - empty) / authors.size());
+                System.out.printf("%-34s %8d bytes per author%n", "Heap, authors with lazy bios",
+                    (lazy - empty) / authors.size());
+            } finally {
+                em.close();
+            }
+        } finally {
+            emf.close();
+        }
+    }
+
+    private static long seed(EntityManagerFactory emf) {
+        Random random = new Random(42);
+        long raw = 0;
+        EntityManager em = emf.createEntityManager();
+        try {
+            AuthorService authorService = new AuthorService(new AuthorDao(em));
+            for (int i = 0; i < AUTHORS; i++) {
+                if (i % BATCH_SIZE == 0) {
+                    em.getTransaction().begin();
+                }
+
+                String bio = bio(random);
+                raw += bio.getBytes(StandardCharsets.UTF_8).length;
+                authorService.addAuthor("Author " + i, bio);
+
+                if (i % BATCH_SIZE == BATCH_SIZE - 1 || i == AUTHORS - 1) {
+                    em.getTransaction().commit();
+                    em.clear();
+                }
+            }
+
+            return raw;
+        } finally {
+            em.close();
+        }
+    }
+
+    private static long storedBioBytes(EntityManagerFactory emf) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return ((Number) em.createNativeQuery("SELECT SUM(OCTET_LENGTH(text)) FROM author_bios")
+                .getSingleResult()).longValue();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static String bio(Random random) {
+        StringBuilder bio = new StringBuilder(BIO_LENGTH + 16);
+        while (bio.length() < BIO_LENGTH) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (bio.isEmpty() || bio.charAt(bio.length() - 1) == '.') {
+                bio.append(bio.isEmpty() ? "" : " ").append(Character.toUpperCase(word.charAt(0)))
+                    .append(word, 1, word.length());
+            } else {
+                bio.append(' ').append(word);
+            }
+
+            if (random.nextInt(12) == 0) {
+                bio.append(" in ").append(1850 + random.nextInt(150)).append('.');
+            }
+        }
+
+        return bio.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.jpa.booktracker.bench;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class NamedQueryBenchmark {
+
+    private static final String ISBN = "9780547928227";
+    private static final String INLINE_JPQL = "SELECT b FROM Book b WHERE b.isbn = :isbn";
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args) {
+        String planCacheSize = args.length > 0 ? args[0] : "2048";
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("hibernate.query.plan_cache_max_size", planCacheSize));
+        EntityManager em = emf.createEntityManager();
+
+        try {
+            em.getTransaction().begin();
+            Author tolkien = new AuthorService(new AuthorDao(em)).addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+            new BookService(new BookDao(em)).addBook("The Hobbit", ISBN, tolkien, Genre.FANTASY);
+            em.getTransaction().commit();
+            em.clear();
+
+            System.out.printf("Plan cache size %s, %d iterations%n", planCacheSize, ITERATIONS);
+            report("create inline", em, e -> e.createQuery(INLINE_JPQL, Book.class).setParameter("isbn", ISBN));
+            report("create named", em, e -> e.createNamedQuery("Book.findByIsbn", Book.class)
+                .setParameter("isbn", ISBN));
+            report("execute inline", em, e -> e.createQuery(INLINE_JPQL, Book.class)
+                .setParameter("isbn", ISBN).getSingleResult());
+            report("execute named", em, e -> e.createNamedQuery("Book.findByIsbn", Book.class)
+                .setParameter("isbn", ISBN).getSingleResult());
+        } finally {
+            em.close();
+            emf.close();
+        }
+    }
+
+    private static void report(String name, EntityManager em, Consumer<EntityManager> call) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.accept(em);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.accept(em);
+        }
+
+        double nanosPerCall = (double) (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-16s %10.0f ns/call%n", name, nanosPerCall);
+    }
+
+}
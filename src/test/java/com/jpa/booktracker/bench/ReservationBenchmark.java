@@ -0,0 +1,107 @@
+package com.jpa.booktracker.bench;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.ReservationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReservationBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int BATCH_SIZE = 512;
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length > 0
+            ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+            : new int[] {1_000, 10_000, 50_000};
+
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("booktracker");
+        try {
+            int round = 0;
+            for (int patrons : sizes) {
+                Book bestseller = seed(emf, round++);
+                ReservationService service = new ReservationService(emf, BATCH_SIZE);
+                try {
+                    long[] latencies = queue(service, bestseller, patrons);
+                    long start = System.nanoTime();
+                    service.awaitPersisted(Duration.ofMinutes(5));
+                    long drained = (System.nanoTime() - start) / 1_000_000;
+
+                    Arrays.sort(latencies);
+                    System.out.printf("%6d patrons on one book: p50 %6.1f us, p99 %6.1f us, p99.9 %7.1f us, " +
+                            "writes drained %d ms later%n", patrons, percentile(latencies, 0.50),
+                        percentile(latencies, 0.99), percentile(latencies, 0.999), drained);
+                } finally {
+                    service.close();
+                }
+            }
+        } finally {
+            emf.close();
+        }
+    }
+
+    private static long[] queue(ReservationService service, Book book, int patrons) throws InterruptedException {
+        long[] latencies = new long[patrons];
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                int i;
+                while ((i = next.getAndIncrement()) < patrons) {
+                    Borrower patron = new Borrower();
+                    patron.setId((long) i + 1);
+                    long begin = System.nanoTime();
+                    service.reserve(book, patron);
+                    latencies[i] = System.nanoTime() - begin;
+                }
+            });
+            threads[t].start();
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        return latencies;
+    }
+
+    private static Book seed(EntityManagerFactory emf, int round) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Author author = new AuthorService(new AuthorDao(em)).addAuthor("Author " + round, "Bestselling author");
+            Book book = new BookService(new BookDao(em))
+                .addBook("Bestseller " + round, String.format("978%010d", round), author, Genre.FANTASY, 1);
+            em.getTransaction().commit();
+            return book;
+        } finally {
+            em.close();
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1_000.0;
+    }
+
+}
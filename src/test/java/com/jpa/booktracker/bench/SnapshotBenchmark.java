@@ -0,0 +1,77 @@
+package com.jpa.booktracker.bench;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.snapshot.DatabaseSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+public class SnapshotBenchmark {
+
+    private static final int BOOKS_PER_AUTHOR = 100;
+    private static final int BATCH_SIZE = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int books = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Path snapshot = Files.createTempFile("booktracker", ".snapshot");
+
+        long start = System.nanoTime();
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("booktracker");
+        seed(emf, books);
+        long seeded = System.nanoTime();
+        DatabaseSnapshot.backup(emf, snapshot);
+        long written = System.nanoTime();
+        emf.close();
+
+        EntityManagerFactory restored = DatabaseSnapshot.open("booktracker", snapshot,
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:booktracker_restored"));
+        long opened = System.nanoTime();
+        EntityManager em = restored.createEntityManager();
+        long count = em.createQuery("SELECT COUNT(b) FROM Book b", Long.class).getSingleResult();
+        em.close();
+        restored.close();
+
+        System.out.printf("Seed %d books through the ORM: %8d ms%n", books, (seeded - start) / 1_000_000);
+        System.out.printf("Write snapshot (%d KiB):     %8d ms%n", Files.size(snapshot) / 1024,
+            (written - seeded) / 1_000_000);
+        System.out.printf("Open from snapshot (%d books): %6d ms%n", count, (opened - written) / 1_000_000);
+        Files.delete(snapshot);
+    }
+
+    private static void seed(EntityManagerFactory emf, int books) {
+        EntityManager em = emf.createEntityManager();
+        AuthorService authorService = new AuthorService(new AuthorDao(em));
+        BookService bookService = new BookService(new BookDao(em));
+        try {
+            em.getTransaction().begin();
+            Author author = null;
+            for (int i = 0; i < books; i++) {
+                if (i % BOOKS_PER_AUTHOR == 0) {
+                    author = authorService.addAuthor("Author " + i / BOOKS_PER_AUTHOR, "Fixture author");
+                }
+
+                bookService.addBook("Fixture title " + i, String.format("978%010d", i), author, Genre.FANTASY);
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    em.getTransaction().commit();
+                    em.clear();
+                    em.getTransaction().begin();
+                    author = em.merge(author);
+                }
+            }
+
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.jpa.booktracker.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class StartupBenchmark {
+
+    private static final Pattern FIRST_QUERY =
+        Pattern.compile("First query returned \\d+ books after (\\d+) ms, peak RSS (-?\\d+) KiB");
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args.length > 0 ? args[0] : "target/booktracker-1.0-SNAPSHOT.jar");
+        Path archive = Path.of(args.length > 1 ? args[1] : "target/booktracker.jsa");
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Path executable = args.length > 3 ? Path.of(args[3]) : null;
+
+        if (!Files.isRegularFile(jar) || !Files.isRegularFile(archive)) {
+            System.out.println("Build the jar and archive first: mvn -Pappcds package");
+            return;
+        }
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        report("JDK archive only", runs, java, "-jar", jar.toString(), "startup");
+        report("AppCDS archive", runs, java, "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=error",
+            "-jar", jar.toString(), "startup");
+        if (executable != null) {
+            report("Native image", runs, executable.toString(), "startup");
+        }
+    }
+
+    private static void report(String name, int runs, String... command) throws IOException, InterruptedException {
+        long[] firstQuery = new long[runs];
+        long[] resident = new long[runs];
+        long[] wall = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            long[] result = run(command);
+            wall[i] = (System.nanoTime() - start) / 1_000_000;
+            firstQuery[i] = result[0];
+            resident[i] = result[1];
+        }
+
+        System.out.printf("%-18s time to first query %5d ms, process %5d ms, peak RSS %4d MiB (median of %d)%n",
+            name, median(firstQuery), median(wall), median(resident) / 1024, runs);
+    }
+
+    private static long[] run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> output = new ArrayList<>();
+        long[] result = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+                Matcher matcher = FIRST_QUERY.matcher(line);
+                if (matcher.find()) {
+                    result = new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))};
+                }
+            }
+        }
+
+        if (process.waitFor() != 0 || result == null) {
+            throw new IllegalStateException("Startup run failed: " + String.join("\n", output));
+        }
+
+        return result;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+}
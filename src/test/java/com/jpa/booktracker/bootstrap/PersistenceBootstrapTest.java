@@ -0,0 +1,95 @@
+package com.jpa.booktracker.bootstrap;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.service.AuthorService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistenceBootstrapTest {
+
+    private static final String URL = "jakarta.persistence.jdbc.url";
+    private static final String SCHEMA_ACTION = "hibernate.hbm2ddl.auto";
+
+    @Test
+    void testSchemaIsCreatedOnFirstUse() {
+        try (PersistenceBootstrap bootstrap = PersistenceBootstrap.start("booktracker",
+            Map.of(URL, "jdbc:h2:mem:bootstrap_create"))) {
+
+            EntityManagerFactory emf = bootstrap.get();
+            assertTrue(bootstrap.isReady(), "Expected the factory to be ready after the first get");
+            assertSame(emf, bootstrap.get(), "Expected the same factory on every get");
+
+            EntityManager em = emf.createEntityManager();
+            try {
+                em.getTransaction().begin();
+                Author author = new AuthorService(new AuthorDao(em)).addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+                em.getTransaction().commit();
+
+                assertEquals("J.R.R. Tolkien", em.find(Author.class, author.getId()).getName(),
+                    "Expected the deferred schema to accept writes");
+            } finally {
+                em.close();
+            }
+        }
+    }
+
+    @Test
+    void testMissingSchemaFailsValidation() {
+        PersistenceBootstrap bootstrap = PersistenceBootstrap.start("booktracker",
+            Map.of(URL, "jdbc:h2:mem:bootstrap_validate", SCHEMA_ACTION, "validate"));
+
+        assertThrows(RuntimeException.class, bootstrap::get,
+            "Expected validation against an empty database to fail");
+        bootstrap.close();
+    }
+
+    @Test
+    void testSchemaIsDroppedOnCloseForCreateDrop() {
+        Map<String, String> settings = Map.of(URL, "jdbc:h2:mem:bootstrap_drop;DB_CLOSE_DELAY=-1");
+        PersistenceBootstrap bootstrap = PersistenceBootstrap.start("booktracker", settings);
+        bootstrap.get();
+        bootstrap.close();
+
+        PersistenceBootstrap validating = PersistenceBootstrap.start("booktracker",
+            Map.of(URL, settings.get(URL), SCHEMA_ACTION, "validate"));
+        assertThrows(RuntimeException.class, validating::get, "Expected create-drop to remove the schema on close");
+        validating.close();
+    }
+
+    @Test
+    void testPersistenceUnitPropertiesAreReadFromPersistenceXml() {
+        Map<String, Object> replica = PersistenceUnits.properties("booktracker-replica");
+
+        assertEquals("replica_reader", replica.get("jakarta.persistence.jdbc.user"),
+            "Expected the properties of the named unit to be read");
+        assertEquals("validate", replica.get(SCHEMA_ACTION), "Expected the unit's own schema action to be read");
+        assertEquals("create-drop", PersistenceUnits.properties("booktracker").get(SCHEMA_ACTION),
+            "Expected each unit to keep its own properties");
+    }
+
+    @Test
+    void testBootstrapThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> PersistenceBootstrap.start(" "),
+            "Expected exception to be thrown when starting a blank persistence unit");
+
+        assertThrows(IllegalArgumentException.class, () -> PersistenceBootstrap.start("missing"),
+            "Expected exception to be thrown when starting an unknown persistence unit");
+
+        assertThrows(IllegalArgumentException.class, () -> PersistenceBootstrap.start("booktracker", null),
+            "Expected exception to be thrown when starting with null overrides");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> PersistenceBootstrap.start("booktracker", Map.of(SCHEMA_ACTION, "update")),
+            "Expected exception to be thrown when the schema action cannot be deferred");
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.jpa.booktracker.catalog;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.TestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogReadModelTest extends TestBase {
+
+    private BookDao bookDao;
+    private BookService bookService;
+    private AuthorService authorService;
+
+    private CatalogReadModel readModel;
+    private Author orwell;
+    private Book b1984;
+
+    @BeforeAll
+    void setup() {
+        bookDao = new BookDao(em);
+        bookService = new BookService(bookDao);
+        authorService = new AuthorService(new AuthorDao(em));
+    }
+
+    @BeforeEach
+    void seed() {
+        em.clear();
+        em.getTransaction().begin();
+
+        orwell = authorService.addAuthor("George Orwell", "Wrote 1984 and Animal Farm");
+        b1984 = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA);
+        bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.FICTION);
+
+        em.getTransaction().commit();
+
+        readModel = new CatalogReadModel();
+        readModel.rebuild(bookDao);
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testRebuildIndexesAllBooks() {
+        CatalogSnapshot snapshot = readModel.snapshot();
+
+        assertEquals(2, snapshot.size(),
+            "Expected the snapshot to contain every persisted book");
+        assertEquals("1984", snapshot.getBookByIsbn("9780451524935").title(),
+            "Expected the snapshot to resolve the book by ISBN");
+        assertEquals(2, snapshot.getAllBooksByAuthor("George Orwell").size(),
+            "Expected the snapshot to group the books by author name");
+        assertEquals(1, snapshot.getAllBooksByGenre(Genre.DYSTOPIA).size(),
+            "Expected the snapshot to group the books by genre");
+    }
+
+    @Test
+    void testLookupsThrowForNoResult() {
+        CatalogSnapshot snapshot = readModel.snapshot();
+
+        assertThrows(EntityNotFoundException.class, () -> snapshot.getBookByIsbn("6739673620564"),
+            "Expected exception to be thrown when looking up an ISBN that is not in the snapshot");
+        assertThrows(EntityNotFoundException.class, () -> snapshot.getAllBooksByAuthor("Unknown Author"),
+            "Expected exception to be thrown when looking up an author that is not in the snapshot");
+        assertThrows(EntityNotFoundException.class, () -> snapshot.getAllBooksByGenre(Genre.HORROR),
+            "Expected exception to be thrown when looking up a genre that is not in the snapshot");
+    }
+
+    @Test
+    void testApplyPublishesNewSnapshotAndKeepsOldOneIntact() {
+        CatalogSnapshot before = readModel.snapshot();
+        BookSummary homage = new BookSummary(-1L, "9780156421171", "Homage to Catalonia",
+            orwell.getId(), "George Orwell", Genre.NON_FICTION);
+
+        CatalogSnapshot after = readModel.apply(List.of(homage), Set.of(b1984.getId()));
+
+        assertSame(after, readModel.snapshot(),
+            "Expected the read model to publish the updated snapshot");
+        assertEquals(before.getVersion() + 1, after.getVersion(),
+            "Expected the snapshot version to be incremented");
+        assertThrows(EntityNotFoundException.class, () -> after.getBookByIsbn("9780451524935"),
+            "Expected the removed book to be absent from the new snapshot");
+        assertEquals("Homage to Catalonia", after.getBookByIsbn("9780156421171").title(),
+            "Expected the added book to be present in the new snapshot");
+        assertEquals("1984", before.getBookByIsbn("9780451524935").title(),
+            "Expected the previous snapshot to stay unchanged");
+    }
+
+    @Test
+    void testApplyMovesAChangedBookBetweenBuckets() {
+        CatalogSnapshot before = readModel.snapshot();
+        BookSummary moved = new BookSummary(b1984.getId(), "9780451524935", "Nineteen Eighty-Four",
+            orwell.getId(), "Eric Blair", Genre.FICTION);
+
+        CatalogSnapshot after = readModel.apply(List.of(moved), Set.of());
+
+        assertEquals(2, after.size(), "Expected the changed book to replace the old entry");
+        assertEquals("Nineteen Eighty-Four", after.getBookByIsbn("9780451524935").title(),
+            "Expected the ISBN lookup to return the changed book");
+        assertEquals(List.of(moved), after.getAllBooksByAuthor("Eric Blair"),
+            "Expected the changed book under its new author name");
+        assertEquals(1, after.getAllBooksByAuthor("George Orwell").size(),
+            "Expected the changed book to leave its old author bucket");
+        assertThrows(EntityNotFoundException.class, () -> after.getAllBooksByGenre(Genre.DYSTOPIA),
+            "Expected the emptied genre bucket to be dropped");
+        assertEquals(2, after.getAllBooksByGenre(Genre.FICTION).size(),
+            "Expected the changed book under its new genre");
+        assertEquals(1, before.getAllBooksByGenre(Genre.DYSTOPIA).size(),
+            "Expected the previous snapshot to keep its buckets");
+    }
+
+    @Test
+    void testRebuildReplaysChangesDeliveredDuringTheRead() {
+        BookSummary homage = new BookSummary(-1L, "9780156421171", "Homage to Catalonia",
+            orwell.getId(), "George Orwell", Genre.NON_FICTION);
+        BookDao racing = new BookDao(em) {
+            @Override
+            public List<BookSummary> getAllBookSummaries() {
+                List<BookSummary> books = super.getAllBookSummaries();
+                readModel.onChanges(List.of(new BookChanged(ChangeType.INSERTED, homage.id(), homage),
+                    new BookChanged(ChangeType.DELETED, b1984.getId(), null)));
+                return books;
+            }
+        };
+
+        CatalogSnapshot rebuilt = readModel.rebuild(racing);
+
+        assertSame(rebuilt, readModel.snapshot(), "Expected the rebuilt snapshot to be published");
+        assertEquals("Homage to Catalonia", rebuilt.getBookByIsbn("9780156421171").title(),
+            "Expected a change delivered during the rebuild to be replayed");
+        assertThrows(EntityNotFoundException.class, () -> rebuilt.getBookByIsbn("9780451524935"),
+            "Expected a deletion delivered during the rebuild to be replayed");
+
+        CatalogSnapshot next = readModel.rebuild(bookDao);
+        assertEquals("1984", next.getBookByIsbn("9780451524935").title(),
+            "Expected a later rebuild not to replay changes from an earlier one");
+    }
+
+    @Test
+    void testApplyWithNoChangesKeepsSnapshot() {
+        CatalogSnapshot before = readModel.snapshot();
+
+        assertSame(before, readModel.apply(List.of(), Set.of()),
+            "Expected an empty change set not to publish a new snapshot");
+        assertTrue(before.getVersion() > 0,
+            "Expected the rebuilt snapshot to have a positive version");
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.jpa.booktracker.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentMapTest {
+
+    @Test
+    void testUpdatesMatchAHashMapAndLeaveOlderVersionsIntact() {
+        Random random = new Random(42);
+        Map<Integer, String> expected = new HashMap<>();
+        PersistentMap<Integer, String> map = PersistentMap.empty();
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, "v" + i);
+                map = map.plus(key, "v" + i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size(), "Expected the size to track every insert and removal");
+        for (int key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key), "Expected the value of key " + key + " to match");
+        }
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()),
+            "Expected the values to match");
+
+        PersistentMap<Integer, String> before = map;
+        PersistentMap<Integer, String> after = map.plus(-1, "new").minus(expected.keySet().iterator().next());
+        assertEquals(expected.size(), before.size(), "Expected the previous version to keep its size");
+        assertNull(before.get(-1), "Expected the previous version not to see later inserts");
+        assertEquals("new", after.get(-1), "Expected the new version to see the insert");
+    }
+
+    @Test
+    void testCollidingKeysAreKeptApart() {
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty()
+            .plus("Aa", 1)
+            .plus("BB", 2)
+            .plus("C#", 3);
+
+        assertEquals("Aa".hashCode(), "BB".hashCode(), "Expected the keys to collide");
+        assertEquals(2, map.get("BB"), "Expected colliding keys to keep their own values");
+        assertEquals(1, map.minus("BB").get("Aa"), "Expected removing one colliding key to keep the other");
+        assertNull(map.minus("BB").get("BB"), "Expected the removed key to be gone");
+        assertSame(map, map.minus("Unknown"), "Expected removing a missing key to return the same map");
+        assertTrue(map.minus("Aa").minus("BB").minus("C#").isEmpty(), "Expected removing every key to empty the map");
+    }
+
+}
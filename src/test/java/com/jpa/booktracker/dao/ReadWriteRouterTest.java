@@ -0,0 +1,254 @@
+package com.jpa.booktracker.dao;
+
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadWriteRouterTest {
+
+    private static EntityManagerFactory primaryEmf;
+    private static EntityManagerFactory replicationEmf;
+    private static EntityManagerFactory replicaEmf;
+
+    private EntityManager primary;
+    private EntityManager replication;
+    private EntityManager replica;
+
+    @BeforeAll
+    static void initEntityManagerFactories() {
+        primaryEmf = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:booktracker_primary"));
+        replicationEmf = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:booktracker_replica"));
+
+        EntityManager em = replicationEmf.createEntityManager();
+        em.getTransaction().begin();
+        em.createNativeQuery("CREATE USER replica_reader PASSWORD ''").executeUpdate();
+        em.createNativeQuery("GRANT SELECT ON SCHEMA PUBLIC TO replica_reader").executeUpdate();
+        em.getTransaction().commit();
+        em.close();
+
+        replicaEmf = Persistence.createEntityManagerFactory("booktracker-replica");
+    }
+
+    @AfterAll
+    static void closeEntityManagerFactories() {
+        replicaEmf.close();
+        replicationEmf.close();
+        primaryEmf.close();
+    }
+
+    @BeforeEach
+    void openEntityManagers() {
+        primary = primaryEmf.createEntityManager();
+        replication = replicationEmf.createEntityManager();
+        replica = replicaEmf.createEntityManager();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (replica.getTransaction().isActive()) {
+            replica.getTransaction().rollback();
+        }
+
+        replica.close();
+        for (EntityManager em : new EntityManager[]{primary, replication}) {
+            em.clear();
+            em.getTransaction().begin();
+            em.createQuery("DELETE FROM Author").executeUpdate();
+            em.createQuery("DELETE FROM AuthorBio").executeUpdate();
+            em.getTransaction().commit();
+            em.close();
+        }
+    }
+
+    @Test
+    void testReplicaOnlyReadsFromReplicaAndWritesToPrimary() {
+        AuthorDao authorDao = new AuthorDao(new ReadWriteRouter(primary, replica, StalenessPolicy.REPLICA_ONLY,
+            Duration.ZERO));
+
+        addAuthor(authorDao, "George Orwell");
+
+        assertThrows(EntityNotFoundException.class, () -> authorDao.getAuthorByName("George Orwell"),
+            "Expected the read to go to the replica that has not seen the write");
+
+        replicate("George Orwell");
+        assertEquals("George Orwell", authorDao.getAuthorByName("George Orwell").getName(),
+            "Expected the read to see the row once it has reached the replica");
+    }
+
+    @Test
+    void testReadYourWritesUsesPrimaryUntilReplicaCatchesUp() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-19T12:00:00Z"));
+        AuthorDao authorDao = new AuthorDao(new ReadWriteRouter(primary, replica, StalenessPolicy.READ_YOUR_WRITES,
+            Duration.ofSeconds(5), clock));
+
+        addAuthor(authorDao, "George Orwell");
+        assertEquals("George Orwell", authorDao.getAuthorByName("George Orwell").getName(),
+            "Expected the session to read its own write from the primary");
+
+        clock.advance(Duration.ofSeconds(6));
+        assertThrows(EntityNotFoundException.class, () -> authorDao.getAuthorByName("George Orwell"),
+            "Expected reads to go back to the replica once the lag window has passed");
+    }
+
+    @Test
+    void testOnlyCommittedWritesRouteReadsToPrimary() {
+        ReadWriteRouter router = new ReadWriteRouter(primary, replica, StalenessPolicy.READ_YOUR_WRITES,
+            Duration.ofSeconds(5));
+        AuthorDao authorDao = new AuthorDao(router);
+
+        assertSame(primary, router.forWrite(), "Expected writes to be routed to the primary");
+        assertSame(replica, router.forRead(),
+            "Expected creating a DAO and asking for the primary not to count as a write");
+
+        primary.getTransaction().begin();
+        Author author = new Author();
+        author.setName("George Orwell");
+        author.setBio("Bio");
+        authorDao.addAuthor(author);
+        assertSame(primary, router.forRead(), "Expected an open write transaction to pin reads to the primary");
+        primary.getTransaction().rollback();
+        primary.clear();
+
+        assertSame(replica, router.forRead(), "Expected a rolled back write not to count as a write");
+
+        addAuthor(authorDao, "Aldous Huxley");
+        assertSame(primary, router.forRead(), "Expected a committed write to route reads to the primary");
+    }
+
+    @Test
+    void testReadsAfterAWriteInTheSameTransactionSeeTheWrite() {
+        AuthorDao authorDao = new AuthorDao(new ReadWriteRouter(primary, replica, StalenessPolicy.READ_YOUR_WRITES,
+            Duration.ofSeconds(5)));
+
+        primary.getTransaction().begin();
+        Author author = new Author();
+        author.setName("George Orwell");
+        author.setBio("Bio");
+        authorDao.addAuthor(author);
+
+        assertSame(author, authorDao.getAuthorByName("George Orwell"),
+            "Expected the read to see the uncommitted write as the managed primary entity");
+        primary.getTransaction().commit();
+    }
+
+    @Test
+    void testReplicaEntityManagerIsReadOnly() {
+        ReadWriteRouter router = new ReadWriteRouter(primary, replica, StalenessPolicy.REPLICA_ONLY, Duration.ZERO);
+
+        assertSame(replica, router.forRead(),
+            "Expected reads to be routed to the replica");
+        assertTrue(replica.unwrap(Session.class).isDefaultReadOnly(),
+            "Expected entities loaded from the replica to be read-only");
+        assertEquals(FlushMode.MANUAL, replica.unwrap(Session.class).getHibernateFlushMode(),
+            "Expected the replica session never to flush");
+    }
+
+    @Test
+    void testReplicaConnectionRejectsWrites() {
+        Author author = new Author();
+        author.setName("George Orwell");
+        author.setBio("Bio");
+
+        replica.getTransaction().begin();
+        assertThrows(PersistenceException.class, () -> replica.persist(author),
+            "Expected the replica connection to reject writes");
+    }
+
+    @Test
+    void testSingleEntityManagerRoutesEverythingToPrimary() {
+        ReadWriteRouter router = new ReadWriteRouter(primary);
+
+        assertSame(primary, router.forRead(),
+            "Expected reads to use the only EntityManager");
+        assertSame(primary, router.forWrite(),
+            "Expected writes to use the only EntityManager");
+    }
+
+    @Test
+    void testConstructorThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ReadWriteRouter(primary, null, StalenessPolicy.REPLICA_ONLY, Duration.ZERO),
+            "Expected exception to be thrown when creating a router with null replica");
+
+        assertThrows(IllegalArgumentException.class, () ->
+                new ReadWriteRouter(primary, replica, null, Duration.ZERO),
+            "Expected exception to be thrown when creating a router with null policy");
+
+        assertThrows(IllegalArgumentException.class, () ->
+                new ReadWriteRouter(primary, replica, StalenessPolicy.READ_YOUR_WRITES, Duration.ofSeconds(-1)),
+            "Expected exception to be thrown when creating a router with negative lag");
+    }
+
+    private void addAuthor(AuthorDao authorDao, String name) {
+        Author author = new Author();
+        author.setName(name);
+        author.setBio("Bio");
+
+        primary.getTransaction().begin();
+        authorDao.addAuthor(author);
+        primary.getTransaction().commit();
+    }
+
+    private void replicate(String name) {
+        Author copy = new Author();
+        copy.setName(name);
+        copy.setBio("Bio");
+
+        replication.getTransaction().begin();
+        replication.persist(copy);
+        replication.getTransaction().commit();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.jpa.booktracker.event;
+
+import com.jpa.booktracker.catalog.CatalogReadModel;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.BorrowerService;
+import com.jpa.booktracker.service.TestBase;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityChangeListenerTest extends TestBase {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private EntityChangeBus bus;
+    private AuthorService authorService;
+    private BookService bookService;
+    private BorrowerService borrowerService;
+
+    private final List<EntityChange> received = new CopyOnWriteArrayList<>();
+    private final List<Thread> deliveryThreads = new CopyOnWriteArrayList<>();
+    private Runnable unsubscribe;
+
+    @BeforeAll
+    void setup() {
+        bus = new EntityChangeBus();
+        EntityChangeListener.register(emf, bus);
+        authorService = new AuthorService(new AuthorDao(em));
+        bookService = new BookService(new BookDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+    }
+
+    @AfterAll
+    void teardown() {
+        bus.close();
+    }
+
+    @BeforeEach
+    void subscribe() {
+        received.clear();
+        deliveryThreads.clear();
+        unsubscribe = bus.subscribe(changes -> {
+            deliveryThreads.add(Thread.currentThread());
+            received.addAll(changes);
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        unsubscribe.run();
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+        bus.awaitDelivery(TIMEOUT);
+    }
+
+    @Test
+    void testCommittedInsertsArePublishedOffTheCommittingThread() {
+        em.getTransaction().begin();
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984");
+        Book b1984 = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA);
+        assertTrue(received.isEmpty(),
+            "Expected no events to be published before the transaction commits");
+        em.getTransaction().commit();
+
+        assertTrue(bus.awaitDelivery(TIMEOUT), "Expected the events to be delivered");
+        assertTrue(received.contains(new AuthorChanged(ChangeType.INSERTED, orwell.getId(), "George Orwell")),
+            "Expected the author insert to be published");
+        assertTrue(received.contains(new BookChanged(ChangeType.INSERTED, b1984.getId(),
+                EntityChangeListener.summarize(b1984))),
+            "Expected the book insert to be published");
+        assertTrue(deliveryThreads.stream().noneMatch(thread -> thread == Thread.currentThread()),
+            "Expected the events to be delivered off the committing thread");
+    }
+
+    @Test
+    void testRolledBackChangesAreNotPublished() {
+        em.getTransaction().begin();
+        authorService.addAuthor("George Orwell", "Wrote 1984");
+        em.getTransaction().rollback();
+        em.clear();
+
+        assertTrue(bus.awaitDelivery(TIMEOUT), "Expected the bus to be idle");
+        assertTrue(received.isEmpty(),
+            "Expected no events to be published for a rolled back transaction");
+    }
+
+    @Test
+    void testLoanChangesArePublishedForBorrowsAndReturns() {
+        em.getTransaction().begin();
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984");
+        Book b1984 = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA, 2);
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        Borrower bob = borrowerService.addBorrower("bob", "Bob", "Smith");
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        bookService.borrowCopy(b1984, alice);
+        bookService.borrowCopy(b1984, bob);
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        bookService.returnCopy(b1984, alice);
+        em.getTransaction().commit();
+
+        assertTrue(bus.awaitDelivery(TIMEOUT), "Expected the events to be delivered");
+        assertTrue(received.contains(new LoanAdded(b1984.getId(), alice.getId(), orwell.getId(), Genre.DYSTOPIA)),
+            "Expected borrowing a copy to publish a loan");
+        assertTrue(received.contains(new LoanAdded(b1984.getId(), bob.getId(), orwell.getId(), Genre.DYSTOPIA)),
+            "Expected borrowing a copy to publish a loan");
+        assertTrue(received.contains(new LoanRemoved(b1984.getId(), alice.getId(), orwell.getId(), Genre.DYSTOPIA)),
+            "Expected returning a copy to publish a returned loan");
+    }
+
+    @Test
+    void testSubscribedReadModelFollowsCommits() {
+        CatalogReadModel readModel = new CatalogReadModel();
+        Runnable unsubscribeReadModel = bus.subscribe(readModel::onChanges);
+
+        em.getTransaction().begin();
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984");
+        bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA);
+        bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.DYSTOPIA);
+        em.getTransaction().commit();
+        bus.awaitDelivery(TIMEOUT);
+
+        assertEquals("1984", readModel.snapshot().getBookByIsbn("9780451524935").title(),
+            "Expected the read model to contain the committed book");
+
+        long version = readModel.snapshot().getVersion();
+        em.getTransaction().begin();
+        bookService.deleteBooksByIsbn(List.of("9780451524935"));
+        orwell = authorService.getAuthorByName("George Orwell");
+        orwell.setName("Eric Blair");
+        em.getTransaction().commit();
+        bus.awaitDelivery(TIMEOUT);
+        unsubscribeReadModel.run();
+
+        assertNotEquals(version, readModel.snapshot().getVersion(),
+            "Expected a new snapshot to be published");
+        assertThrows(EntityNotFoundException.class, () -> readModel.snapshot().getBookByIsbn("9780451524935"),
+            "Expected the bulk deleted book to be removed from the read model");
+        assertEquals("Eric Blair", readModel.snapshot().getBookByIsbn("9780451526342").authorName(),
+            "Expected the author rename to be applied to the author's books");
+    }
+
+    @Test
+    void testSubscriberFailureDoesNotStopDelivery() {
+        Runnable failing = bus.subscribe(changes -> {
+            throw new IllegalStateException("Subscriber failure");
+        });
+
+        em.getTransaction().begin();
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984");
+        em.getTransaction().commit();
+        failing.run();
+
+        assertTrue(bus.awaitDelivery(TIMEOUT), "Expected the events to be delivered");
+        assertTrue(received.contains(new AuthorChanged(ChangeType.INSERTED, orwell.getId(), "George Orwell")),
+            "Expected the other subscribers to receive the events");
+    }
+
+    @Test
+    void testClosingTheFactoryUnregistersTheListener() {
+        EntityManagerFactory factory = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:EntityChangeListenerTest_closed"));
+        SessionFactoryImplementor sessionFactory = factory.unwrap(SessionFactoryImplementor.class);
+        EntityChangeListener.register(factory, bus);
+        assertTrue(EntityChangeListener.isRegistered(sessionFactory), "Expected the listener to be registered");
+
+        factory.close();
+
+        assertFalse(EntityChangeListener.isRegistered(sessionFactory),
+            "Expected closing the factory to unregister the listener");
+    }
+
+}
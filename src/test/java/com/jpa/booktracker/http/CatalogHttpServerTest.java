@@ -0,0 +1,191 @@
+package com.jpa.booktracker.http;
+
+import com.jpa.booktracker.catalog.CatalogReadModel;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.BorrowerService;
+import com.jpa.booktracker.service.TestBase;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogHttpServerTest extends TestBase {
+
+    private static final HttpClient client = HttpClient.newHttpClient();
+
+    private CatalogReadModel readModel;
+    private CatalogHttpServer server;
+    private BookService bookService;
+
+    @BeforeAll
+    void setup() throws IOException {
+        readModel = new CatalogReadModel();
+        server = new CatalogHttpServer(new InetSocketAddress("localhost", 0), emf, readModel);
+        server.start();
+        bookService = new BookService(new BookDao(em));
+    }
+
+    @AfterAll
+    void teardown() {
+        server.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        AuthorService authorService = new AuthorService(new AuthorDao(em));
+        BorrowerService borrowerService = new BorrowerService(new BorrowerDao(em));
+
+        em.getTransaction().begin();
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984");
+        Author quoted = authorService.addAuthor("Anonymous", "Unknown");
+        bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA);
+        bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.DYSTOPIA);
+        bookService.addBook("The \"Quoted\" Book", "9780000000001", quoted, Genre.FANTASY);
+        borrowerService.addBorrower("alice", "Alice", "Johnson");
+        em.getTransaction().commit();
+
+        readModel.rebuild(new BookDao(em));
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testGetBookByIsbnReturnsJsonWithEtag() throws Exception {
+        HttpResponse<String> response = send(get("/books/9780451524935"));
+
+        assertEquals(200, response.statusCode(), "Expected the book to be found");
+        assertTrue(response.body().contains("\"title\":\"1984\""), "Expected the book title in the body");
+        assertTrue(response.body().contains("\"author\":\"George Orwell\""), "Expected the author in the body");
+        assertNotNull(response.headers().firstValue("ETag").orElse(null), "Expected an ETag header");
+    }
+
+    @Test
+    void testConditionalGetReturnsNotModifiedUntilSnapshotChanges() throws Exception {
+        String etag = send(get("/books")).headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> conditional = send(get("/books").header("If-None-Match", etag));
+        assertEquals(304, conditional.statusCode(), "Expected an unchanged snapshot to return 304");
+
+        Book b1984 = bookService.getBookByIsbn("9780451524935");
+        readModel.apply(List.of(), List.of(b1984.getId()));
+
+        HttpResponse<String> changed = send(get("/books").header("If-None-Match", etag));
+        assertEquals(200, changed.statusCode(), "Expected a new snapshot to return the full body");
+        assertFalse(changed.body().contains("9780451524935"), "Expected the removed book to be absent");
+    }
+
+    @Test
+    void testGetAuthorByNameReturnsJson() throws Exception {
+        HttpResponse<String> response = send(get("/authors/George%20Orwell"));
+
+        assertEquals(200, response.statusCode(), "Expected the author to be found");
+        assertTrue(response.body().contains("\"name\":\"George Orwell\",\"bio\":\"Wrote 1984\",\"bookCount\":2"),
+            "Expected the author name, bio and book count in the body");
+        assertEquals(404, send(get("/authors/Nobody")).statusCode(), "Expected an unknown author to return 404");
+    }
+
+    @Test
+    void testListingsAreEscapedAndMissingResourcesReturnNotFound() throws Exception {
+        HttpResponse<String> byAuthor = send(get("/authors/Anonymous/books"));
+        assertEquals(200, byAuthor.statusCode(), "Expected the author's books to be found");
+        assertTrue(byAuthor.body().contains("\"title\":\"The \\\"Quoted\\\" Book\""),
+            "Expected quotes in titles to be escaped");
+
+        HttpResponse<String> byGenre = send(get("/genres/dystopia/books"));
+        assertTrue(byGenre.body().contains("Animal Farm") && byGenre.body().contains("1984"),
+            "Expected both dystopias to be listed");
+
+        assertEquals(404, send(get("/books/0000000000000")).statusCode(),
+            "Expected an unknown isbn to return 404");
+        assertEquals(400, send(get("/genres/poetry/books")).statusCode(),
+            "Expected an unknown genre to return 400");
+        assertEquals(404, send(get("/borrowers/nobody")).statusCode(),
+            "Expected an unknown borrower to return 404");
+    }
+
+    @Test
+    void testUnexpectedFailuresReturnServerError() throws Exception {
+        EntityManagerFactory closed = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:CatalogHttpServerTest_closed"));
+        closed.close();
+
+        try (CatalogHttpServer failing = new CatalogHttpServer(new InetSocketAddress("localhost", 0), closed,
+            new CatalogReadModel())) {
+            failing.start();
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + failing.getAddress().getPort() + "/borrowers/alice")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(500, response.statusCode(), "Expected an unexpected failure to return a server error");
+            assertTrue(response.body().contains("Internal server error"), "Expected the error to be described");
+        }
+    }
+
+    @Test
+    void testBorrowAndReturnThroughTheApi() throws Exception {
+        HttpRequest.Builder borrow = request("/books/9780451524935/loans/alice")
+            .PUT(HttpRequest.BodyPublishers.noBody());
+
+        assertEquals(201, send(borrow).statusCode(), "Expected the copy to be borrowed");
+        assertEquals(409, send(borrow).statusCode(), "Expected the second borrow to find no copies left");
+
+        HttpResponse<String> borrower = send(get("/borrowers/alice"));
+        assertTrue(borrower.body().contains("\"borrowedBooks\":[\"9780451524935\"]"),
+            "Expected the borrowed book to be listed for the borrower");
+
+        assertEquals(204, send(request("/books/9780451524935/loans/alice").DELETE()).statusCode(),
+            "Expected the copy to be returned");
+        em.clear();
+        assertEquals(1, bookService.getAvailableCopies(bookService.getBookByIsbn("9780451524935")),
+            "Expected the returned copy to be available again");
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        InetSocketAddress address = server.getAddress();
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + address.getPort() + path));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+}
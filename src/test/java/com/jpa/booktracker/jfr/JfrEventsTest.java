@@ -0,0 +1,163 @@
+package com.jpa.booktracker.jfr;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.TestBase;
+import jakarta.persistence.TransactionRequiredException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrEventsTest extends TestBase {
+
+    private static final String QUERY = "com.jpa.booktracker.Query";
+    private static final String FLUSH = "com.jpa.booktracker.Flush";
+    private static final String TRANSACTION = "com.jpa.booktracker.Transaction";
+    private static final String CONNECTION = "com.jpa.booktracker.ConnectionAcquisition";
+
+    private AuthorService authorService;
+    private BookService bookService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    void setup() {
+        authorService = new AuthorService(new AuthorDao(em));
+        bookService = new BookService(new BookDao(em));
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testDaoCallsFlushesAndTransactionsAreRecorded() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            em.getTransaction().begin();
+            Author tolkien = authorService.addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+            bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY);
+            em.flush();
+            em.getTransaction().commit();
+            bookService.getBookByIsbn("9780547928227");
+        });
+
+        List<RecordedEvent> queries = named(events, QUERY);
+        assertFalse(queries.isEmpty(), "Expected DAO queries to be recorded");
+        assertTrue(queries.stream().allMatch(event -> event.getString("query") != null),
+            "Expected every query event to carry its query text");
+        assertTrue(queries.stream().anyMatch(event -> "single".equals(event.getString("operation"))
+                && event.getInt("parameterCount") == 1 && event.getInt("rows") == 1),
+            "Expected the isbn lookup to be recorded with its parameter and row count");
+
+        List<RecordedEvent> flushes = named(events, FLUSH);
+        assertFalse(flushes.isEmpty(), "Expected session flushes to be recorded");
+        assertTrue(flushes.stream().anyMatch(event -> event.getInt("managedEntities") >= 2),
+            "Expected the flush to report the managed author and book");
+
+        List<RecordedEvent> transactions = named(events, TRANSACTION);
+        assertEquals(1, transactions.size(), "Expected exactly one transaction to be recorded");
+        assertTrue(transactions.get(0).getBoolean("committed"), "Expected the transaction to be committed");
+        assertTrue(transactions.get(0).getInt("flushes") >= 2, "Expected explicit and commit flushes to be counted");
+    }
+
+    @Test
+    void testRolledBackTransactionsAndConnectionWaitsAreRecorded() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            var other = emf.createEntityManager();
+            try {
+                other.getTransaction().begin();
+                new AuthorService(new AuthorDao(other)).addAuthor("George Orwell", "Wrote 1984");
+                other.getTransaction().rollback();
+            } finally {
+                other.close();
+            }
+        });
+
+        List<RecordedEvent> transactions = named(events, TRANSACTION);
+        assertEquals(1, transactions.size(), "Expected exactly one transaction to be recorded");
+        assertFalse(transactions.get(0).getBoolean("committed"), "Expected the rollback to be recorded");
+        assertFalse(named(events, CONNECTION).isEmpty(), "Expected connection acquisition to be recorded");
+    }
+
+    @Test
+    void testFailedQueriesAreRecorded() throws IOException {
+        em.getTransaction().begin();
+        Author tolkien = authorService.addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+        Book hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY);
+        em.getTransaction().commit();
+
+        List<RecordedEvent> events = record(() -> assertThrows(TransactionRequiredException.class,
+            () -> bookService.retireBook(hobbit), "Expected the update to fail outside a transaction"));
+
+        assertTrue(named(events, QUERY).stream().anyMatch(event -> "update".equals(event.getString("operation"))
+                && event.getString("query").contains("retired = true") && event.getInt("rows") == 0),
+            "Expected the failed update to be recorded");
+    }
+
+    @Test
+    void testNothingIsRecordedWhenEventsAreDisabled() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            em.getTransaction().begin();
+            authorService.addAuthor("George Orwell", "Wrote 1984");
+            em.getTransaction().commit();
+        }, false);
+
+        assertTrue(events.isEmpty(), "Expected no events to be recorded while they are disabled");
+    }
+
+    private List<RecordedEvent> record(Runnable work) throws IOException {
+        return record(work, true);
+    }
+
+    private List<RecordedEvent> record(Runnable work, boolean enabled) throws IOException {
+        Path file = directory.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of(QUERY, FLUSH, TRANSACTION, CONNECTION)) {
+                if (enabled) {
+                    recording.enable(name).withoutThreshold();
+                } else {
+                    recording.disable(name);
+                }
+            }
+
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        long thread = Thread.currentThread().getId();
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getThread() != null && event.getThread().getJavaThreadId() == thread)
+            .toList();
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+
+}
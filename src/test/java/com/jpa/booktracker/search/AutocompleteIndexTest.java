@@ -0,0 +1,155 @@
+package com.jpa.booktracker.search;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.event.AuthorChanged;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.event.EntityChangeListener;
+import com.jpa.booktracker.event.LoanAdded;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.BorrowerService;
+import com.jpa.booktracker.service.TestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutocompleteIndexTest extends TestBase {
+
+    private AuthorService authorService;
+    private BookService bookService;
+    private BorrowerService borrowerService;
+
+    private AutocompleteIndex index;
+    private Author tolkien;
+    private Book hobbit;
+    private Book lotr;
+
+    @BeforeAll
+    void setup() {
+        authorService = new AuthorService(new AuthorDao(em));
+        bookService = new BookService(new BookDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+    }
+
+    @BeforeEach
+    void seed() {
+        em.getTransaction().begin();
+        tolkien = authorService.addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984");
+        hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY, 3);
+        lotr = bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY, 3);
+        bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.DYSTOPIA);
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        Borrower bob = borrowerService.addBorrower("bob", "Bob", "Smith");
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        bookService.borrowCopy(lotr, alice);
+        bookService.borrowCopy(lotr, bob);
+        bookService.borrowCopy(hobbit, alice);
+        em.getTransaction().commit();
+
+        index = new AutocompleteIndex(new BookDao(em), new AuthorDao(em), 5);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testPrefixMatchesAreRankedByPopularity() {
+        List<Suggestion> suggestions = index.suggest("the", 5);
+
+        assertEquals(List.of("The Lord of the Rings", "The Hobbit"), texts(suggestions),
+            "Expected the more borrowed title to be ranked first");
+        assertEquals(2, suggestions.get(0).popularity(),
+            "Expected the popularity to be the number of active loans");
+    }
+
+    @Test
+    void testMatchingIsCaseFoldedAndStartsAtAnyWord() {
+        assertEquals(List.of("The Hobbit"), texts(index.suggest("HOB", 5)),
+            "Expected the prefix to be matched case insensitively");
+        assertEquals(List.of("The Lord of the Rings"), texts(index.suggest("rings", 5)),
+            "Expected a prefix of a later word to match");
+        assertEquals(List.of("J.R.R. Tolkien"), texts(index.suggest("tolk", 5)),
+            "Expected author names to be suggested");
+        assertEquals(List.of("J.R.R. Tolkien"), texts(index.suggest("j r r", 5)),
+            "Expected punctuation to be folded into spaces");
+        assertTrue(index.suggest("xyz", 5).isEmpty(), "Expected an unknown prefix to have no suggestions");
+    }
+
+    @Test
+    void testLimitAndLongPrefixes() {
+        em.getTransaction().begin();
+        bookService.addBook("Nineteen Eighty-Four: Illustrated Edition", "9780451524935",
+            authorService.getAuthorById(tolkien.getId()), Genre.DYSTOPIA);
+        em.getTransaction().commit();
+        index.rebuild();
+
+        assertEquals(1, index.suggest("", 1).size(), "Expected the limit to be applied");
+        assertEquals(List.of("Nineteen Eighty-Four: Illustrated Edition"),
+            texts(index.suggest("nineteen eighty four illus", 5)),
+            "Expected prefixes longer than the trie depth to be matched");
+        assertTrue(index.suggest("the lord of the ringsmith", 5).isEmpty(),
+            "Expected a long prefix that does not match to have no suggestions");
+        assertThrows(IllegalArgumentException.class, () -> index.suggest("the", 0),
+            "Expected a non-positive limit to be rejected");
+    }
+
+    @Test
+    void testChangesUpdateTheIndex() {
+        index.onChanges(List.of(
+            new LoanAdded(hobbit.getId(), 1L, tolkien.getId(), Genre.FANTASY),
+            new LoanAdded(hobbit.getId(), 2L, tolkien.getId(), Genre.FANTASY),
+            new AuthorChanged(ChangeType.UPDATED, tolkien.getId(), "John Tolkien")));
+
+        assertEquals(List.of("The Hobbit", "The Lord of the Rings"), texts(index.suggest("the", 5)),
+            "Expected the new loans to change the ranking");
+        assertEquals(List.of("John Tolkien"), texts(index.suggest("tolk", 5)),
+            "Expected the renamed author to be suggested under the new name");
+        assertTrue(index.suggest("j r r", 5).isEmpty(), "Expected the old author name to be removed");
+
+        em.getTransaction().begin();
+        Book silmarillion = bookService.addBook("The Silmarillion", "9780618391110",
+            authorService.getAuthorById(tolkien.getId()), Genre.FANTASY);
+        em.getTransaction().commit();
+
+        index.onChanges(List.of(
+            new BookChanged(ChangeType.INSERTED, silmarillion.getId(), EntityChangeListener.summarize(silmarillion)),
+            new BookChanged(ChangeType.DELETED, lotr.getId(), null)));
+
+        assertEquals(List.of("The Hobbit", "The Silmarillion"), texts(index.suggest("the", 5)),
+            "Expected inserted books to be added and deleted books to be removed");
+        assertEquals(5, index.size(), "Expected the index to track three books and two authors");
+    }
+
+    private List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.jpa.booktracker.search;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.event.AuthorChanged;
+import com.jpa.booktracker.event.BookChanged;
+import com.jpa.booktracker.event.ChangeType;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.TestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest extends TestBase {
+
+    private AuthorService authorService;
+    private BookService bookService;
+
+    private TrigramIndex index;
+    private Author tolkien;
+    private Book hobbit;
+
+    @BeforeAll
+    void setup() {
+        authorService = new AuthorService(new AuthorDao(em));
+        bookService = new BookService(new BookDao(em));
+    }
+
+    @BeforeEach
+    void seed() {
+        em.getTransaction().begin();
+        tolkien = authorService.addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984");
+        hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY);
+        bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY);
+        bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.DYSTOPIA);
+        em.getTransaction().commit();
+
+        index = new TrigramIndex(new BookDao(em), new AuthorDao(em));
+        index.rebuild();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testMisspelledAndReformattedNamesAreFound() {
+        assertEquals(List.of("J.R.R. Tolkien"), texts(index.search("Tolkein", SuggestionType.AUTHOR, 5)),
+            "Expected a transposed letter to still find the author");
+        assertEquals(List.of("J.R.R. Tolkien"), texts(index.search("J R R Tolkien", 5)),
+            "Expected punctuation differences to be ignored");
+        assertEquals(List.of("George Orwell"), texts(index.search("george orwel", 5)),
+            "Expected a missing letter to still find the author");
+        assertEquals(List.of("The Lord of the Rings"), texts(index.search("lord of the rigns", 1)),
+            "Expected a misspelled title to be found");
+    }
+
+    @Test
+    void testResultsAreOrderedBySimilarity() {
+        List<FuzzyMatch> matches = index.search("the hobbit", 5);
+
+        assertEquals("The Hobbit", matches.get(0).text(), "Expected the exact title to be ranked first");
+        assertEquals(1.0, matches.get(0).score(), 1e-9, "Expected an exact match to score one");
+        for (int i = 1; i < matches.size(); i++) {
+            assertTrue(matches.get(i - 1).score() >= matches.get(i).score(),
+                "Expected the matches to be ordered by descending score");
+        }
+
+        assertTrue(index.search("zzzzqqqq", 5).isEmpty(), "Expected an unrelated query to have no matches");
+        assertThrows(IllegalArgumentException.class, () -> index.search("hobbit", 0),
+            "Expected a non-positive limit to be rejected");
+    }
+
+    @Test
+    void testChangesUpdateTheIndex() {
+        index.onChanges(List.of(
+            new AuthorChanged(ChangeType.UPDATED, tolkien.getId(), "John Ronald Reuel Tolkien"),
+            new BookChanged(ChangeType.DELETED, hobbit.getId(), null)));
+
+        assertEquals(List.of("John Ronald Reuel Tolkien"), texts(index.search("tolkein", SuggestionType.AUTHOR, 5)),
+            "Expected the renamed author to be found under the new name");
+        assertTrue(index.search("hobbit", 5).isEmpty(), "Expected the deleted book to be removed");
+        assertEquals(4, index.size(), "Expected two authors and two books to remain");
+    }
+
+    private List<String> texts(List<FuzzyMatch> matches) {
+        return matches.stream().map(FuzzyMatch::text).toList();
+    }
+
+}
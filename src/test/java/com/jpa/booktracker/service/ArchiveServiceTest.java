@@ -0,0 +1,309 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.dao.ArchiveDao;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.exception.DuplicateEntryException;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveServiceTest extends TestBase {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+    private static final Period INACTIVITY = Period.ofYears(2);
+
+    private BookService bookService;
+    private AuthorService authorService;
+    private BorrowerService borrowerService;
+    private ArchiveService archiveService;
+
+    private Author orwell;
+    private List<Book> books;
+    private List<Borrower> borrowers;
+
+    @BeforeAll
+    void setup() {
+        bookService = new BookService(new BookDao(em));
+        authorService = new AuthorService(new AuthorDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+        archiveService = new ArchiveService(emf, 2, CLOCK);
+    }
+
+    @BeforeEach
+    void seed() {
+        em.clear();
+        em.getTransaction().begin();
+
+        orwell = authorService.addAuthor("George Orwell", "Wrote 1984 and Animal Farm");
+        books = new ArrayList<>();
+        borrowers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            books.add(bookService.addBook("Essays " + i, "978000000000" + i, orwell, Genre.DYSTOPIA));
+            borrowers.add(borrowerService.addBorrower("reader" + i, "Reader", "No" + i));
+        }
+
+        em.getTransaction().commit();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createNativeQuery("DELETE FROM books").executeUpdate();
+        em.createNativeQuery("DELETE FROM books_archive").executeUpdate();
+        em.createNativeQuery("DELETE FROM borrowers_archive").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testRetiredBooksAreHiddenAndArchivedInBatches() {
+        em.getTransaction().begin();
+        for (int i = 0; i < 3; i++) {
+            bookService.retireBook(books.get(i));
+        }
+
+        em.getTransaction().commit();
+        em.clear();
+
+        assertEquals(2, bookService.getAllBooks().size(), "Expected retired books to be hidden from reads");
+        assertThrows(EntityNotFoundException.class, () -> bookService.getBookByIsbn("9780000000000"),
+            "Expected a retired book not to be found by isbn");
+        assertEquals(3, countRows("books WHERE retired = TRUE"),
+            "Expected retired books to stay in the hot table until archived");
+
+        assertEquals(3, archiveService.archiveRetiredBooks(), "Expected every retired book to be archived");
+        assertEquals(2, countRows("books"), "Expected only active books to remain in the hot table");
+        assertEquals(3, countRows("books_archive"), "Expected retired books to be moved to the archive");
+        assertEquals(0, archiveService.archiveRetiredBooks(), "Expected nothing left to archive");
+
+        Book restored = archiveService.restoreBook("9780000000001");
+        em.clear();
+
+        assertEquals(books.get(1).getId(), restored.getId(), "Expected a restored book to keep its id");
+        assertEquals("Essays 1", bookService.getBookByIsbn("9780000000001").getTitle(),
+            "Expected a restored book to be visible again");
+        assertEquals(2, countRows("books_archive"), "Expected a restored book to leave the archive");
+    }
+
+    @Test
+    void testRetiredBookIsbnCannotBeReused() {
+        em.getTransaction().begin();
+        bookService.retireBook(books.get(0));
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        assertThrows(DuplicateEntryException.class,
+            () -> bookService.addBook("Essays", "9780000000000", orwell, Genre.DYSTOPIA),
+            "Expected the isbn of a retired book to stay reserved until it is archived");
+        em.getTransaction().rollback();
+        em.clear();
+
+        archiveService.archiveRetiredBooks();
+        em.getTransaction().begin();
+        bookService.addBook("Essays", "9780000000000", authorService.getAuthorByName("George Orwell"),
+            Genre.DYSTOPIA);
+        em.getTransaction().commit();
+
+        assertThrows(DuplicateEntryException.class, () -> archiveService.restoreBook("9780000000000"),
+            "Expected restoring over an active book with the same isbn to fail");
+    }
+
+    @Test
+    void testBorrowedBookCannotBeRetired() {
+        em.getTransaction().begin();
+        bookService.borrowCopy(books.get(0), borrowers.get(0));
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        assertThrows(IllegalStateException.class, () -> bookService.retireBook(books.get(0)),
+            "Expected a book with active loans not to be retired");
+        em.getTransaction().rollback();
+    }
+
+    @Test
+    void testInactiveBorrowersAreArchivedAndRestored() {
+        em.getTransaction().begin();
+        em.createNativeQuery("UPDATE borrowers SET last_active_on = ?1 WHERE username <> 'reader4'")
+            .setParameter(1, TODAY.minusYears(3))
+            .executeUpdate();
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        bookService.borrowCopy(books.get(0), borrowers.get(0));
+        em.getTransaction().commit();
+        em.clear();
+
+        assertEquals(3, archiveService.archiveInactiveBorrowers(INACTIVITY),
+            "Expected only inactive borrowers without loans to be archived");
+        assertEquals(List.of("reader0", "reader4"),
+            borrowerService.getAllBorrowers().stream().map(Borrower::getUsername).sorted().toList(),
+            "Expected borrowers with loans or recent activity to stay");
+
+        Borrower restored = archiveService.restoreBorrower("reader2");
+        em.clear();
+
+        assertEquals(borrowers.get(2).getId(), restored.getId(), "Expected a restored borrower to keep their id");
+        assertEquals(TODAY, borrowerService.getBorrowerByUsername("reader2").getLastActiveOn(),
+            "Expected a restored borrower to count as active again");
+        assertThrows(EntityNotFoundException.class, () -> archiveService.restoreBorrower("reader2"),
+            "Expected a restored borrower to leave the archive");
+    }
+
+    @Test
+    void testBorrowerWhoBorrowedAfterBeingPickedIsNotArchived() {
+        em.getTransaction().begin();
+        bookService.borrowCopy(books.get(0), borrowers.get(0));
+        em.getTransaction().commit();
+
+        List<Long> ids = List.of(borrowers.get(0).getId(), borrowers.get(1).getId());
+        em.getTransaction().begin();
+        int archived = new ArchiveDao(em).archiveBorrowers(ids, TODAY);
+        em.getTransaction().commit();
+        em.clear();
+
+        assertEquals(1, archived, "Expected the borrower with a loan to be skipped by the delete");
+        assertEquals(1, bookService.getBookByIsbn(books.get(0).getIsbn()).getBorrowers().size(),
+            "Expected the loan to be kept");
+        assertEquals("reader0", borrowerService.getBorrowerByUsername("reader0").getUsername(),
+            "Expected the borrower with a loan to stay in the hot table");
+        assertThrows(EntityNotFoundException.class, () -> archiveService.restoreBorrower("reader0"),
+            "Expected the borrower with a loan to be left out of the archive");
+        assertEquals(borrowers.get(1).getId(), archiveService.restoreBorrower("reader1").getId(),
+            "Expected the borrower without loans to be archived");
+    }
+
+    @Test
+    void testScheduledArchivingSurvivesFailures() throws Exception {
+        EntityManagerFactory closed = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:ArchiveServiceTest_closed"));
+        closed.close();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ScheduledFuture<?> task = new ArchiveService(closed, 2, CLOCK)
+                .schedule(scheduler, Duration.ofMillis(10), INACTIVITY);
+            Thread.sleep(100);
+
+            assertFalse(task.isDone(), "Expected a failed archiving run to keep the schedule running");
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBorrowingKeepsBorrowersActive() {
+        em.getTransaction().begin();
+        em.createNativeQuery("UPDATE borrowers SET last_active_on = ?1")
+            .setParameter(1, LocalDate.now().minusYears(3))
+            .executeUpdate();
+        bookService.borrowCopy(books.get(0), borrowers.get(0));
+        bookService.returnCopy(books.get(0), borrowers.get(0));
+        em.getTransaction().commit();
+        em.clear();
+
+        ArchiveService now = new ArchiveService(emf, 2);
+        assertEquals(4, now.archiveInactiveBorrowers(INACTIVITY),
+            "Expected a borrower who just borrowed to be kept");
+        assertEquals("reader0", borrowerService.getAllBorrowers().get(0).getUsername(),
+            "Expected the active borrower to remain in the hot table");
+    }
+
+    @Test
+    void testDeletingAuthorRemovesRetiredAndArchivedBooks() {
+        em.getTransaction().begin();
+        bookService.retireBook(books.get(0));
+        bookService.retireBook(books.get(1));
+        em.getTransaction().commit();
+
+        archiveService.archiveRetiredBooks();
+        em.clear();
+
+        em.getTransaction().begin();
+        bookService.retireBook(bookService.getBookByIsbn("9780000000002"));
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        assertEquals(3, authorService.deleteAuthorCascade("George Orwell"),
+            "Expected retired books in the hot table to be deleted with their author");
+        em.getTransaction().commit();
+
+        assertEquals(0, countRows("books"), "Expected no books of the author to remain");
+        assertEquals(0, countRows("books_archive"), "Expected archived books of the author to be deleted");
+    }
+
+    @Test
+    void testArchiveQueriesAreServedByIndexes() {
+        String books = explain("SELECT b.id FROM books b WHERE b.retired = TRUE ORDER BY b.retired, b.id");
+        String borrowers = explain("SELECT id FROM borrowers WHERE last_active_on < DATE '2024-10-19' " +
+            "ORDER BY last_active_on, id");
+
+        assertTrue(books.contains("IDX_BOOKS_RETIRED"), "Expected the retired index but was: " + books);
+        assertTrue(borrowers.contains("IDX_BORROWERS_LAST_ACTIVE_ON"),
+            "Expected the last active index but was: " + borrowers);
+    }
+
+    @Test
+    void testArchiveServiceThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ArchiveService(null, 2),
+            "Expected exception to be thrown when creating an archive service with null factory");
+
+        assertThrows(IllegalArgumentException.class, () -> new ArchiveService(emf, 0),
+            "Expected exception to be thrown when creating an archive service with non-positive batch size");
+
+        assertThrows(IllegalArgumentException.class, () -> archiveService.archiveInactiveBorrowers(Period.ZERO),
+            "Expected exception to be thrown when archiving with zero inactivity");
+
+        assertThrows(IllegalArgumentException.class, () -> archiveService.restoreBook(" "),
+            "Expected exception to be thrown when restoring a book with blank isbn");
+
+        assertThrows(IllegalArgumentException.class, () -> archiveService.restoreBorrower(null),
+            "Expected exception to be thrown when restoring a borrower with null username");
+
+        assertThrows(IllegalArgumentException.class, () -> bookService.retireBook(null),
+            "Expected exception to be thrown when retiring a null book");
+
+        assertFalse(archiveService.archiveRetiredBooks() > 0, "Expected nothing to archive without retired books");
+    }
+
+    private long countRows(String from) {
+        return ((Number) em.createNativeQuery("SELECT COUNT(*) FROM " + from).getSingleResult()).longValue();
+    }
+
+    private String explain(String sql) {
+        return ((String) em.createNativeQuery("EXPLAIN " + sql).getSingleResult()).toUpperCase();
+    }
+
+}
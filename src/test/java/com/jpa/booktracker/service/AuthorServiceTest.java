@@ -1,27 +1,42 @@
 package com.jpa.booktracker.service;
 
 import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
 import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.DeflateConverter;
+import com.jpa.booktracker.entity.Genre;
 import com.jpa.booktracker.exception.DuplicateEntryException;
+import com.jpa.booktracker.exception.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class AuthorServiceTest extends TestBase {
 
-    private static AuthorService authorService;
+    private AuthorService authorService;
+    private BookService bookService;
+    private BorrowerService borrowerService;
 
     private Author tolkien;
     private Author orwell;
 
     @BeforeAll
-    static void setup() {
+    void setup() {
         authorService = new AuthorService(new AuthorDao(em));
+        bookService = new BookService(new BookDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
     }
 
     @BeforeEach
@@ -39,6 +54,7 @@ public class AuthorServiceTest extends TestBase {
         em.createQuery("DELETE FROM Book").executeUpdate();
         em.createQuery("DELETE FROM Borrower").executeUpdate();
         em.createQuery("DELETE FROM Author").executeUpdate();
+        em.createQuery("DELETE FROM AuthorBio").executeUpdate();
         em.getTransaction().commit();
     }
 
@@ -154,4 +170,94 @@ public class AuthorServiceTest extends TestBase {
             "Expected exception to be thrown when trying to delete author with null value");
     }
 
+    @Test
+    void testDeleteAuthorCascadeRemovesAuthorBooksAndLoans() {
+        em.getTransaction().begin();
+        Book hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY);
+        bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY);
+        Book b1984 = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA);
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        bookService.borrowCopy(hobbit, alice);
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        int deleted = authorService.deleteAuthorCascade("J.R.R. Tolkien");
+        em.getTransaction().commit();
+
+        assertEquals(2, deleted,
+            "Expected every book of the author to be deleted");
+        assertFalse(em.contains(tolkien),
+            "Expected the deleted author to be evicted from the persistence context");
+        assertFalse(em.contains(hobbit),
+            "Expected the deleted books to be evicted from the persistence context");
+        assertThrows(EntityNotFoundException.class, () -> authorService.getAuthorByName("J.R.R. Tolkien"),
+            "Expected exception to be thrown when trying to get author after cascade deletion");
+        assertThrows(EntityNotFoundException.class, () -> bookService.getAllBooksByAuthor("J.R.R. Tolkien"),
+            "Expected exception to be thrown when trying to get books of author after cascade deletion");
+        assertEquals(b1984, bookService.getBookByIsbn("9780451524935"),
+            "Expected books of other authors to still be present in the DB");
+        assertEquals(1L, ((Number) em.createNativeQuery("SELECT COUNT(*) FROM author_bios").getSingleResult())
+            .longValue(), "Expected the bio of the deleted author to be deleted");
+    }
+
+    @Test
+    void testBioIsLoadedLazily() {
+        em.clear();
+        Author found = authorService.getAuthorByName("J.R.R. Tolkien");
+
+        assertFalse(emf.getPersistenceUnitUtil().isLoaded(found, "bio"),
+            "Expected the bio not to be loaded with the author");
+        assertTrue(found.toString().contains("J.R.R. Tolkien"), "Expected the author to be described");
+        assertFalse(emf.getPersistenceUnitUtil().isLoaded(found, "bio"),
+            "Expected describing the author not to load the bio");
+        assertEquals("Author of LOTR", found.getBio(),
+            "Expected the bio to be loaded on first access");
+        assertTrue(emf.getPersistenceUnitUtil().isLoaded(found, "bio"),
+            "Expected the bio to be loaded after first access");
+    }
+
+    @Test
+    void testBioIsStoredCompressed() {
+        String bio = "Tolkien was an English writer and philologist. ".repeat(100);
+        em.getTransaction().begin();
+        Author author = authorService.addAuthor("Christopher Tolkien", bio);
+        em.getTransaction().commit();
+        em.clear();
+
+        long stored = ((Number) em.createNativeQuery("SELECT OCTET_LENGTH(b.text) FROM author_bios b " +
+                "JOIN authors a ON a.bio_id = b.id WHERE a.id = ?1")
+            .setParameter(1, author.getId())
+            .getSingleResult()).longValue();
+        String type = (String) em.createNativeQuery("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS " +
+                "WHERE TABLE_NAME = 'AUTHOR_BIOS' AND COLUMN_NAME = 'TEXT'")
+            .getSingleResult();
+
+        assertEquals("BINARY LARGE OBJECT", type, "Expected the bio to be stored as a binary LOB");
+        assertTrue(stored * 10 < bio.length(), "Expected the stored bio to be compressed");
+        assertEquals(bio, authorService.getAuthorByName("Christopher Tolkien").getBio(),
+            "Expected the bio to be decompressed on load");
+    }
+
+    @Test
+    void testCorruptBioIsRejected() {
+        DeflateConverter converter = new DeflateConverter();
+        byte[] compressed = converter.convertToDatabaseColumn("Wrote LOTR");
+
+        assertEquals("", converter.convertToEntityAttribute(converter.convertToDatabaseColumn("")),
+            "Expected an empty bio to survive compression");
+        assertThrows(IllegalStateException.class,
+            () -> converter.convertToEntityAttribute(Arrays.copyOf(compressed, compressed.length / 2)),
+            "Expected exception to be thrown when inflating a truncated bio");
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(new byte[] {1, 2, 3}),
+            "Expected exception to be thrown when inflating a corrupt bio");
+    }
+
+    @Test
+    void testDeleteAuthorCascadeThrowsForNonExistingAuthor() {
+        em.getTransaction().begin();
+        assertThrows(EntityNotFoundException.class, () -> authorService.deleteAuthorCascade("Unknown Author"),
+            "Expected exception to be thrown when trying to cascade delete author that does not exist");
+        em.getTransaction().rollback();
+    }
+
 }
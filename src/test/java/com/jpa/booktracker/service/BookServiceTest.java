@@ -2,17 +2,34 @@ package com.jpa.booktracker.service;
 
 import com.jpa.booktracker.dao.AuthorDao;
 import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
 import com.jpa.booktracker.entity.Author;
 import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
 import com.jpa.booktracker.entity.Genre;
 import com.jpa.booktracker.exception.DuplicateEntryException;
 import com.jpa.booktracker.exception.EntityNotFoundException;
+import com.jpa.booktracker.exception.NoAvailableCopiesException;
+import com.jpa.booktracker.query.BookPage;
+import com.jpa.booktracker.query.BookQuery;
+import com.jpa.booktracker.query.BookSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -21,17 +38,21 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class BookServiceTest extends TestBase {
 
-    private static BookService bookService;
-    private static AuthorService authorService;
+    private static final int CONTENDERS = 64;
+
+    private BookService bookService;
+    private AuthorService authorService;
+    private BorrowerService borrowerService;
 
     private Author orwell;
     private Book b1984;
     private Book bAnimalFarm;
 
     @BeforeAll
-    static void setup() {
+    void setup() {
         authorService = new AuthorService(new AuthorDao(em));
         bookService = new BookService(new BookDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
     }
 
     @BeforeEach
@@ -227,4 +248,317 @@ class BookServiceTest extends TestBase {
             "Expected exception to be thrown when trying to delete book with null value");
     }
 
-}
\ No newline at end of file
+    @Test
+    void testBorrowCopyDecrementsAvailableCopies() {
+        em.getTransaction().begin();
+        Book hobbit = bookService.addBook("The Hobbit", "9780547928227", orwell, Genre.FANTASY, 2);
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        bookService.borrowCopy(hobbit, alice);
+        em.getTransaction().commit();
+
+        assertEquals(1, bookService.getAvailableCopies(hobbit),
+            "Expected one copy to remain available after borrowing");
+        assertEquals(List.of(alice), borrowerService.getBorrowersWhoHaveTakenBook(hobbit.getIsbn()),
+            "Expected the loan to be recorded for the borrower");
+    }
+
+    @Test
+    void testBorrowCopyThrowsWhenNoCopiesAreAvailable() {
+        em.getTransaction().begin();
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        Borrower bob = borrowerService.addBorrower("bob", "Bob", "Smith");
+        bookService.borrowCopy(b1984, alice);
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        assertThrows(NoAvailableCopiesException.class, () -> bookService.borrowCopy(b1984, bob),
+            "Expected exception to be thrown when trying to borrow a book with no available copies");
+        em.getTransaction().rollback();
+
+        assertEquals(0, bookService.getAvailableCopies(b1984),
+            "Expected the available copies not to drop below zero");
+    }
+
+    @Test
+    void testBorrowCopyThrowsForRepeatedLoan() {
+        em.getTransaction().begin();
+        Book hobbit = bookService.addBook("The Hobbit", "9780547928227", orwell, Genre.FANTASY, 2);
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        bookService.borrowCopy(hobbit, alice);
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        assertThrows(DuplicateEntryException.class, () -> bookService.borrowCopy(hobbit, alice),
+            "Expected exception to be thrown when borrowing a book the borrower already has");
+        em.getTransaction().rollback();
+
+        assertEquals(1, bookService.getAvailableCopies(hobbit),
+            "Expected a repeated loan not to take another copy");
+    }
+
+    @Test
+    void testBorrowCopyThrowsForNonExistingBook() {
+        em.getTransaction().begin();
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        em.getTransaction().commit();
+
+        Book missing = new Book();
+        missing.setId(524565L);
+        em.getTransaction().begin();
+        assertThrows(EntityNotFoundException.class, () -> bookService.borrowCopy(missing, alice),
+            "Expected exception to be thrown when trying to borrow a book that does not exist");
+        em.getTransaction().rollback();
+    }
+
+    @Test
+    void testReturnCopyIncrementsAvailableCopies() {
+        em.getTransaction().begin();
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        bookService.borrowCopy(b1984, alice);
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        bookService.returnCopy(b1984, alice);
+        em.getTransaction().commit();
+
+        assertEquals(1, bookService.getAvailableCopies(b1984),
+            "Expected the copy to be available again after it was returned");
+    }
+
+    @Test
+    void testReturnCopyThrowsForBookThatIsNotBorrowed() {
+        em.getTransaction().begin();
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        assertThrows(EntityNotFoundException.class, () -> bookService.returnCopy(b1984, alice),
+            "Expected exception to be thrown when trying to return a book that was not borrowed");
+        em.getTransaction().rollback();
+
+        assertEquals(1, bookService.getAvailableCopies(b1984),
+            "Expected the available copies to stay unchanged");
+    }
+
+    @Test
+    void testAddCopiesAdjustsInventory() {
+        em.getTransaction().begin();
+        bookService.addCopies(b1984, 3);
+        em.getTransaction().commit();
+
+        assertEquals(4, bookService.getAvailableCopies(b1984),
+            "Expected the added copies to become available");
+
+        em.getTransaction().begin();
+        assertThrows(NoAvailableCopiesException.class, () -> bookService.addCopies(b1984, -5),
+            "Expected exception to be thrown when withdrawing more copies than are available");
+        em.getTransaction().rollback();
+    }
+
+    @Test
+    void testOnlyOneOfManyConcurrentBorrowersGetsTheLastCopy() throws Exception {
+        List<Borrower> contenders = new ArrayList<>();
+        em.getTransaction().begin();
+        for (int i = 0; i < CONTENDERS; i++) {
+            contenders.add(borrowerService.addBorrower("reader" + i, "Reader", "No" + i));
+        }
+        em.getTransaction().commit();
+
+        ExecutorService pool = Executors.newFixedThreadPool(CONTENDERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (Borrower contender : contenders) {
+            attempts.add(pool.submit(() -> {
+                EntityManager threadEm = emf.createEntityManager();
+                BookService threadService = new BookService(new BookDao(threadEm));
+                try {
+                    start.await();
+                    threadEm.getTransaction().begin();
+                    threadService.borrowCopy(b1984, contender);
+                    threadEm.getTransaction().commit();
+                    return true;
+                } catch (NoAvailableCopiesException e) {
+                    threadEm.getTransaction().rollback();
+                    return false;
+                } finally {
+                    threadEm.close();
+                }
+            }));
+        }
+
+        start.countDown();
+        int winners = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get(30, TimeUnit.SECONDS)) {
+                winners++;
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, winners,
+            "Expected exactly one borrower to get the last copy");
+        assertEquals(0, bookService.getAvailableCopies(b1984),
+            "Expected no copies to remain available");
+        assertEquals(1, borrowerService.getBorrowersWhoHaveTakenBook(b1984.getIsbn()).size(),
+            "Expected exactly one loan to be recorded");
+    }
+
+    @Test
+    void testDeleteBooksByIsbnRemovesBooksAndLoans() {
+        em.getTransaction().begin();
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        bookService.borrowCopy(b1984, alice);
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        int deleted = bookService.deleteBooksByIsbn(List.of("9780451524935", "6739673620564"));
+        em.getTransaction().commit();
+
+        assertEquals(1, deleted,
+            "Expected only the existing book to be deleted");
+        assertFalse(em.contains(b1984),
+            "Expected the deleted book to be evicted from the persistence context");
+        assertFalse(orwell.getBooks().contains(b1984),
+            "Expected the deleted book to be unlinked from its author");
+        assertTrue(em.contains(bAnimalFarm),
+            "Expected the other books of the author to stay in the persistence context");
+        assertThrows(EntityNotFoundException.class, () -> bookService.getBookByIsbn("9780451524935"),
+            "Expected exception to be thrown when trying to get book after bulk deletion");
+        assertEquals(bAnimalFarm, bookService.getBookByIsbn("9780451526342"),
+            "Expected the not deleted book to still be present in the DB");
+    }
+
+    @Test
+    void testDeleteBooksByIsbnThrowsForNullOrEmptyValues() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.deleteBooksByIsbn(null),
+            "Expected exception to be thrown when trying to bulk delete with null ISBNs");
+
+        assertThrows(IllegalArgumentException.class, () -> bookService.deleteBooksByIsbn(List.of("")),
+            "Expected exception to be thrown when trying to bulk delete with empty ISBN");
+    }
+
+    @Test
+    void testSearchBooksCombinesFiltersAndCountsOnRequest() {
+        em.getTransaction().begin();
+        Author tolkien = authorService.addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+        Book hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY, 2);
+        bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY, 2);
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        bookService.borrowCopy(hobbit, alice);
+        bookService.borrowCopy(b1984, alice);
+        em.getTransaction().commit();
+
+        BookPage fantasyBorrowed = bookService.searchBooks(BookQuery.create()
+            .genre(Genre.FANTASY)
+            .borrowed(true)
+            .withTotalCount());
+        assertEquals(List.of("The Hobbit"), titles(fantasyBorrowed),
+            "Expected only the borrowed fantasy book to match");
+        assertEquals(1, fantasyBorrowed.totalCount().orElseThrow(),
+            "Expected the total count to match the filters");
+
+        BookPage tolkienNotBorrowed = bookService.searchBooks(BookQuery.create()
+            .author("J.R.R. Tolkien")
+            .titleContains("LORD")
+            .borrowed(false));
+        assertEquals(List.of("The Lord of the Rings"), titles(tolkienNotBorrowed),
+            "Expected the title fragment to be matched case insensitively");
+        assertTrue(tolkienNotBorrowed.totalCount().isEmpty(),
+            "Expected no count to be run unless requested");
+
+        assertTrue(bookService.searchBooks(BookQuery.create().titleContains("100%")).books().isEmpty(),
+            "Expected like wildcards in the fragment to be matched literally");
+    }
+
+    @Test
+    void testSearchBooksPaginatesByKeyset() {
+        em.getTransaction().begin();
+        for (int i = 0; i < 5; i++) {
+            bookService.addBook("Essays " + i, "978000000000" + i, orwell, Genre.DYSTOPIA);
+        }
+
+        em.getTransaction().commit();
+
+        List<String> seen = new ArrayList<>();
+        BookQuery query = BookQuery.create().genre(Genre.DYSTOPIA).limit(3).withTotalCount();
+        BookPage page = bookService.searchBooks(query);
+        assertEquals(7, page.totalCount().orElseThrow(), "Expected the count to cover every page");
+
+        seen.addAll(titles(page));
+        while (page.hasNext()) {
+            page = bookService.searchBooks(page.next());
+            seen.addAll(titles(page));
+        }
+
+        assertEquals(List.of("1984", "Animal Farm", "Essays 0", "Essays 1", "Essays 2", "Essays 3", "Essays 4"), seen,
+            "Expected the pages to walk the titles in order without gaps or repeats");
+
+        BookPage byId = bookService.searchBooks(BookQuery.create().sortBy(BookSort.ID).after(bAnimalFarm).limit(2));
+        assertEquals(List.of("Essays 0", "Essays 1"), titles(byId),
+            "Expected id ordered pages to continue after the given book");
+    }
+
+    @Test
+    void testSearchBookFiltersAreServedByIndexes() {
+        String byGenre = explainSearch(BookQuery.create().genre(Genre.DYSTOPIA));
+        String byAuthor = explainSearch(BookQuery.create().author("George Orwell"));
+        String byTitle = explainSearch(BookQuery.create().titleContains("farm"));
+        String borrowed = explainSearch(BookQuery.create().borrowed(true));
+
+        assertTrue(byGenre.contains("IDX_BOOKS_GENRE_TITLE"), "Expected the genre index but was: " + byGenre);
+        assertTrue(byAuthor.contains("IDX_BOOKS_AUTHOR_TITLE"), "Expected the author index but was: " + byAuthor);
+        assertTrue(byTitle.contains("IDX_BOOKS_TITLE"), "Expected the title index but was: " + byTitle);
+        assertTrue(borrowed.contains("IDX_BOOKS_TITLE") && borrowed.contains(": BOOK_ID = B1_0.ID"),
+            "Expected the loan lookup to be an index seek per book but was: " + borrowed);
+    }
+
+    @Test
+    void testSearchBooksThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.searchBooks(null),
+            "Expected exception to be thrown when searching with a null query");
+
+        assertThrows(IllegalArgumentException.class, () -> BookQuery.create().limit(0),
+            "Expected exception to be thrown when creating a query with a non-positive limit");
+
+        assertThrows(IllegalArgumentException.class, () -> BookQuery.create().titleContains(" "),
+            "Expected exception to be thrown when creating a query with a blank title fragment");
+    }
+
+    private String explainSearch(BookQuery query) {
+        List<String> statements = new ArrayList<>();
+        StatementInspector inspector = sql -> {
+            statements.add(sql);
+            return sql;
+        };
+        EntityManagerFactory inspected = Persistence.createEntityManagerFactory("booktracker", Map.of(
+            "jakarta.persistence.jdbc.url", emf.getProperties().get("jakarta.persistence.jdbc.url"),
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.criteria.value_handling_mode", "inline",
+            "hibernate.session_factory.statement_inspector", inspector));
+        EntityManager inspectedEm = inspected.createEntityManager();
+        try {
+            new BookService(new BookDao(inspectedEm)).searchBooks(query);
+            String sql = statements.stream()
+                .filter(statement -> statement.startsWith("select") && statement.contains(" from books "))
+                .findFirst()
+                .orElseThrow();
+            return ((String) em.createNativeQuery("EXPLAIN " + sql)
+                .setParameter(1, query.getLimit())
+                .getSingleResult()).toUpperCase();
+        } finally {
+            inspectedEm.close();
+            inspected.close();
+        }
+    }
+
+    private List<String> titles(BookPage page) {
+        return page.books().stream().map(Book::getTitle).toList();
+    }
+
+}
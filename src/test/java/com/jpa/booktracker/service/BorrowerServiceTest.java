@@ -1,14 +1,26 @@
 package com.jpa.booktracker.service;
 
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
 import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
 import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
 import com.jpa.booktracker.exception.DuplicateEntryException;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -17,14 +29,18 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class BorrowerServiceTest extends TestBase {
 
-    private static BorrowerService borrowerService;
+    private BorrowerService borrowerService;
+    private AuthorService authorService;
+    private BookService bookService;
 
     private Borrower alice;
     private Borrower bob;
 
     @BeforeAll
-    static void setup() {
+    void setup() {
         borrowerService = new BorrowerService(new BorrowerDao(em));
+        authorService = new AuthorService(new AuthorDao(em));
+        bookService = new BookService(new BookDao(em));
     }
 
     @BeforeEach
@@ -182,4 +198,85 @@ public class BorrowerServiceTest extends TestBase {
             "Expected exception to be thrown when trying to delete borrower with null value");
     }
 
+    @Test
+    void testReturnAllBooksReleasesEveryLoan() {
+        em.getTransaction().begin();
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984 and Animal Farm");
+        Book b1984 = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA);
+        Book animalFarm = bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.DYSTOPIA, 2);
+        bookService.borrowCopy(b1984, alice);
+        bookService.borrowCopy(animalFarm, alice);
+        bookService.borrowCopy(animalFarm, bob);
+        em.getTransaction().commit();
+
+        em.getTransaction().begin();
+        int returned = borrowerService.returnAllBooks("alice");
+        em.getTransaction().commit();
+
+        assertEquals(2, returned,
+            "Expected every loan of the borrower to be returned");
+        assertFalse(em.contains(alice),
+            "Expected the borrower to be evicted from the persistence context");
+        assertEquals(1, bookService.getAvailableCopies(b1984),
+            "Expected the returned copy to be available again");
+        assertEquals(1, bookService.getAvailableCopies(animalFarm),
+            "Expected only the copy of the returned loan to be available again");
+        assertEquals(0, bookService.getBorrowerCount(b1984),
+            "Expected the returned loan not to be counted");
+        assertEquals(1, bookService.getBorrowerCount(animalFarm),
+            "Expected the loan of the other borrower to be counted");
+        assertEquals(List.of(bob), borrowerService.getBorrowersWhoHaveTakenBook("9780451526342"),
+            "Expected loans of other borrowers to be kept");
+    }
+
+    @Test
+    void testReturnAllBooksReturnsEveryLoanInOneStatementEach() {
+        em.getTransaction().begin();
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984 and Animal Farm");
+        for (int i = 0; i < 5; i++) {
+            bookService.borrowCopy(bookService.addBook("Essays " + i, "978045152493" + i, orwell, Genre.DYSTOPIA),
+                alice);
+        }
+        em.getTransaction().commit();
+
+        List<String> statements = new ArrayList<>();
+        StatementInspector inspector = sql -> {
+            statements.add(sql.toLowerCase());
+            return sql;
+        };
+        EntityManagerFactory inspected = Persistence.createEntityManagerFactory("booktracker", Map.of(
+            "jakarta.persistence.jdbc.url", emf.getProperties().get("jakarta.persistence.jdbc.url"),
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.session_factory.statement_inspector", inspector));
+        EntityManager inspectedEm = inspected.createEntityManager();
+        try {
+            inspectedEm.getTransaction().begin();
+            int returned = new BorrowerService(new BorrowerDao(inspectedEm)).returnAllBooks("alice");
+            inspectedEm.getTransaction().commit();
+
+            assertEquals(5, returned, "Expected every loan of the borrower to be returned");
+            assertEquals(1, statements.stream()
+                    .filter(sql -> sql.contains(" join book_borrower ") && sql.endsWith(" for update")).count(),
+                "Expected the loans to be locked and read once: " + statements);
+            assertEquals(1, statements.stream().filter(sql -> sql.startsWith("delete from book_borrower")).count(),
+                "Expected the loans to be deleted in one statement: " + statements);
+            assertEquals(1, statements.stream().filter(sql -> sql.startsWith("update books")).count(),
+                "Expected the copies to be returned in one statement: " + statements);
+        } finally {
+            inspectedEm.close();
+            inspected.close();
+        }
+
+        assertEquals(0, bookService.getBorrowerCounts().stream().mapToInt(count -> count.borrowers()).sum(),
+            "Expected every returned loan to be taken off the borrower counts");
+    }
+
+    @Test
+    void testReturnAllBooksThrowsForNonExistingBorrower() {
+        em.getTransaction().begin();
+        assertThrows(EntityNotFoundException.class, () -> borrowerService.returnAllBooks("Unknown Borrower"),
+            "Expected exception to be thrown when trying to return books of borrower that does not exist");
+        em.getTransaction().rollback();
+    }
+
 }
@@ -0,0 +1,200 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.catalog.AuthorBookCount;
+import com.jpa.booktracker.catalog.BookBorrowerCount;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CounterRepairServiceTest extends TestBase {
+
+    private BookService bookService;
+    private AuthorService authorService;
+    private BorrowerService borrowerService;
+    private ArchiveService archiveService;
+    private CounterRepairService repairService;
+
+    private Author tolkien;
+    private Author orwell;
+    private Book hobbit;
+    private Book lotr;
+    private Book nineteenEightyFour;
+    private Borrower alice;
+    private Borrower bob;
+
+    @BeforeAll
+    void setup() {
+        bookService = new BookService(new BookDao(em));
+        authorService = new AuthorService(new AuthorDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+        archiveService = new ArchiveService(emf, 10);
+        repairService = new CounterRepairService(emf, 2);
+    }
+
+    @BeforeEach
+    void seed() {
+        em.clear();
+        em.getTransaction().begin();
+
+        tolkien = authorService.addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+        orwell = authorService.addAuthor("George Orwell", "Wrote 1984");
+        hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY, 3);
+        lotr = bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY, 3);
+        nineteenEightyFour = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA, 3);
+        alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        bob = borrowerService.addBorrower("bob", "Bob", "Smith");
+
+        em.getTransaction().commit();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createNativeQuery("DELETE FROM books").executeUpdate();
+        em.createNativeQuery("DELETE FROM books_archive").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testBookCountsFollowAddsRetirementsAndDeletes() {
+        assertEquals(2, authorService.getBookCount(tolkien), "Expected added books to be counted");
+        assertEquals(2, tolkien.getBookCount(), "Expected the managed author to see the new count");
+
+        em.getTransaction().begin();
+        bookService.retireBook(lotr);
+        em.getTransaction().commit();
+        assertEquals(1, authorService.getBookCount(tolkien), "Expected a retired book not to be counted");
+
+        archiveService.archiveRetiredBooks();
+        archiveService.restoreBook("9780618640157");
+        assertEquals(2, authorService.getBookCount(tolkien), "Expected a restored book to be counted again");
+
+        em.clear();
+        em.getTransaction().begin();
+        bookService.deleteBook(bookService.getBookByIsbn("9780547928227"));
+        bookService.deleteBooksByIsbn(List.of("9780618640157", "9780451524935"));
+        em.getTransaction().commit();
+
+        assertEquals(0, authorService.getBookCount(tolkien), "Expected deleted books not to be counted");
+        assertEquals(0, authorService.getBookCount(orwell), "Expected bulk deleted books not to be counted");
+        assertEquals(0, repairService.repair(), "Expected the maintained counts to need no repair");
+    }
+
+    @Test
+    void testBorrowerCountsFollowLoans() {
+        em.getTransaction().begin();
+        bookService.borrowCopy(hobbit, alice);
+        bookService.borrowCopy(hobbit, bob);
+        bookService.borrowCopy(lotr, alice);
+        em.getTransaction().commit();
+        assertEquals(2, bookService.getBorrowerCount(hobbit), "Expected every loan to be counted");
+
+        em.getTransaction().begin();
+        bookService.returnCopy(hobbit, bob);
+        em.getTransaction().commit();
+        assertEquals(1, bookService.getBorrowerCount(hobbit), "Expected a returned copy not to be counted");
+
+        em.getTransaction().begin();
+        borrowerService.returnAllBooks("alice");
+        em.getTransaction().commit();
+
+        assertTrue(bookService.getBorrowerCounts().stream().allMatch(count -> count.borrowers() == 0),
+            "Expected returning every book to clear every count");
+        assertEquals(0, repairService.repair(), "Expected the maintained counts to need no repair");
+    }
+
+    @Test
+    void testRolledBackChangesAreNotCounted() {
+        em.clear();
+        em.getTransaction().begin();
+        Author author = authorService.getAuthorByName("George Orwell");
+        bookService.addBook("Animal Farm", "9780451526342", author, Genre.DYSTOPIA);
+        bookService.borrowCopy(nineteenEightyFour, bob);
+        em.flush();
+        em.getTransaction().rollback();
+        em.clear();
+
+        assertEquals(1, author.getBookCount(), "Expected the rolled back book to be taken off the loaded author");
+        assertEquals(1, authorService.getBookCount(orwell), "Expected a rolled back book not to be counted");
+        assertEquals(0, bookService.getBorrowerCount(nineteenEightyFour),
+            "Expected a rolled back borrower not to be counted");
+    }
+
+    @Test
+    void testListingsReadMaintainedCounts() {
+        em.getTransaction().begin();
+        bookService.borrowCopy(lotr, alice);
+        bookService.borrowCopy(lotr, bob);
+        em.getTransaction().commit();
+
+        assertEquals(List.of(new AuthorBookCount(orwell.getId(), "George Orwell", 1),
+                new AuthorBookCount(tolkien.getId(), "J.R.R. Tolkien", 2)), authorService.getBookCounts(),
+            "Expected authors to be listed by name with their book counts");
+
+        assertEquals(List.of(new BookBorrowerCount(nineteenEightyFour.getId(), "9780451524935", "1984", 0),
+                new BookBorrowerCount(hobbit.getId(), "9780547928227", "The Hobbit", 0),
+                new BookBorrowerCount(lotr.getId(), "9780618640157", "The Lord of the Rings", 2)),
+            bookService.getBorrowerCounts(), "Expected books to be listed by title with their borrower counts");
+
+        em.clear();
+        assertTrue(authorService.getAuthorByName("J.R.R. Tolkien").toString().contains("Books - 2"),
+            "Expected the author description to show the maintained count");
+        assertTrue(bookService.getBookByIsbn("9780618640157").toString().contains("Borrowers - 2"),
+            "Expected the book description to show the maintained count");
+    }
+
+    @Test
+    void testRepairRecomputesDriftedCounts() {
+        em.getTransaction().begin();
+        bookService.borrowCopy(hobbit, alice);
+        bookService.retireBook(nineteenEightyFour);
+        em.createNativeQuery("UPDATE authors SET book_count = 7").executeUpdate();
+        em.createNativeQuery("UPDATE books SET borrower_count = 5").executeUpdate();
+        em.getTransaction().commit();
+
+        assertEquals(2, repairService.repairBookCounts(), "Expected every drifted author count to be repaired");
+        assertEquals(2, repairService.repairBorrowerCounts(), "Expected every drifted book count to be repaired");
+
+        assertEquals(2, authorService.getBookCount(tolkien), "Expected the author count to be recomputed");
+        assertEquals(0, authorService.getBookCount(orwell), "Expected retired books not to be recomputed");
+        assertEquals(1, bookService.getBorrowerCount(hobbit), "Expected the borrower count to be recomputed");
+        assertEquals(0, bookService.getBorrowerCount(lotr), "Expected the borrower count to be recomputed");
+        assertEquals(0, repairService.repair(), "Expected a second repair to change nothing");
+    }
+
+    @Test
+    void testCounterRepairServiceThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CounterRepairService(null, 1),
+            "Expected exception to be thrown when creating a repair service with null factory");
+
+        assertThrows(IllegalArgumentException.class, () -> new CounterRepairService(emf, 0),
+            "Expected exception to be thrown when creating a repair service with non-positive batch size");
+
+        assertThrows(IllegalArgumentException.class, () -> authorService.getBookCount(null),
+            "Expected exception to be thrown when counting books of a null author");
+
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBorrowerCount(null),
+            "Expected exception to be thrown when counting borrowers of a null book");
+    }
+
+}
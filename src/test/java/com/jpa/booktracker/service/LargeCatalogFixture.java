@@ -0,0 +1,88 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.entity.DeflateConverter;
+import com.jpa.booktracker.snapshot.DatabaseSnapshot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+public final class LargeCatalogFixture {
+
+    public static final int AUTHORS = 1_000;
+    public static final int BOOKS_PER_AUTHOR = 100;
+    public static final int BORROWERS = 1_000;
+    public static final int COPIES = 2;
+
+    private static Path snapshot;
+
+    private LargeCatalogFixture() {
+    }
+
+    public static synchronized Path snapshot() {
+        if (snapshot == null) {
+            snapshot = build();
+        }
+
+        return snapshot;
+    }
+
+    public static String authorName(int author) {
+        return "Author " + author;
+    }
+
+    public static String isbn(int book) {
+        return String.format("978%010d", book);
+    }
+
+    private static Path build() {
+        Path target;
+        try {
+            target = Files.createTempFile("large-catalog", ".snapshot");
+            target.toFile().deleteOnExit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:large_catalog_fixture"));
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("INSERT INTO author_bios (text) SELECT ?2 FROM SYSTEM_RANGE(1, ?1)")
+                .setParameter(1, AUTHORS)
+                .setParameter(2, new DeflateConverter().convertToDatabaseColumn("Fixture author"))
+                .executeUpdate();
+            em.createNativeQuery("INSERT INTO authors (name, bio_id) " +
+                    "SELECT 'Author ' || X, X FROM SYSTEM_RANGE(1, ?1) ORDER BY X")
+                .setParameter(1, AUTHORS)
+                .executeUpdate();
+            em.createNativeQuery("INSERT INTO books (author_id, title, isbn, genre, totalCopies, availableCopies, " +
+                    "retired) SELECT (X - 1) / ?2 + 1, 'Fixture title ' || X, '978' || LPAD(X, 10, '0'), " +
+                    "CASE MOD(X, 3) WHEN 0 THEN 'FANTASY' WHEN 1 THEN 'DYSTOPIA' ELSE 'MYSTERY' END, ?3, ?3, FALSE " +
+                    "FROM SYSTEM_RANGE(1, ?1) ORDER BY X")
+                .setParameter(1, AUTHORS * BOOKS_PER_AUTHOR)
+                .setParameter(2, BOOKS_PER_AUTHOR)
+                .setParameter(3, COPIES)
+                .executeUpdate();
+            em.createNativeQuery("INSERT INTO borrowers (username, firstName, lastName, last_active_on) " +
+                    "SELECT 'reader' || X, 'Reader', 'No ' || X, CURRENT_DATE FROM SYSTEM_RANGE(1, ?1) ORDER BY X")
+                .setParameter(1, BORROWERS)
+                .executeUpdate();
+            em.getTransaction().commit();
+            new CounterRepairService(emf, AUTHORS * BOOKS_PER_AUTHOR).repair();
+
+            DatabaseSnapshot.backup(emf, target);
+            return target;
+        } finally {
+            em.close();
+            emf.close();
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.analytics.CatalogAnalytics;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.query.BookPage;
+import com.jpa.booktracker.query.BookQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Isolated
+class LargeCatalogTest extends TestBase {
+
+    private static final int BOOKS = LargeCatalogFixture.AUTHORS * LargeCatalogFixture.BOOKS_PER_AUTHOR;
+
+    private BookService bookService;
+    private AuthorService authorService;
+    private BorrowerService borrowerService;
+
+    @Override
+    protected Path fixture() {
+        return LargeCatalogFixture.snapshot();
+    }
+
+    @BeforeAll
+    void setup() {
+        bookService = new BookService(new BookDao(em));
+        authorService = new AuthorService(new AuthorDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+    }
+
+    @AfterEach
+    void rollback() {
+        if (em.getTransaction().isActive()) {
+            em.getTransaction().rollback();
+        }
+
+        em.clear();
+    }
+
+    @Test
+    void testFixtureIsLoadedFromSnapshot() {
+        BookPage page = bookService.searchBooks(BookQuery.create().limit(1).withTotalCount());
+
+        assertEquals(BOOKS, page.totalCount().orElseThrow(), "Expected every fixture book to be loaded");
+        assertEquals(LargeCatalogFixture.AUTHORS, authorService.getAllAuthors().size(),
+            "Expected every fixture author to be loaded");
+        assertEquals(LargeCatalogFixture.BORROWERS, borrowerService.getAllBorrowers().size(),
+            "Expected every fixture borrower to be loaded");
+    }
+
+    @Test
+    void testAuthorPagesCoverEveryBookOnce() {
+        Set<Long> seen = new HashSet<>();
+        BookPage page = bookService.searchBooks(BookQuery.create()
+            .author(LargeCatalogFixture.authorName(500))
+            .limit(30)
+            .withTotalCount());
+        assertEquals(LargeCatalogFixture.BOOKS_PER_AUTHOR, page.totalCount().orElseThrow(),
+            "Expected the count to cover every book of the author");
+
+        int pages = 1;
+        page.books().forEach(book -> seen.add(book.getId()));
+        while (page.hasNext()) {
+            page = bookService.searchBooks(page.next());
+            page.books().forEach(book -> assertTrue(seen.add(book.getId()), "Expected no book to repeat"));
+            pages++;
+        }
+
+        assertEquals(LargeCatalogFixture.BOOKS_PER_AUTHOR, seen.size(), "Expected every book to be visited");
+        assertEquals(4, pages, "Expected the books to be split into pages of the requested size");
+    }
+
+    @Test
+    void testGenreCountAndBorrowingOnLargeCatalog() {
+        BookPage fantasy = bookService.searchBooks(BookQuery.create().genre(Genre.FANTASY).withTotalCount());
+        assertEquals(BOOKS / 3, fantasy.totalCount().orElseThrow(), "Expected a third of the books to be fantasy");
+
+        em.getTransaction().begin();
+        Book book = bookService.getBookByIsbn(LargeCatalogFixture.isbn(BOOKS));
+        Borrower reader = borrowerService.getBorrowerByUsername("reader1");
+        bookService.borrowCopy(book, reader);
+
+        assertEquals(LargeCatalogFixture.COPIES - 1, bookService.getAvailableCopies(book),
+            "Expected borrowing to take a copy");
+        assertFalse(bookService.searchBooks(BookQuery.create().genre(book.getGenre()).borrowed(true)).books().isEmpty(),
+            "Expected the borrowed book to be found");
+    }
+
+    @Test
+    void testAnalyticsOverLargeCatalog() {
+        try (CatalogAnalytics analytics = new CatalogAnalytics(emf, 10_000, 4)) {
+            Map<Long, Map<Genre, Long>> genres = analytics.getBooksPerGenrePerAuthor();
+
+            assertEquals(LargeCatalogFixture.AUTHORS, genres.size(), "Expected every author to be reported");
+            assertTrue(genres.values().stream()
+                    .allMatch(counts -> counts.values().stream().mapToLong(Long::longValue).sum() ==
+                        LargeCatalogFixture.BOOKS_PER_AUTHOR),
+                "Expected authors split across ranges to be merged");
+            assertEquals(BOOKS / 3, genres.values().stream().mapToLong(counts -> counts.getOrDefault(Genre.FANTASY, 0L))
+                .sum(), "Expected a third of the books to be fantasy");
+            assertEquals(Map.of(0L, (long) LargeCatalogFixture.BORROWERS), analytics.getLoansPerBorrowerHistogram(),
+                "Expected no fixture borrower to have loans");
+        }
+    }
+
+    @Test
+    void testCascadeDeleteOnLargeCatalog() {
+        em.getTransaction().begin();
+
+        assertEquals(LargeCatalogFixture.BOOKS_PER_AUTHOR,
+            authorService.deleteAuthorCascade(LargeCatalogFixture.authorName(7)),
+            "Expected every book of the author to be deleted");
+    }
+
+}
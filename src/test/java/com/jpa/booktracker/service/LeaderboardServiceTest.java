@@ -0,0 +1,284 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardServiceTest extends TestBase {
+
+    private BookService bookService;
+    private AuthorService authorService;
+    private BorrowerService borrowerService;
+
+    private MutableClock clock;
+    private LeaderboardService leaderboardService;
+    private Author tolkien;
+    private Author orwell;
+    private Book hobbit;
+    private Book lotr;
+    private Book b1984;
+
+    @BeforeAll
+    void setup() {
+        bookService = new BookService(new BookDao(em));
+        authorService = new AuthorService(new AuthorDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+    }
+
+    @BeforeEach
+    void seed() {
+        em.clear();
+        em.getTransaction().begin();
+
+        tolkien = authorService.addAuthor("J.R.R. Tolkien", "Author of LOTR");
+        orwell = authorService.addAuthor("George Orwell", "Wrote 1984 and Animal Farm");
+        hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY, 5);
+        lotr = bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY, 5);
+        b1984 = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA, 5);
+
+        em.getTransaction().commit();
+
+        clock = new MutableClock(Instant.parse("2026-10-15T10:00:00Z"));
+        leaderboardService = new LeaderboardService(emf, clock);
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testRecordBorrowRanksBooksAuthorsAndGenres() {
+        borrow(hobbit, 1);
+        borrow(hobbit, 2);
+        borrow(lotr, 1);
+        borrow(b1984, 1);
+
+        assertEquals(List.of(new LeaderboardEntry<>(hobbit.getId(), 2L), new LeaderboardEntry<>(lotr.getId(), 1L)),
+            leaderboardService.getTopBooks(LeaderboardWindow.ACTIVE_LOANS, 2),
+            "Expected the books to be ranked by borrow count");
+        assertEquals(List.of(new LeaderboardEntry<>(tolkien.getId(), 3L), new LeaderboardEntry<>(orwell.getId(), 1L)),
+            leaderboardService.getTopAuthors(LeaderboardWindow.ACTIVE_LOANS, 5),
+            "Expected the authors to be ranked by the borrow count of their books");
+        assertEquals(List.of(new LeaderboardEntry<>(Genre.FANTASY, 3L), new LeaderboardEntry<>(Genre.DYSTOPIA, 1L)),
+            leaderboardService.getTopGenres(LeaderboardWindow.CURRENT_MONTH, 5),
+            "Expected the genres to be ranked by borrow count");
+    }
+
+    @Test
+    void testRecordReturnOnlyAffectsActiveLoans() {
+        borrow(hobbit, 1);
+        borrow(lotr, 1);
+        leaderboardService.recordReturn(hobbit.getId(), 1, tolkien.getId(), Genre.FANTASY);
+
+        assertEquals(List.of(new LeaderboardEntry<>(lotr.getId(), 1L)),
+            leaderboardService.getTopBooks(LeaderboardWindow.ACTIVE_LOANS, 5),
+            "Expected the returned book to leave the active loans leaderboard");
+        assertEquals(2, leaderboardService.getTopBooks(LeaderboardWindow.CURRENT_MONTH, 5).size(),
+            "Expected the monthly leaderboard to keep counting the borrow");
+    }
+
+    @Test
+    void testMonthlyLeaderboardRollsOver() {
+        borrow(hobbit, 1);
+        clock.advance(20, ChronoUnit.DAYS);
+
+        assertTrue(leaderboardService.getTopBooks(LeaderboardWindow.CURRENT_MONTH, 5).isEmpty(),
+            "Expected the monthly leaderboard to be empty in a new month");
+
+        borrow(b1984, 1);
+        assertEquals(List.of(new LeaderboardEntry<>(b1984.getId(), 1L)),
+            leaderboardService.getTopBooks(LeaderboardWindow.CURRENT_MONTH, 5),
+            "Expected only borrows of the new month to be counted");
+        assertEquals(2, leaderboardService.getTopBooks(LeaderboardWindow.ACTIVE_LOANS, 5).size(),
+            "Expected active loans to survive the month roll-over");
+    }
+
+    @Test
+    void testReconcileReplacesActiveLoansWithDatabaseCounts() {
+        em.getTransaction().begin();
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        Borrower bob = borrowerService.addBorrower("bob", "Bob", "Smith");
+        bookService.borrowCopy(b1984, alice);
+        bookService.borrowCopy(b1984, bob);
+        em.getTransaction().commit();
+
+        borrow(hobbit, 1);
+        leaderboardService.reconcile();
+
+        assertEquals(List.of(new LeaderboardEntry<>(b1984.getId(), 2L)),
+            leaderboardService.getTopBooks(LeaderboardWindow.ACTIVE_LOANS, 5),
+            "Expected the active loans leaderboard to match the database after reconciliation");
+        assertEquals(List.of(new LeaderboardEntry<>(Genre.DYSTOPIA, 2L)),
+            leaderboardService.getTopGenres(LeaderboardWindow.ACTIVE_LOANS, 5),
+            "Expected the genre leaderboard to match the database after reconciliation");
+    }
+
+    @Test
+    void testReconcileKeepsLoansRecordedDuringTheRebuild() {
+        AtomicReference<Runnable> duringQuery = new AtomicReference<>();
+        StatementInspector inspector = sql -> {
+            Runnable action = duringQuery.getAndSet(null);
+            if (action != null) {
+                action.run();
+            }
+            return sql;
+        };
+        EntityManagerFactory inspected = Persistence.createEntityManagerFactory("booktracker", Map.of(
+            "jakarta.persistence.jdbc.url", "jdbc:h2:mem:LeaderboardServiceTest_rebuild",
+            "hibernate.session_factory.statement_inspector", inspector));
+        try {
+            LeaderboardService service = new LeaderboardService(inspected, clock);
+            service.recordBorrow(lotr.getId(), 1, tolkien.getId(), Genre.FANTASY);
+            duringQuery.set(() -> service.recordBorrow(hobbit.getId(), 1, tolkien.getId(), Genre.FANTASY));
+            service.reconcile();
+
+            assertEquals(List.of(new LeaderboardEntry<>(hobbit.getId(), 1L)),
+                service.getTopBooks(LeaderboardWindow.ACTIVE_LOANS, 5),
+                "Expected a borrow recorded while the counts were loaded to survive the reconciliation");
+
+            service.reconcile();
+            assertTrue(service.getTopBooks(LeaderboardWindow.ACTIVE_LOANS, 5).isEmpty(),
+                "Expected a later reconciliation not to replay the borrow again");
+        } finally {
+            inspected.close();
+        }
+    }
+
+    @Test
+    void testReconcileCountsLoansSeenByTheLoadAndTheReplayOnce() {
+        em.getTransaction().begin();
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        Borrower bob = borrowerService.addBorrower("bob", "Bob", "Smith");
+        bookService.borrowCopy(b1984, alice);
+        bookService.borrowCopy(lotr, alice);
+        em.getTransaction().commit();
+
+        AtomicReference<Runnable> duringQuery = new AtomicReference<>();
+        StatementInspector inspector = sql -> {
+            Runnable action = duringQuery.getAndSet(null);
+            if (action != null) {
+                action.run();
+            }
+            return sql;
+        };
+        EntityManagerFactory inspected = Persistence.createEntityManagerFactory("booktracker", Map.of(
+            "jakarta.persistence.jdbc.url", emf.getProperties().get("jakarta.persistence.jdbc.url"),
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.session_factory.statement_inspector", inspector));
+        try {
+            LeaderboardService service = new LeaderboardService(inspected, clock);
+            duringQuery.set(() -> {
+                service.recordBorrow(b1984.getId(), alice.getId(), orwell.getId(), Genre.DYSTOPIA);
+                service.recordReturn(hobbit.getId(), bob.getId(), tolkien.getId(), Genre.FANTASY);
+                service.recordBorrow(hobbit.getId(), alice.getId(), tolkien.getId(), Genre.FANTASY);
+            });
+            service.reconcile();
+
+            assertEquals(List.of(new LeaderboardEntry<>(tolkien.getId(), 2L),
+                    new LeaderboardEntry<>(orwell.getId(), 1L)), service.getTopAuthors(LeaderboardWindow.ACTIVE_LOANS, 5),
+                "Expected a borrow already loaded from the database not to be replayed again");
+            assertEquals(3, service.getTopBooks(LeaderboardWindow.ACTIVE_LOANS, 5).size(),
+                "Expected a return of a loan the load did not see not to be replayed");
+        } finally {
+            inspected.close();
+        }
+    }
+
+    @Test
+    void testScheduledReconciliationSurvivesFailures() throws Exception {
+        EntityManagerFactory closed = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:LeaderboardServiceTest_closed"));
+        closed.close();
+        LeaderboardService service = new LeaderboardService(closed, clock);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ScheduledFuture<?> task = service.scheduleReconciliation(scheduler, Duration.ofMillis(10));
+            Thread.sleep(100);
+
+            assertFalse(task.isDone(), "Expected a failed reconciliation to keep the schedule running");
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGetTopThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> leaderboardService.getTopBooks(null, 5),
+            "Expected exception to be thrown when asking for a leaderboard with null window");
+
+        assertThrows(IllegalArgumentException.class, () ->
+                leaderboardService.getTopBooks(LeaderboardWindow.ACTIVE_LOANS, 0),
+            "Expected exception to be thrown when asking for a leaderboard with non-positive limit");
+    }
+
+    private void borrow(Book book, long borrowerId) {
+        leaderboardService.recordBorrow(book.getId(), borrowerId, book.getAuthor().getId(), book.getGenre());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(long amount, ChronoUnit unit) {
+            now = now.plus(amount, unit);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.dao.LoanDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.entity.Loan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverdueScannerTest extends TestBase {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+    private static final int BORROWERS = 10;
+    private static final Pattern SCAN_COUNT = Pattern.compile("SCANCOUNT: (\\d+)");
+
+    private BookService bookService;
+    private AuthorService authorService;
+    private BorrowerService borrowerService;
+
+    @BeforeAll
+    void setup() {
+        bookService = new BookService(new BookDao(em));
+        authorService = new AuthorService(new AuthorDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+    }
+
+    @BeforeEach
+    void seed() {
+        em.clear();
+        em.getTransaction().begin();
+
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984 and Animal Farm");
+        Book b1984 = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA, BORROWERS);
+        Book animalFarm = bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.DYSTOPIA, BORROWERS);
+
+        for (int i = 0; i < BORROWERS; i++) {
+            Borrower borrower = borrowerService.addBorrower("reader" + i, "Reader", "No" + i);
+            bookService.borrowCopy(b1984, borrower, TODAY.minusDays(i));
+            bookService.borrowCopy(animalFarm, borrower, TODAY.plusDays(i + 1));
+        }
+
+        em.getTransaction().commit();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testScanVisitsEveryOverdueLoanInBoundedPages() {
+        List<List<Loan>> pages = new ArrayList<>();
+        OverdueScanner scanner = new OverdueScanner(emf, pages::add, 4, CLOCK);
+
+        long processed = scanner.scan();
+
+        List<Loan> loans = pages.stream().flatMap(List::stream).toList();
+        assertEquals(BORROWERS - 1, processed,
+            "Expected every loan due before today to be processed");
+        assertEquals(BORROWERS - 1, loans.size(),
+            "Expected every overdue loan to be handed to the handler exactly once");
+        assertTrue(pages.stream().allMatch(page -> page.size() <= 4),
+            "Expected no page to exceed the configured page size");
+        assertTrue(loans.stream().allMatch(loan -> loan.getDueDate().isBefore(TODAY)),
+            "Expected only overdue loans to be processed");
+        assertEquals(loans.stream().sorted(Comparator.comparing(Loan::getDueDate)).toList(), loans,
+            "Expected overdue loans to be processed in due date order");
+    }
+
+    @Test
+    void testScanWithoutOverdueLoansProcessesNothing() {
+        Clock past = Clock.fixed(Instant.parse("2026-01-01T12:00:00Z"), ZoneOffset.UTC);
+        OverdueScanner scanner = new OverdueScanner(emf, page -> {
+            throw new AssertionError("Handler should not be called");
+        }, 4, past);
+
+        assertEquals(0, scanner.scan(),
+            "Expected no loans to be processed when nothing is overdue");
+    }
+
+    @Test
+    void testReturningACopyKeepsTheOtherLoans() {
+        em.clear();
+        em.getTransaction().begin();
+        bookService.returnCopy(bookService.getBookByIsbn("9780451524935"),
+            borrowerService.getBorrowerByUsername("reader1"));
+        em.getTransaction().commit();
+        em.clear();
+
+        Book book = bookService.getBookByIsbn("9780451524935");
+        Number undated = (Number) em.createNativeQuery("SELECT COUNT(*) FROM book_borrower " +
+                "WHERE book_id = ?1 AND due_date IS NULL")
+            .setParameter(1, book.getId())
+            .getSingleResult();
+
+        assertEquals(0, undated.intValue(), "Expected the remaining loans to keep their due dates");
+        assertEquals(BORROWERS - 1, book.getBorrowers().size(), "Expected only the returned loan to be removed");
+        assertEquals(1, book.getAvailableCopies(), "Expected the returned copy to be available again");
+        assertEquals(BORROWERS - 2, new OverdueScanner(emf, page -> { }, 4, CLOCK).scan(),
+            "Expected the remaining overdue loans to still be reported");
+        assertThrows(UnsupportedOperationException.class,
+            () -> book.getBorrowers().add(borrowerService.getBorrowerByUsername("reader1")),
+            "Expected the borrowers of a book to be read-only");
+    }
+
+    @Test
+    void testOverdueContinuationSeeksPastThePreviousPage() {
+        List<String> statements = new ArrayList<>();
+        StatementInspector inspector = sql -> {
+            statements.add(sql);
+            return sql;
+        };
+        EntityManagerFactory inspected = Persistence.createEntityManagerFactory("booktracker", Map.of(
+            "jakarta.persistence.jdbc.url", emf.getProperties().get("jakarta.persistence.jdbc.url"),
+            "hibernate.hbm2ddl.auto", "none",
+            "hibernate.session_factory.statement_inspector", inspector));
+        EntityManager inspectedEm = inspected.createEntityManager();
+        try {
+            LoanDao loanDao = new LoanDao(inspectedEm);
+            List<Loan> first = loanDao.getOverdueLoans(TODAY, null, 4);
+            Loan last = first.get(first.size() - 1);
+            statements.clear();
+            loanDao.getOverdueLoans(TODAY, last, 4);
+
+            String sql = statements.stream().filter(statement -> statement.contains(" from book_borrower "))
+                .findFirst()
+                .orElseThrow();
+            String plan = ((String) em.createNativeQuery("EXPLAIN ANALYZE " + sql)
+                .setParameter(1, TODAY)
+                .setParameter(2, last.getDueDate())
+                .setParameter(3, last.getDueDate())
+                .setParameter(4, last.getDueDate())
+                .setParameter(5, last.getId().getBookId())
+                .setParameter(6, last.getId().getBookId())
+                .setParameter(7, last.getId().getBorrowerId())
+                .setParameter(8, 4)
+                .getSingleResult()).toUpperCase();
+            Matcher scanned = SCAN_COUNT.matcher(plan);
+
+            assertTrue(plan.contains("IDX_BOOK_BORROWER_DUE_DATE") && scanned.find(),
+                "Expected the continuation to be served by the due date index but was: " + plan);
+            assertTrue(Integer.parseInt(scanned.group(1)) <= 5,
+                "Expected the continuation to seek past the previous page but was: " + plan);
+        } finally {
+            inspectedEm.close();
+            inspected.close();
+        }
+    }
+
+    @Test
+    void testScheduledScanSurvivesFailures() throws InterruptedException {
+        AtomicInteger scans = new AtomicInteger();
+        CountDownLatch recovered = new CountDownLatch(1);
+        OverdueScanner scanner = new OverdueScanner(emf, page -> {
+            if (scans.incrementAndGet() == 1) {
+                throw new IllegalStateException("Lock timeout");
+            }
+
+            recovered.countDown();
+        }, BORROWERS, CLOCK);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            scanner.schedule(scheduler, Duration.ofMillis(10));
+
+            assertTrue(recovered.await(10, TimeUnit.SECONDS), "Expected the scan after a failed one to still run");
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConstructorThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new OverdueScanner(null, page -> { }, 4),
+            "Expected exception to be thrown when creating a scanner with null factory");
+
+        assertThrows(IllegalArgumentException.class, () -> new OverdueScanner(emf, null, 4),
+            "Expected exception to be thrown when creating a scanner with null handler");
+
+        assertThrows(IllegalArgumentException.class, () -> new OverdueScanner(emf, page -> { }, 0),
+            "Expected exception to be thrown when creating a scanner with non-positive page size");
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.catalog.BookSummary;
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecommendationServiceTest extends TestBase {
+
+    private BookDao bookDao;
+    private BookService bookService;
+    private AuthorService authorService;
+    private BorrowerService borrowerService;
+
+    private RecommendationService recommendationService;
+    private Book hobbit;
+    private Book lotr;
+    private Book b1984;
+    private Book animalFarm;
+    private Borrower carol;
+
+    @BeforeAll
+    void setup() {
+        bookDao = new BookDao(em);
+        bookService = new BookService(bookDao);
+        authorService = new AuthorService(new AuthorDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+    }
+
+    @BeforeEach
+    void seed() {
+        em.clear();
+        em.getTransaction().begin();
+
+        Author tolkien = authorService.addAuthor("J.R.R. Tolkien", "Author of LOTR");
+        Author orwell = authorService.addAuthor("George Orwell", "Wrote 1984 and Animal Farm");
+        hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY, 5);
+        lotr = bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY, 5);
+        b1984 = bookService.addBook("1984", "9780451524935", orwell, Genre.DYSTOPIA, 5);
+        animalFarm = bookService.addBook("Animal Farm", "9780451526342", orwell, Genre.DYSTOPIA, 5);
+
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        Borrower bob = borrowerService.addBorrower("bob", "Bob", "Smith");
+        carol = borrowerService.addBorrower("carol", "Carol", "White");
+
+        bookService.borrowCopy(hobbit, alice);
+        bookService.borrowCopy(lotr, alice);
+        bookService.borrowCopy(b1984, alice);
+        bookService.borrowCopy(hobbit, bob);
+        bookService.borrowCopy(lotr, bob);
+
+        em.getTransaction().commit();
+
+        recommendationService = new RecommendationService(bookDao);
+        recommendationService.rebuild();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testRebuildRanksBooksByCoBorrowCount() {
+        List<String> alsoBorrowed = recommendationService.getAlsoBorrowed(hobbit.getIsbn(), 5);
+
+        assertEquals(List.of(lotr.getIsbn(), b1984.getIsbn()), alsoBorrowed,
+            "Expected co-borrowed books to be ordered by the number of shared borrowers");
+    }
+
+    @Test
+    void testGetAlsoBorrowedHonoursLimit() {
+        assertEquals(List.of(lotr.getIsbn()), recommendationService.getAlsoBorrowed(hobbit.getIsbn(), 1),
+            "Expected only the top co-borrowed book to be returned");
+    }
+
+    @Test
+    void testRecordBorrowUpdatesIndexIncrementally() {
+        recommendationService.recordBorrow(animalFarm.getId(), carol.getId());
+        recommendationService.recordBorrow(b1984.getId(), carol.getId());
+        recommendationService.recordBorrow(b1984.getId(), carol.getId());
+
+        assertEquals(List.of(hobbit.getIsbn(), lotr.getIsbn(), animalFarm.getIsbn()),
+            recommendationService.getAlsoBorrowed(b1984.getIsbn(), 3),
+            "Expected the new co-borrowing to be counted once despite the repeated loan");
+    }
+
+    @Test
+    void testRebuildKeepsReturnedLoans() {
+        em.getTransaction().begin();
+        bookService.returnCopy(b1984, borrowerService.getBorrowerByUsername("alice"));
+        em.getTransaction().commit();
+
+        recommendationService.rebuild();
+        recommendationService.rebuild();
+
+        assertEquals(List.of(lotr.getIsbn(), b1984.getIsbn()),
+            recommendationService.getAlsoBorrowed(hobbit.getIsbn(), 5),
+            "Expected a returned loan to stay in the co-borrow counts once across rebuilds");
+    }
+
+    @Test
+    void testRebuildReplaysChangesDeliveredDuringTheRead() {
+        BookDao racing = new BookDao(em) {
+            @Override
+            public List<BookSummary> getAllBookSummaries() {
+                List<BookSummary> books = super.getAllBookSummaries();
+                recommendationService.registerBook(-1L, "9780156421171");
+                recommendationService.recordBorrow(-1L, carol.getId());
+                recommendationService.recordBorrow(animalFarm.getId(), carol.getId());
+                recommendationService.removeBook(lotr.getId());
+                return books;
+            }
+        };
+        recommendationService = new RecommendationService(racing);
+
+        recommendationService.rebuild();
+
+        assertEquals(List.of(animalFarm.getIsbn()), recommendationService.getAlsoBorrowed("9780156421171", 5),
+            "Expected a book and loans delivered during the rebuild to be kept");
+        assertEquals(List.of(b1984.getIsbn()), recommendationService.getAlsoBorrowed(hobbit.getIsbn(), 5),
+            "Expected a removal delivered during the rebuild to be kept");
+    }
+
+    @Test
+    void testRemoveBookDropsItFromRecommendations() {
+        recommendationService.removeBook(lotr.getId());
+
+        assertEquals(List.of(b1984.getIsbn()), recommendationService.getAlsoBorrowed(hobbit.getIsbn(), 5),
+            "Expected the removed book not to be recommended");
+        assertThrows(EntityNotFoundException.class, () -> recommendationService.getAlsoBorrowed(lotr.getIsbn(), 5),
+            "Expected exception to be thrown when asking for recommendations of a removed book");
+    }
+
+    @Test
+    void testGetAlsoBorrowedForBookWithoutLoansReturnsEmptyList() {
+        assertTrue(recommendationService.getAlsoBorrowed(animalFarm.getIsbn(), 5).isEmpty(),
+            "Expected no recommendations for a book that was never borrowed");
+    }
+
+    @Test
+    void testGetAlsoBorrowedThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> recommendationService.getAlsoBorrowed(null, 5),
+            "Expected exception to be thrown when asking for recommendations with null ISBN");
+
+        assertThrows(IllegalArgumentException.class, () -> recommendationService.getAlsoBorrowed(hobbit.getIsbn(), 0),
+            "Expected exception to be thrown when asking for recommendations with non-positive limit");
+
+        assertThrows(EntityNotFoundException.class, () -> recommendationService.getAlsoBorrowed("6739673620564", 5),
+            "Expected exception to be thrown when asking for recommendations of an unknown book");
+    }
+
+}
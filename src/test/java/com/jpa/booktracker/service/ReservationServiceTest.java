@@ -0,0 +1,372 @@
+package com.jpa.booktracker.service;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.entity.Reservation;
+import com.jpa.booktracker.event.EntityChangeBus;
+import com.jpa.booktracker.event.EntityChangeListener;
+import com.jpa.booktracker.exception.DuplicateEntryException;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import com.jpa.booktracker.exception.NoAvailableCopiesException;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationServiceTest extends TestBase {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+
+    private EntityChangeBus bus;
+    private BookService bookService;
+    private AuthorService authorService;
+    private BorrowerService borrowerService;
+    private ReservationService reservationService;
+    private Runnable unsubscribe;
+
+    private Book bestseller;
+    private List<Borrower> borrowers;
+
+    @BeforeAll
+    void setup() {
+        bus = new EntityChangeBus();
+        EntityChangeListener.register(emf, bus);
+        bookService = new BookService(new BookDao(em));
+        authorService = new AuthorService(new AuthorDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+    }
+
+    @AfterAll
+    void teardown() {
+        bus.close();
+    }
+
+    @BeforeEach
+    void seed() {
+        em.clear();
+        em.getTransaction().begin();
+
+        Author rowling = authorService.addAuthor("J.K. Rowling", "Wrote Harry Potter");
+        bestseller = bookService.addBook("Harry Potter", "9780747532699", rowling, Genre.FANTASY, 1);
+        borrowers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            borrowers.add(borrowerService.addBorrower("reader" + i, "Reader", "No" + i));
+        }
+
+        bookService.borrowCopy(bestseller, borrowers.get(0));
+        em.getTransaction().commit();
+
+        reservationService = new ReservationService(emf, 64, CLOCK);
+        unsubscribe = bus.subscribe(reservationService::onChanges);
+    }
+
+    @AfterEach
+    void cleanup() {
+        unsubscribe.run();
+        reservationService.close();
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM reservations").executeUpdate();
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testReturnAssignsHoldToFirstInLine() {
+        reservationService.reserve(bestseller, borrowers.get(2));
+        reservationService.reserve(bestseller, borrowers.get(1));
+        reservationService.reserve(bestseller, borrowers.get(3));
+
+        em.getTransaction().begin();
+        bookService.returnCopy(bestseller, borrowers.get(0));
+        em.getTransaction().commit();
+        awaitQuiet();
+
+        List<Reservation> holds = reservationService.getHolds(borrowers.get(2));
+        assertEquals(1, holds.size(), "Expected the first patron in line to get the hold");
+        assertEquals(TODAY, holds.get(0).getHeldOn(), "Expected the hold to be dated today");
+        assertEquals(List.of("reader1", "reader3"), usernames(reservationService.getWaitlist(bestseller)),
+            "Expected the rest of the line to keep its order");
+
+        em.getTransaction().begin();
+        bookService.borrowCopy(bestseller, borrowers.get(2));
+        em.getTransaction().commit();
+        awaitQuiet();
+
+        assertTrue(reservationService.getHolds(borrowers.get(2)).isEmpty(),
+            "Expected borrowing the held copy to fulfil the reservation");
+        assertEquals(2, countReservations(), "Expected only waiting reservations to remain");
+    }
+
+    @Test
+    void testReturnedCopyAssignsHold() {
+        reservationService.reserve(bestseller, borrowers.get(1));
+
+        em.clear();
+        em.getTransaction().begin();
+        bookService.returnCopy(bookService.getBookByIsbn("9780747532699"),
+            borrowerService.getBorrowerByUsername("reader0"));
+        em.getTransaction().commit();
+        awaitQuiet();
+
+        assertEquals(1, reservationService.getHolds(borrowers.get(1)).size(),
+            "Expected returning a copy to assign the hold");
+        assertTrue(reservationService.getWaitlist(bestseller).isEmpty(), "Expected the waitlist to be drained");
+    }
+
+    @Test
+    void testReturnedCopyIsNotTakenAheadOfTheQueue() throws Exception {
+        reservationService.reserve(bestseller, borrowers.get(1));
+        assertTrue(reservationService.awaitPersisted(TIMEOUT), "Expected the reservation to be persisted");
+
+        CountDownLatch delivering = new CountDownLatch(1);
+        CountDownLatch borrowed = new CountDownLatch(1);
+        unsubscribe.run();
+        Runnable gate = bus.subscribe(changes -> {
+            delivering.countDown();
+            try {
+                borrowed.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        unsubscribe = bus.subscribe(reservationService::onChanges);
+
+        try {
+            inOwnTransaction(dao -> dao.returnCopy(bestseller, borrowers.get(0)));
+            assertTrue(delivering.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS),
+                "Expected the return to be published");
+
+            assertFalse(inOwnTransaction(dao -> dao.borrowCopy(bestseller, borrowers.get(2), TODAY)),
+                "Expected the returned copy not to be lent ahead of the queue");
+        } finally {
+            borrowed.countDown();
+            gate.run();
+        }
+
+        awaitQuiet();
+        assertEquals(1, reservationService.getHolds(borrowers.get(1)).size(),
+            "Expected the queued patron to hold the returned copy");
+        assertTrue(reservationService.getWaitlist(bestseller).isEmpty(), "Expected the waitlist to be drained");
+
+        em.getTransaction().begin();
+        bookService.borrowCopy(bestseller, borrowers.get(1));
+        em.getTransaction().commit();
+        assertEquals(0, bookService.getAvailableCopies(bestseller), "Expected the holder to borrow the copy");
+    }
+
+    @Test
+    void testConcurrentPatronsQueueInTicketOrder() throws Exception {
+        int patrons = 2_000;
+        em.getTransaction().begin();
+        em.createNativeQuery("INSERT INTO borrowers (username, firstName, lastName, last_active_on) " +
+                "SELECT 'patron' || X, 'Patron', 'No ' || X, CURRENT_DATE FROM SYSTEM_RANGE(1, ?1) ORDER BY X")
+            .setParameter(1, patrons)
+            .executeUpdate();
+        em.getTransaction().commit();
+        List<Borrower> queue = em.createQuery("SELECT b FROM Borrower b WHERE b.username LIKE 'patron%'",
+            Borrower.class).getResultList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Reservation>> futures = new ArrayList<>();
+            for (Borrower patron : queue) {
+                futures.add(executor.submit(() -> reservationService.reserve(bestseller, patron)));
+            }
+
+            for (Future<Reservation> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(reservationService.awaitPersisted(TIMEOUT), "Expected every reservation to be persisted");
+        List<Long> positions = reservationService.getWaitlist(bestseller).stream()
+            .map(Reservation::getPosition)
+            .toList();
+
+        assertEquals(LongStream.rangeClosed(1, patrons).boxed().toList(), positions,
+            "Expected every patron to get a distinct ticket and the waitlist to be ordered by it");
+        assertEquals(patrons, countReservations(), "Expected every reservation to be written");
+
+        ReservationService recovered = new ReservationService(emf, 64, CLOCK);
+        try {
+            recovered.recover();
+            assertEquals(positions, recovered.getWaitlist(bestseller).stream().map(Reservation::getPosition).toList(),
+                "Expected the waitlist to be recovered from the database in order");
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void testDuplicateAndCancelledReservations() {
+        reservationService.reserve(bestseller, borrowers.get(1));
+
+        assertThrows(DuplicateEntryException.class, () -> reservationService.reserve(bestseller, borrowers.get(1)),
+            "Expected exception to be thrown when reserving the same book twice");
+
+        reservationService.cancel(bestseller, borrowers.get(1));
+        assertTrue(reservationService.awaitPersisted(TIMEOUT), "Expected the cancellation to be persisted");
+        assertEquals(0, countReservations(), "Expected a cancelled reservation to be deleted");
+
+        assertThrows(EntityNotFoundException.class, () -> reservationService.cancel(bestseller, borrowers.get(1)),
+            "Expected exception to be thrown when cancelling a missing reservation");
+    }
+
+    @Test
+    void testDeletedBorrowerLeavesWaitlists() {
+        reservationService.reserve(bestseller, borrowers.get(3));
+        reservationService.reserve(bestseller, borrowers.get(1));
+
+        em.getTransaction().begin();
+        borrowerService.deleteBorrower(borrowerService.getBorrowerByUsername("reader3"));
+        em.getTransaction().commit();
+        awaitQuiet();
+
+        assertEquals(List.of("reader1"), usernames(reservationService.getWaitlist(bestseller)),
+            "Expected a deleted borrower to leave the waitlist");
+        assertEquals(1, countReservations(), "Expected reservations of a deleted borrower to be deleted");
+    }
+
+    @Test
+    void testHeldCopyIsOnlyLentToItsHolderUntilTheHoldExpires() {
+        reservationService.reserve(bestseller, borrowers.get(1));
+        reservationService.reserve(bestseller, borrowers.get(2));
+
+        em.getTransaction().begin();
+        bookService.returnCopy(bestseller, borrowers.get(0));
+        em.getTransaction().commit();
+        awaitQuiet();
+
+        em.getTransaction().begin();
+        assertThrows(NoAvailableCopiesException.class, () -> bookService.borrowCopy(bestseller, borrowers.get(2)),
+            "Expected a held copy not to be lent to another borrower");
+        em.getTransaction().rollback();
+
+        em.getTransaction().begin();
+        em.createNativeQuery("UPDATE reservations SET held_on = ?1 WHERE status = 'HELD'")
+            .setParameter(1, TODAY.minusDays(3))
+            .executeUpdate();
+        em.getTransaction().commit();
+
+        assertEquals(1, reservationService.expireHolds(), "Expected the stale hold to expire");
+        awaitQuiet();
+
+        assertTrue(reservationService.getHolds(borrowers.get(1)).isEmpty(), "Expected the expired hold to be gone");
+        assertEquals(1, reservationService.getHolds(borrowers.get(2)).size(),
+            "Expected the hold to pass to the next in line");
+
+        em.getTransaction().begin();
+        bookService.borrowCopy(bestseller, borrowers.get(2));
+        em.getTransaction().commit();
+        assertEquals(0, bookService.getAvailableCopies(bestseller), "Expected the holder to borrow the copy");
+    }
+
+    @Test
+    void testFailedWriteIsNotCountedAndResyncsTheWaitlist() {
+        em.getTransaction().begin();
+        em.createNativeQuery("INSERT INTO reservations (book_id, borrower_id, queue_position, status, reserved_on) " +
+                "VALUES (?1, ?2, 1, 'WAITING', ?3)")
+            .setParameter(1, bestseller.getId())
+            .setParameter(2, borrowers.get(3).getId())
+            .setParameter(3, TODAY)
+            .executeUpdate();
+        em.getTransaction().commit();
+
+        reservationService.reserve(bestseller, borrowers.get(1));
+
+        assertFalse(reservationService.awaitPersisted(TIMEOUT), "Expected the conflicting write to fail");
+        assertEquals(0, reservationService.getWrittenCount(), "Expected a failed write not to be counted");
+        assertEquals(1, reservationService.getFailedCount(), "Expected the failed write to be reported");
+        assertTrue(reservationService.getWaitlist(bestseller).isEmpty(),
+            "Expected the waitlist to be resynced with the stored reservations");
+    }
+
+    @Test
+    void testReservationServiceThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ReservationService(null, 1),
+            "Expected exception to be thrown when creating a reservation service with null factory");
+
+        assertThrows(IllegalArgumentException.class, () -> new ReservationService(emf, 0),
+            "Expected exception to be thrown when creating a reservation service with non-positive batch size");
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.reserve(null, borrowers.get(1)),
+            "Expected exception to be thrown when reserving a null book");
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.cancel(bestseller, null),
+            "Expected exception to be thrown when cancelling for a null borrower");
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.getHolds(null),
+            "Expected exception to be thrown when listing holds of a null borrower");
+    }
+
+    private boolean inOwnTransaction(Consumer<BookDao> work) {
+        EntityManager other = emf.createEntityManager();
+        try {
+            other.getTransaction().begin();
+            work.accept(new BookDao(other));
+            other.getTransaction().commit();
+            return true;
+        } catch (NoAvailableCopiesException e) {
+            return false;
+        } finally {
+            if (other.getTransaction().isActive()) {
+                other.getTransaction().rollback();
+            }
+
+            other.close();
+        }
+    }
+
+    private void awaitQuiet() {
+        assertTrue(bus.awaitDelivery(TIMEOUT), "Expected changes to be delivered");
+        assertTrue(reservationService.awaitPersisted(TIMEOUT), "Expected reservation writes to be persisted");
+    }
+
+    private List<String> usernames(List<Reservation> reservations) {
+        return reservations.stream()
+            .map(reservation -> borrowerService.getBorrowerById(reservation.getId().getBorrowerId()).getUsername())
+            .toList();
+    }
+
+    private long countReservations() {
+        return ((Number) em.createNativeQuery("SELECT COUNT(*) FROM reservations").getSingleResult()).longValue();
+    }
+
+}
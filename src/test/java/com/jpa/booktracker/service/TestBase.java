@@ -1,24 +1,42 @@
 package com.jpa.booktracker.service;
 
+import com.jpa.booktracker.snapshot.DatabaseSnapshot;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
 
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public abstract class TestBase {
 
-    protected static EntityManagerFactory emf;
-    protected static EntityManager em;
+    private static final String PERSISTENCE_UNIT = "booktracker";
+    private static final String CONNECTION_POOL_SIZE = "80";
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    protected EntityManagerFactory emf;
+    protected EntityManager em;
 
     @BeforeAll
-    static void initEntityManager() {
-        emf = Persistence.createEntityManagerFactory("booktracker");
+    void initEntityManager() {
+        Map<String, String> database = Map.of(
+            "jakarta.persistence.jdbc.url",
+            "jdbc:h2:mem:" + getClass().getSimpleName() + "_" + DATABASES.incrementAndGet(),
+            "hibernate.connection.pool_size", CONNECTION_POOL_SIZE);
+        Path fixture = fixture();
+        emf = fixture == null
+            ? Persistence.createEntityManagerFactory(PERSISTENCE_UNIT, database)
+            : DatabaseSnapshot.open(PERSISTENCE_UNIT, fixture, database);
         em = emf.createEntityManager();
     }
 
     @AfterAll
-    static void closeEntityManager() {
+    void closeEntityManager() {
         if (em != null && em.isOpen()) {
             em.close();
         }
@@ -27,4 +45,8 @@ public abstract class TestBase {
             emf.close();
         }
     }
+
+    protected Path fixture() {
+        return null;
+    }
 }
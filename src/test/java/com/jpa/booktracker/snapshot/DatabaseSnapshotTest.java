@@ -0,0 +1,177 @@
+package com.jpa.booktracker.snapshot;
+
+import com.jpa.booktracker.dao.AuthorDao;
+import com.jpa.booktracker.dao.BookDao;
+import com.jpa.booktracker.dao.BorrowerDao;
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Borrower;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.service.AuthorService;
+import com.jpa.booktracker.service.BookService;
+import com.jpa.booktracker.service.BorrowerService;
+import com.jpa.booktracker.service.TestBase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseSnapshotTest extends TestBase {
+
+    private static final Map<String, String> RESTORED_DATABASE =
+        Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:booktracker_snapshot");
+
+    private AuthorService authorService;
+    private BookService bookService;
+    private BorrowerService borrowerService;
+
+    @TempDir
+    Path directory;
+
+    private Book hobbit;
+
+    @BeforeAll
+    void setup() {
+        authorService = new AuthorService(new AuthorDao(em));
+        bookService = new BookService(new BookDao(em));
+        borrowerService = new BorrowerService(new BorrowerDao(em));
+    }
+
+    @BeforeEach
+    void seed() {
+        em.getTransaction().begin();
+        Author tolkien = authorService.addAuthor("J.R.R. Tolkien", "Wrote LOTR");
+        hobbit = bookService.addBook("The Hobbit", "9780547928227", tolkien, Genre.FANTASY, 3);
+        bookService.addBook("The Lord of the Rings", "9780618640157", tolkien, Genre.FANTASY);
+        Borrower alice = borrowerService.addBorrower("alice", "Alice", "Johnson");
+        bookService.borrowCopy(hobbit, alice);
+        em.getTransaction().commit();
+    }
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testSnapshotRestoresRowsLoansAndIdentities() throws Exception {
+        Path snapshot = directory.resolve("catalog.snapshot");
+        DatabaseSnapshot.backup(emf, snapshot);
+        assertTrue(Files.size(snapshot) > 0, "Expected the snapshot to be written");
+
+        EntityManagerFactory restored = DatabaseSnapshot.open("booktracker", snapshot, RESTORED_DATABASE);
+        EntityManager restoredEm = restored.createEntityManager();
+        try {
+            BookService restoredBooks = new BookService(new BookDao(restoredEm));
+            Book book = restoredBooks.getBookByIsbn("9780547928227");
+
+            assertEquals(hobbit.getId(), book.getId(), "Expected ids to survive the snapshot");
+            assertEquals(2, restoredBooks.getAvailableCopies(book), "Expected copy counters to survive the snapshot");
+            assertEquals("alice", book.getBorrowers().get(0).getUsername(), "Expected loans to survive the snapshot");
+
+            restoredEm.getTransaction().begin();
+            Book added = restoredBooks.addBook("The Silmarillion", "9780618391110", book.getAuthor(), Genre.FANTASY);
+            restoredEm.getTransaction().commit();
+
+            assertNotEquals(hobbit.getId(), added.getId(), "Expected identity columns to continue after restore");
+            assertEquals(2, bookService.getAllBooks().size(), "Expected the source database to be untouched");
+        } finally {
+            restoredEm.close();
+            restored.close();
+        }
+    }
+
+    @Test
+    void testSnapshotOfDatabaseUrlLeavesTheSourceUntouched() throws Exception {
+        String source = "jdbc:h2:" + directory.resolve("live").toAbsolutePath();
+        EntityManagerFactory live = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", source, "hibernate.hbm2ddl.auto", "create"));
+        EntityManager liveEm = live.createEntityManager();
+        try {
+            liveEm.getTransaction().begin();
+            new AuthorService(new AuthorDao(liveEm)).addAuthor("George Orwell", "Wrote 1984");
+            liveEm.getTransaction().commit();
+        } finally {
+            liveEm.close();
+            live.close();
+        }
+
+        Path snapshot = directory.resolve("live.snapshot");
+        DatabaseSnapshot.backup("booktracker", source, snapshot);
+
+        EntityManagerFactory restored = DatabaseSnapshot.open("booktracker", snapshot,
+            Map.of("jakarta.persistence.jdbc.url", "jdbc:h2:mem:booktracker_live_snapshot"));
+        EntityManager restoredEm = restored.createEntityManager();
+        try {
+            assertEquals("George Orwell", new AuthorService(new AuthorDao(restoredEm))
+                    .getAuthorByName("George Orwell").getName(),
+                "Expected the snapshot to hold the rows of the database it was taken from");
+        } finally {
+            restoredEm.close();
+            restored.close();
+        }
+
+        EntityManagerFactory reopened = Persistence.createEntityManagerFactory("booktracker",
+            Map.of("jakarta.persistence.jdbc.url", source, "hibernate.hbm2ddl.auto", "validate"));
+        EntityManager reopenedEm = reopened.createEntityManager();
+        try {
+            assertEquals(1, new AuthorService(new AuthorDao(reopenedEm)).getAllAuthors().size(),
+                "Expected taking a snapshot to leave the source database untouched");
+        } finally {
+            reopenedEm.close();
+            reopened.close();
+        }
+    }
+
+    @Test
+    void testSnapshotIsCompressed() throws Exception {
+        Path snapshot = directory.resolve("catalog.snapshot");
+        Path plain = directory.resolve("catalog.sql");
+        DatabaseSnapshot.backup(emf, snapshot);
+        em.createNativeQuery("SCRIPT TO '" + plain.toAbsolutePath() + "'").getResultList();
+
+        assertTrue(Files.size(snapshot) < Files.size(plain),
+            "Expected the snapshot to be smaller than the plain script");
+    }
+
+    @Test
+    void testSnapshotThrowsForInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> DatabaseSnapshot.backup(null, directory),
+            "Expected exception to be thrown when backing up a null factory");
+
+        assertThrows(IllegalArgumentException.class, () -> DatabaseSnapshot.backup(emf, null),
+            "Expected exception to be thrown when backing up to a null target");
+
+        assertThrows(IllegalArgumentException.class, () -> DatabaseSnapshot.backup("booktracker", " ", directory),
+            "Expected exception to be thrown when backing up a blank JDBC URL");
+
+        assertThrows(IllegalArgumentException.class,
+            () -> DatabaseSnapshot.open("booktracker", directory.resolve("missing.snapshot")),
+            "Expected exception to be thrown when opening a missing snapshot");
+
+        assertThrows(IllegalArgumentException.class, () -> DatabaseSnapshot.open(" ", directory),
+            "Expected exception to be thrown when opening a blank persistence unit");
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.jpa.booktracker.tenant;
+
+import com.jpa.booktracker.entity.Author;
+import com.jpa.booktracker.entity.Book;
+import com.jpa.booktracker.entity.Genre;
+import com.jpa.booktracker.exception.EntityNotFoundException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TenantRouterTest {
+
+    private static TenantRouter router;
+
+    @BeforeAll
+    static void setup() {
+        router = new TenantRouter("booktracker", Map.of(
+            "north", "jdbc:h2:mem:booktracker_north",
+            "south", "jdbc:h2:mem:booktracker_south",
+            "east", "jdbc:h2:mem:booktracker_east"));
+    }
+
+    @AfterAll
+    static void teardown() {
+        router.close();
+    }
+
+    @AfterEach
+    void cleanup() {
+        for (String tenant : router.getTenants()) {
+            TenantContext.runAs(tenant, () -> {
+                try (TenantSession session = router.openSession()) {
+                    session.getEntityManager().getTransaction().begin();
+                    session.getEntityManager().createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+                    session.getEntityManager().createQuery("DELETE FROM Book").executeUpdate();
+                    session.getEntityManager().createQuery("DELETE FROM Borrower").executeUpdate();
+                    session.getEntityManager().createQuery("DELETE FROM Author").executeUpdate();
+                    session.getEntityManager().getTransaction().commit();
+                }
+            });
+        }
+        TenantContext.clear();
+    }
+
+    @Test
+    void testTenantsHaveIsolatedCatalogs() {
+        addBook("north", "1984");
+        addBook("south", "Nineteen Eighty-Four");
+
+        TenantContext.runAs("north", () -> {
+            try (TenantSession session = router.openSession()) {
+                assertEquals("1984", session.getBookService().getBookByIsbn("9780451524935").getTitle(),
+                    "Expected the north branch to see its own copy of the book");
+            }
+        });
+
+        TenantContext.runAs("east", () -> {
+            try (TenantSession session = router.openSession()) {
+                assertThrows(EntityNotFoundException.class,
+                    () -> session.getBookService().getBookByIsbn("9780451524935"),
+                    "Expected the east branch not to see books of other branches");
+            }
+        });
+    }
+
+    @Test
+    void testFindBookByIsbnAcrossTenantsGathersEveryMatch() {
+        addBook("north", "1984");
+        addBook("south", "Nineteen Eighty-Four");
+
+        TenantResults<Book> found = router.findBookByIsbnAcrossTenants("9780451524935");
+
+        assertEquals(Set.of("north", "south"), found.results().keySet(),
+            "Expected the book to be found in every branch that holds it");
+        assertEquals("Nineteen Eighty-Four", found.results().get("south").getTitle(),
+            "Expected every branch to return its own copy of the book");
+        assertTrue(found.failures().isEmpty(), "Expected no branch to fail");
+    }
+
+    @Test
+    void testFindBookByIsbnAcrossTenantsReturnsEmptyMapForNoResult() {
+        assertTrue(router.findBookByIsbnAcrossTenants("6739673620564").results().isEmpty(),
+            "Expected no branch to return a book that does not exist");
+    }
+
+    @Test
+    void testFindBookByIsbnAcrossTenantsReportsFailingTenantsSeparately() {
+        try (TenantRouter partial = new TenantRouter("booktracker", Map.of(
+            "north", "jdbc:h2:mem:booktracker_partial_north",
+            "west", "jdbc:h2:mem:booktracker_partial_west;UNKNOWN_SETTING=1"))) {
+
+            addBook(partial, "north", "1984");
+            TenantResults<Book> found = partial.findBookByIsbnAcrossTenants("9780451524935");
+
+            assertEquals(Set.of("north"), found.results().keySet(),
+                "Expected the healthy branch to return its book");
+            assertEquals(Set.of("west"), found.failures().keySet(),
+                "Expected the failing branch to be reported on its own");
+        }
+    }
+
+    @Test
+    void testOpenSessionThrowsWithoutTenant() {
+        assertThrows(IllegalStateException.class, () -> router.openSession(),
+            "Expected exception to be thrown when opening a session without a tenant in context");
+    }
+
+    @Test
+    void testOpenSessionThrowsForUnknownTenant() {
+        TenantContext.setCurrentTenant("west");
+
+        assertThrows(EntityNotFoundException.class, () -> router.openSession(),
+            "Expected exception to be thrown when opening a session for an unknown tenant");
+    }
+
+    private void addBook(String tenant, String title) {
+        addBook(router, tenant, title);
+    }
+
+    private void addBook(TenantRouter target, String tenant, String title) {
+        TenantContext.runAs(tenant, () -> {
+            try (TenantSession session = target.openSession()) {
+                session.getEntityManager().getTransaction().begin();
+                Author orwell = session.getAuthorService().addAuthor("George Orwell", "Wrote 1984");
+                session.getBookService().addBook(title, "9780451524935", orwell, Genre.DYSTOPIA);
+                session.getEntityManager().getTransaction().commit();
+            }
+        });
+    }
+
+}
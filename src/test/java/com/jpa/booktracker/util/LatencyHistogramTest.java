@@ -0,0 +1,73 @@
+package com.jpa.booktracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(50, histogram.getValueAtPercentile(50),
+            "Expected values below the sub-bucket count to be recorded exactly");
+        assertEquals(99, histogram.getValueAtPercentile(99),
+            "Expected values below the sub-bucket count to be recorded exactly");
+        assertEquals(100, histogram.getValueAtPercentile(100),
+            "Expected the maximum to be the hundredth percentile");
+        assertEquals(50.5, histogram.getMean(), 1e-9,
+            "Expected the mean to be exact");
+    }
+
+    @Test
+    void testLargeValuesStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            double expected = percentile / 100 * 1_000_000_000L;
+            double actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(Math.abs(actual - expected) / expected < 0.02,
+                "Expected p" + percentile + " to be within 2% but got " + actual);
+        }
+
+        assertEquals(1_000_000_000L, histogram.getMax(),
+            "Expected the maximum to be tracked exactly");
+    }
+
+    @Test
+    void testMergeCombinesCounts() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        second.record(1_000);
+        second.record(Long.MAX_VALUE);
+
+        first.merge(second);
+
+        assertEquals(3, first.getCount(), "Expected the merged count to include both histograms");
+        assertEquals(10, first.getMin(), "Expected the minimum to be preserved");
+        assertEquals(Long.MAX_VALUE, first.getValueAtPercentile(100),
+            "Expected the largest value to be supported");
+    }
+
+    @Test
+    void testInvalidInputsAreRejected() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getValueAtPercentile(99), "Expected an empty histogram to report zero");
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1),
+            "Expected a negative value to be rejected");
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101),
+            "Expected a percentile above 100 to be rejected");
+    }
+
+}
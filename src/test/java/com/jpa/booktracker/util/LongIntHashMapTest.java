@@ -0,0 +1,72 @@
+package com.jpa.booktracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+    @Test
+    void testAddToAccumulatesValues() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.addTo(42L, 1);
+        map.addTo(42L, 2);
+
+        assertEquals(3, map.get(42L),
+            "Expected the increments for the same key to be accumulated");
+        assertEquals(0, map.get(7L),
+            "Expected a missing key to map to zero");
+        assertFalse(map.containsKey(7L),
+            "Expected a missing key not to be contained");
+    }
+
+    @Test
+    void testZeroKeyIsSupported() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.addTo(0L, 5);
+
+        assertTrue(map.containsKey(0L),
+            "Expected the zero key to be contained after adding it");
+        assertEquals(5, map.get(0L),
+            "Expected the zero key to keep its value");
+        assertEquals(1, map.size(),
+            "Expected the zero key to be counted in the size");
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 10_000; key++) {
+            map.addTo(key, (int) key);
+        }
+
+        Map<Long, Integer> seen = new HashMap<>();
+        map.forEach(seen::put);
+
+        assertEquals(10_000, map.size(),
+            "Expected every distinct key to be stored");
+        assertEquals(10_000, seen.size(),
+            "Expected forEach to visit every entry exactly once");
+        assertEquals(9_999, map.get(9_999L),
+            "Expected values to survive rehashing");
+    }
+
+    @Test
+    void testClearRemovesAllEntries() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.addTo(0L, 1);
+        map.addTo(1L, 1);
+        map.clear();
+
+        assertTrue(map.isEmpty(),
+            "Expected the map to be empty after clearing it");
+        assertFalse(map.containsKey(1L),
+            "Expected cleared keys not to be contained");
+    }
+
+}
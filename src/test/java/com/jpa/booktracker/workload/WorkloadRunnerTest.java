@@ -0,0 +1,72 @@
+package com.jpa.booktracker.workload;
+
+import com.jpa.booktracker.service.TestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Isolated
+class WorkloadRunnerTest extends TestBase {
+
+    @AfterEach
+    void cleanup() {
+        em.clear();
+        em.getTransaction().begin();
+
+        em.createNativeQuery("DELETE FROM book_borrower").executeUpdate();
+        em.createQuery("DELETE FROM Book").executeUpdate();
+        em.createQuery("DELETE FROM Borrower").executeUpdate();
+        em.createQuery("DELETE FROM Author").executeUpdate();
+
+        em.getTransaction().commit();
+    }
+
+    @Test
+    void testParseReadsAllOptions() {
+        WorkloadOptions options = WorkloadOptions.parse("--threads=4", "--books=200", "--warmup=500ms",
+            "--duration=2m", "--mix=isbn=70,borrow=20,add=10");
+
+        assertEquals(4, options.getThreads(), "Expected the thread count to be parsed");
+        assertEquals(200, options.getBooks(), "Expected the dataset size to be parsed");
+        assertEquals(Duration.ofMillis(500), options.getWarmup(), "Expected the warmup to be parsed");
+        assertEquals(Duration.ofMinutes(2), options.getDuration(), "Expected the duration to be parsed");
+        assertEquals(20, options.getMix().get(WorkloadOperation.BORROW_RETURN),
+            "Expected the mix weights to be parsed");
+    }
+
+    @Test
+    void testParseRejectsInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> WorkloadOptions.parse("--threads=0"),
+            "Expected a non-positive thread count to be rejected");
+        assertThrows(IllegalArgumentException.class, () -> WorkloadOptions.parse("--mix=search=100"),
+            "Expected an unknown operation to be rejected");
+        assertThrows(IllegalArgumentException.class, () -> WorkloadOptions.parse("--speed=fast"),
+            "Expected an unknown option to be rejected");
+    }
+
+    @Test
+    void testRunRecordsEveryOperationInTheMix() {
+        WorkloadOptions options = WorkloadOptions.parse("--threads=4", "--books=50", "--warmup=100ms",
+            "--duration=500ms", "--mix=isbn=60,borrow=30,add=10");
+
+        WorkloadReport report = new WorkloadRunner(emf, options).run();
+
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            assertTrue(report.getHistogram(operation).getCount() > 0,
+                "Expected " + operation + " to be measured");
+            assertEquals(0, report.getErrors(operation),
+                "Expected " + operation + " to complete without errors");
+        }
+
+        assertTrue(report.getThroughput(WorkloadOperation.ISBN_LOOKUP)
+                > report.getThroughput(WorkloadOperation.ADD_BOOK),
+            "Expected the heavier weighted operation to have the higher throughput");
+    }
+
+}